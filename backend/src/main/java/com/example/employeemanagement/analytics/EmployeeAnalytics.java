@@ -0,0 +1,363 @@
+package com.example.employeemanagement.analytics;
+
+import com.example.employeemanagement.dto.AgeBucket;
+import com.example.employeemanagement.dto.AnalyticsRecompute;
+import com.example.employeemanagement.dto.AnalyticsSummary;
+import com.example.employeemanagement.dto.DepartmentHeadcount;
+import com.example.employeemanagement.dto.DomainCount;
+import com.example.employeemanagement.event.DepartmentChangedEvent;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.service.SnapshotScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class maintains employee analytics in memory: headcount per department, an age histogram
+ * with the age sum, and employee counts per email domain. The aggregates are built from the
+ * database at startup and then updated incrementally from committed employee and department
+ * changes, so reading them costs O(departments + domains) whatever the number of employees.
+ *
+ * <p>Each employee's department, age and domain are kept so that updates and deletes, which carry
+ * only the new state or the ID, can subtract the previous contribution. {@link #recompute()}
+ * rebuilds everything from the database, reports whether the incremental aggregates had drifted,
+ * and replaces them; the startup build is the same rebuild. Changes committed while a rebuild scans
+ * the database are applied to both the current and the rebuilt aggregates, and the scan never
+ * overwrites an employee changed meanwhile.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class EmployeeAnalytics implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(EmployeeAnalytics.class);
+
+  /** The lowest age of each histogram bucket; the last bucket is open-ended. */
+  private static final int[] BUCKET_MIN_AGES = {0, 20, 30, 40, 50, 60};
+
+  /** The largest number of email domains listed. */
+  public static final int MAX_DOMAINS = 1000;
+
+  /** The department repository, read by rebuilds. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The scanner reading all employees for rebuilds. */
+  @Autowired private SnapshotScanner snapshotScanner;
+
+  /** The current aggregates. */
+  private Aggregates current = new Aggregates();
+
+  /** The aggregates being rebuilt, or null when no rebuild is running. */
+  private Aggregates rebuilding;
+
+  /** The employees changed by events during a rebuild, which its scan must not overwrite. */
+  private final Set<Long> changedWhileRebuilding = new HashSet<>();
+
+  /** The departments changed by events during a rebuild, which its scan must not overwrite. */
+  private final Set<Long> departmentsChangedWhileRebuilding = new HashSet<>();
+
+  /** Whether the startup build has finished. */
+  private volatile boolean ready;
+
+  /** The lock guarding the aggregates. */
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * Build the aggregates from the database at startup.
+   *
+   * @param args The application arguments
+   */
+  @Override
+  public void run(ApplicationArguments args) {
+    AnalyticsRecompute result = recompute();
+    ready = true;
+    logger.info(
+        "Built employee analytics over {} employees in {} ms",
+        result.getEmployees(),
+        result.getTookMillis());
+  }
+
+  /**
+   * Rebuild the aggregates from the database and replace the incrementally maintained ones.
+   *
+   * @return Whether the incremental aggregates matched the rebuilt ones, and the rebuild's cost
+   */
+  public synchronized AnalyticsRecompute recompute() {
+    long start = System.nanoTime();
+    lock.writeLock().lock();
+    try {
+      rebuilding = new Aggregates();
+      changedWhileRebuilding.clear();
+      departmentsChangedWhileRebuilding.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+    List<Department> departments = snapshotScanner.readOnly(departmentRepository::findAll);
+    lock.writeLock().lock();
+    try {
+      for (Department department : departments) {
+        if (!departmentsChangedWhileRebuilding.contains(department.getId())) {
+          rebuilding.departmentNames.put(department.getId(), department.getName());
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+    snapshotScanner.scanEmployees(this::addScanned);
+    boolean consistent;
+    long employees;
+    lock.writeLock().lock();
+    try {
+      consistent = current.sameTotals(rebuilding);
+      current = rebuilding;
+      rebuilding = null;
+      changedWhileRebuilding.clear();
+      departmentsChangedWhileRebuilding.clear();
+      employees = current.employees.size();
+    } finally {
+      lock.writeLock().unlock();
+    }
+    if (!consistent && ready) {
+      logger.warn("Employee analytics had drifted from the database and were replaced");
+    }
+    return new AnalyticsRecompute(consistent, employees, (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Apply committed employee writes to the aggregates.
+   *
+   * @param event The writes
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeesChanged(EmployeeChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      for (Long id : event.getDeleted()) {
+        current.remove(id);
+        if (rebuilding != null) {
+          rebuilding.remove(id);
+          changedWhileRebuilding.add(id);
+        }
+      }
+      for (EmployeeSnapshot employee : event.getUpserted()) {
+        Tracked tracked = Tracked.of(employee);
+        current.put(employee.getId(), tracked);
+        if (rebuilding != null) {
+          rebuilding.put(employee.getId(), tracked);
+          changedWhileRebuilding.add(employee.getId());
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Apply a committed department write to the department names.
+   *
+   * @param event The write
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onDepartmentChanged(DepartmentChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      current.renameDepartment(event);
+      if (rebuilding != null) {
+        rebuilding.renameDepartment(event);
+        departmentsChangedWhileRebuilding.add(event.getId());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Get the analytics.
+   *
+   * @param domainLimit The largest number of email domains listed, capped at {@value #MAX_DOMAINS}
+   * @return The analytics
+   */
+  public AnalyticsSummary getSummary(int domainLimit) {
+    int maxDomains = Math.max(0, Math.min(domainLimit, MAX_DOMAINS));
+    lock.readLock().lock();
+    try {
+      Aggregates aggregates = current;
+      long employees = aggregates.employees.size();
+
+      List<DepartmentHeadcount> headcounts = new ArrayList<>();
+      for (Map.Entry<Long, String> department : aggregates.departmentNames.entrySet()) {
+        headcounts.add(
+            new DepartmentHeadcount(
+                department.getKey(),
+                department.getValue(),
+                aggregates.headcounts.getOrDefault(department.getKey(), 0L)));
+      }
+      for (Map.Entry<Long, Long> headcount : aggregates.headcounts.entrySet()) {
+        if (!aggregates.departmentNames.containsKey(headcount.getKey())) {
+          headcounts.add(new DepartmentHeadcount(headcount.getKey(), null, headcount.getValue()));
+        }
+      }
+      headcounts.sort(
+          Comparator.comparingLong(DepartmentHeadcount::getHeadcount)
+              .reversed()
+              .thenComparing(
+                  DepartmentHeadcount::getDepartmentId,
+                  Comparator.nullsLast(Comparator.naturalOrder())));
+
+      List<AgeBucket> histogram = new ArrayList<>(BUCKET_MIN_AGES.length);
+      for (int i = 0; i < BUCKET_MIN_AGES.length; i++) {
+        boolean last = i == BUCKET_MIN_AGES.length - 1;
+        Integer maxAge = last ? null : BUCKET_MIN_AGES[i + 1] - 1;
+        String label = last ? BUCKET_MIN_AGES[i] + "+" : BUCKET_MIN_AGES[i] + "-" + maxAge;
+        histogram.add(new AgeBucket(label, BUCKET_MIN_AGES[i], maxAge, aggregates.ageBuckets[i]));
+      }
+
+      List<DomainCount> domains = new ArrayList<>(aggregates.domainCounts.size());
+      long withDomain = 0;
+      for (Map.Entry<String, Long> domain : aggregates.domainCounts.entrySet()) {
+        domains.add(new DomainCount(domain.getKey(), domain.getValue()));
+        withDomain += domain.getValue();
+      }
+      domains.sort(
+          Comparator.comparingLong(DomainCount::getCount)
+              .reversed()
+              .thenComparing(DomainCount::getDomain));
+      List<DomainCount> top =
+          new ArrayList<>(domains.subList(0, Math.min(maxDomains, domains.size())));
+      long listed = top.stream().mapToLong(DomainCount::getCount).sum();
+
+      return new AnalyticsSummary(
+          ready,
+          employees,
+          aggregates.departmentNames.size(),
+          employees == 0 ? 0 : (double) aggregates.ageSum / employees,
+          headcounts,
+          histogram,
+          top,
+          withDomain - listed);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Add scanned employees to the rebuilt aggregates, unless an event already set their state. */
+  private void addScanned(List<EmployeeSnapshot> batch) {
+    lock.writeLock().lock();
+    try {
+      for (EmployeeSnapshot employee : batch) {
+        if (!changedWhileRebuilding.contains(employee.getId())) {
+          rebuilding.put(employee.getId(), Tracked.of(employee));
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static int bucketOf(int age) {
+    int bucket = 0;
+    while (bucket + 1 < BUCKET_MIN_AGES.length && age >= BUCKET_MIN_AGES[bucket + 1]) {
+      bucket++;
+    }
+    return bucket;
+  }
+
+  /** The aggregated figures with the per-employee contributions they were summed from. */
+  private static final class Aggregates {
+
+    private final Map<Long, Tracked> employees = new HashMap<>();
+    private final Map<Long, String> departmentNames = new HashMap<>();
+    private final Map<Long, Long> headcounts = new HashMap<>();
+    private final Map<String, Long> domainCounts = new HashMap<>();
+    private final long[] ageBuckets = new long[BUCKET_MIN_AGES.length];
+    private long ageSum;
+
+    /** Replace the contribution of an employee. */
+    private void put(Long id, Tracked employee) {
+      remove(id);
+      employees.put(id, employee);
+      headcounts.merge(employee.departmentId, 1L, Long::sum);
+      if (employee.domain != null) {
+        domainCounts.merge(employee.domain, 1L, Long::sum);
+      }
+      ageBuckets[bucketOf(employee.age)]++;
+      ageSum += employee.age;
+    }
+
+    /** Remove the contribution of an employee, if any. */
+    private void remove(Long id) {
+      Tracked employee = employees.remove(id);
+      if (employee == null) {
+        return;
+      }
+      decrement(headcounts, employee.departmentId);
+      if (employee.domain != null) {
+        decrement(domainCounts, employee.domain);
+      }
+      ageBuckets[bucketOf(employee.age)]--;
+      ageSum -= employee.age;
+    }
+
+    private void renameDepartment(DepartmentChangedEvent event) {
+      if (event.isDeleted()) {
+        departmentNames.remove(event.getId());
+      } else {
+        departmentNames.put(event.getId(), event.getName());
+      }
+    }
+
+    /** Whether the aggregated figures, not the tracked employees, equal those of another. */
+    private boolean sameTotals(Aggregates other) {
+      return headcounts.equals(other.headcounts)
+          && departmentNames.equals(other.departmentNames)
+          && domainCounts.equals(other.domainCounts)
+          && Arrays.equals(ageBuckets, other.ageBuckets)
+          && ageSum == other.ageSum
+          && employees.size() == other.employees.size();
+    }
+
+    private static <K> void decrement(Map<K, Long> counts, K key) {
+      counts.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+  }
+
+  /** The part of an employee's state the aggregates depend on. */
+  private static final class Tracked {
+
+    private final Long departmentId;
+    private final int age;
+    private final String domain;
+
+    private Tracked(Long departmentId, int age, String domain) {
+      this.departmentId = departmentId;
+      this.age = age;
+      this.domain = domain;
+    }
+
+    private static Tracked of(EmployeeSnapshot employee) {
+      String domain = Employee.domainOf(employee.getEmail());
+      // Domains repeat across employees, so share one instance per domain.
+      return new Tracked(
+          employee.getDepartmentId(), employee.getAge(), domain == null ? null : domain.intern());
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package com.example.employeemanagement.analytics;
+
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.SnapshotScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class holds the current {@link EmployeeColumns} snapshot. The snapshot is built from the
+ * database at startup; committed employee changes are then collected, latest state per employee,
+ * and merged into a new snapshot by the next read, so a burst of writes costs one patch.
+ *
+ * <p>Changes committed while {@link #rebuild()} scans the database are merged into the rebuilt
+ * snapshot before it replaces the current one.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class EmployeeColumnStore implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(EmployeeColumnStore.class);
+
+  /** The employee repository, scanned by rebuilds. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The scanner reading all employees for rebuilds. */
+  @Autowired private SnapshotScanner snapshotScanner;
+
+  /** The lock guarding the snapshot and the collected changes. */
+  private final Object lock = new Object();
+
+  /** The latest snapshot, without the collected changes. */
+  private EmployeeColumns columns = EmployeeColumns.EMPTY;
+
+  /** The changes not yet merged into the snapshot; a null value is a delete. */
+  private final Map<Long, EmployeeSnapshot> pending = new HashMap<>();
+
+  /** The changes committed during a rebuild, or null when no rebuild is running. */
+  private Map<Long, EmployeeSnapshot> changedWhileRebuilding;
+
+  /** Whether the startup build has finished. */
+  private volatile boolean ready;
+
+  /**
+   * Build the snapshot from the database at startup.
+   *
+   * @param args The application arguments
+   */
+  @Override
+  public void run(ApplicationArguments args) {
+    long start = System.nanoTime();
+    int rows = rebuild();
+    ready = true;
+    logger.info(
+        "Built columnar employee snapshot of {} rows in {} ms",
+        rows,
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Rebuild the snapshot from the database, which also drops dictionary entries no employee uses
+   * any more.
+   *
+   * @return The number of employees in the rebuilt snapshot
+   */
+  public synchronized int rebuild() {
+    synchronized (lock) {
+      changedWhileRebuilding = new HashMap<>();
+    }
+    EmployeeColumns rebuilt =
+        snapshotScanner.readOnly(
+            () -> {
+              long count = employeeRepository.count();
+              EmployeeColumns.Builder builder =
+                  EmployeeColumns.builder((int) Math.min(count, Integer.MAX_VALUE - 8));
+              snapshotScanner.scanEmployees(batch -> batch.forEach(builder::add));
+              return builder.build();
+            });
+    synchronized (lock) {
+      // Changes collected before the rebuild started were committed before its scan, so the scan
+      // has read them.
+      columns = rebuilt.patch(changedWhileRebuilding);
+      changedWhileRebuilding = null;
+      pending.clear();
+      return columns.size();
+    }
+  }
+
+  /**
+   * Collect committed employee writes for the next read.
+   *
+   * @param event The writes
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeesChanged(EmployeeChangedEvent event) {
+    synchronized (lock) {
+      for (Long id : event.getDeleted()) {
+        collect(id, null);
+      }
+      for (EmployeeSnapshot employee : event.getUpserted()) {
+        collect(employee.getId(), employee);
+      }
+    }
+  }
+
+  /**
+   * Get the current snapshot, merging in the changes committed since the last read.
+   *
+   * @return The snapshot
+   */
+  public EmployeeColumns snapshot() {
+    synchronized (lock) {
+      if (!pending.isEmpty()) {
+        columns = columns.patch(pending);
+        pending.clear();
+      }
+      return columns;
+    }
+  }
+
+  /**
+   * Whether the startup build has finished; until then the snapshot is empty.
+   *
+   * @return True if the snapshot reflects the database
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  private void collect(Long id, EmployeeSnapshot employee) {
+    pending.put(id, employee);
+    if (changedWhileRebuilding != null) {
+      changedWhileRebuilding.put(id, employee);
+    }
+  }
+}
@@ -0,0 +1,471 @@
+package com.example.employeemanagement.analytics;
+
+import com.example.employeemanagement.dto.AgePercentile;
+import com.example.employeemanagement.dto.DepartmentAgeStats;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * This class represents an immutable, column-oriented snapshot of all employees for analytical
+ * scans. Each attribute is held in its own primitive array, indexed by row, with rows in ascending
+ * ID order: ages in an {@code int[]}, department IDs in a {@code long[]}, and first names, last
+ * names and email domains as {@code int} codes into per-column dictionaries. A scan touches only
+ * the columns it reads, without boxing or entity overhead, and compares strings as codes.
+ *
+ * <p>Scans over more than {@value #CHUNK_SIZE} rows are split into chunks of that many rows and run
+ * in parallel on the common fork-join pool.
+ *
+ * <p>A snapshot is never modified; {@link #patch} returns a new snapshot with changes merged in.
+ * Dictionaries only grow when patched, and are compacted by a rebuild.
+ */
+public final class EmployeeColumns {
+
+  /** The department ID stored for employees without a department. */
+  public static final long NO_DEPARTMENT = Long.MIN_VALUE;
+
+  /** The code stored for a missing string. */
+  public static final int NULL_CODE = -1;
+
+  /** The number of rows scanned by one parallel task. */
+  static final int CHUNK_SIZE = 1 << 16;
+
+  /** The snapshot without employees. */
+  public static final EmployeeColumns EMPTY = new Builder(0).build();
+
+  private final int size;
+  private final long[] ids;
+  private final int[] ages;
+  private final long[] departmentIds;
+  private final int[] firstNameCodes;
+  private final int[] lastNameCodes;
+  private final int[] domainCodes;
+  private final String[] firstNames;
+  private final String[] lastNames;
+  private final String[] domains;
+
+  /** The distinct department IDs, sorted, so rows can be grouped without boxing. */
+  private final long[] departments;
+
+  private EmployeeColumns(Builder builder) {
+    size = builder.size;
+    ids = Arrays.copyOf(builder.ids, size);
+    ages = Arrays.copyOf(builder.ages, size);
+    departmentIds = Arrays.copyOf(builder.departmentIds, size);
+    firstNameCodes = Arrays.copyOf(builder.firstNameCodes, size);
+    lastNameCodes = Arrays.copyOf(builder.lastNameCodes, size);
+    domainCodes = Arrays.copyOf(builder.domainCodes, size);
+    firstNames = builder.firstNames.toArray();
+    lastNames = builder.lastNames.toArray();
+    domains = builder.domains.toArray();
+    departments = Arrays.stream(departmentIds).distinct().sorted().toArray();
+  }
+
+  /**
+   * Create a builder of a snapshot. Rows must be added in ascending ID order.
+   *
+   * @param capacity The expected number of rows
+   * @return The builder
+   */
+  public static Builder builder(int capacity) {
+    return new Builder(capacity);
+  }
+
+  /**
+   * Get the number of employees.
+   *
+   * @return The row count
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Get the ID of the employee in a row.
+   *
+   * @param row The row
+   * @return The employee ID
+   */
+  public long idAt(int row) {
+    return ids[row];
+  }
+
+  /**
+   * Get the age of the employee in a row.
+   *
+   * @param row The row
+   * @return The age
+   */
+  public int ageAt(int row) {
+    return ages[row];
+  }
+
+  /**
+   * Get the department ID of the employee in a row.
+   *
+   * @param row The row
+   * @return The department ID, or null if the employee has none
+   */
+  public Long departmentIdAt(int row) {
+    return departmentIds[row] == NO_DEPARTMENT ? null : departmentIds[row];
+  }
+
+  /**
+   * Get the first name of the employee in a row.
+   *
+   * @param row The row
+   * @return The first name
+   */
+  public String firstNameAt(int row) {
+    return decode(firstNames, firstNameCodes[row]);
+  }
+
+  /**
+   * Get the last name of the employee in a row.
+   *
+   * @param row The row
+   * @return The last name
+   */
+  public String lastNameAt(int row) {
+    return decode(lastNames, lastNameCodes[row]);
+  }
+
+  /**
+   * Get the email domain of the employee in a row.
+   *
+   * @param row The row
+   * @return The email domain, or null if the email has none
+   */
+  public String emailDomainAt(int row) {
+    return decode(domains, domainCodes[row]);
+  }
+
+  /**
+   * Count the employees of a cohort. The domain is looked up once, and then compared as a code.
+   *
+   * @param departmentId The department ID, or null for all departments
+   * @param minAge The lowest age, inclusive
+   * @param maxAge The highest age, inclusive
+   * @param emailDomain The email domain, or null for any
+   * @return The number of matching employees
+   */
+  public long countCohort(Long departmentId, int minAge, int maxAge, String emailDomain) {
+    int domainCode = NULL_CODE;
+    if (emailDomain != null) {
+      domainCode = Arrays.asList(domains).indexOf(emailDomain.toLowerCase(Locale.ROOT));
+      if (domainCode < 0) {
+        return 0;
+      }
+    }
+    boolean anyDepartment = departmentId == null;
+    long department = anyDepartment ? 0 : departmentId;
+    boolean anyDomain = emailDomain == null;
+    int domain = domainCode;
+    return chunks()
+        .mapToLong(
+            chunk -> {
+              long count = 0;
+              for (int row = chunkStart(chunk), end = chunkEnd(chunk); row < end; row++) {
+                int age = ages[row];
+                if (age >= minAge
+                    && age <= maxAge
+                    && (anyDepartment || departmentIds[row] == department)
+                    && (anyDomain || domainCodes[row] == domain)) {
+                  count++;
+                }
+              }
+              return count;
+            })
+        .sum();
+  }
+
+  /**
+   * Get age statistics per department. Ages are grouped by department in two parallel passes, a
+   * count and a scatter, and each department's ages are then sorted in parallel, so percentiles are
+   * exact nearest-rank values. Ages span a narrow range, so they are usually sorted by counting.
+   *
+   * @param percentiles The percentiles to report, each greater than 0 and at most 100
+   * @return The statistics per department, ordered by department ID with employees without a
+   *     department first
+   */
+  public List<DepartmentAgeStats> ageStatsByDepartment(double... percentiles) {
+    int groups = departments.length;
+    int chunkCount = chunkCount();
+    int[][] chunkCounts = new int[chunkCount][];
+    chunks()
+        .forEach(
+            chunk -> {
+              int[] counts = new int[groups];
+              for (int row = chunkStart(chunk), end = chunkEnd(chunk); row < end; row++) {
+                counts[groupOf(departmentIds[row])]++;
+              }
+              chunkCounts[chunk] = counts;
+            });
+
+    // Lay the groups out one after another, and give each chunk its own range within each group.
+    int[] groupStarts = new int[groups + 1];
+    int[][] chunkOffsets = new int[chunkCount][groups];
+    for (int group = 0, offset = 0; group < groups; group++) {
+      groupStarts[group] = offset;
+      for (int chunk = 0; chunk < chunkCount; chunk++) {
+        chunkOffsets[chunk][group] = offset;
+        offset += chunkCounts[chunk][group];
+      }
+    }
+    groupStarts[groups] = size;
+
+    int[] grouped = new int[size];
+    chunks()
+        .forEach(
+            chunk -> {
+              int[] next = chunkOffsets[chunk];
+              for (int row = chunkStart(chunk), end = chunkEnd(chunk); row < end; row++) {
+                grouped[next[groupOf(departmentIds[row])]++] = ages[row];
+              }
+            });
+
+    DepartmentAgeStats[] stats = new DepartmentAgeStats[groups];
+    IntStream.range(0, groups)
+        .parallel()
+        .forEach(
+            group -> {
+              int from = groupStarts[group];
+              int to = groupStarts[group + 1];
+              sortAges(grouped, from, to);
+              long sum = 0;
+              for (int i = from; i < to; i++) {
+                sum += grouped[i];
+              }
+              int count = to - from;
+              List<AgePercentile> values = new ArrayList<>(percentiles.length);
+              for (double percentile : percentiles) {
+                int rank = (int) Math.ceil(percentile / 100 * count);
+                values.add(new AgePercentile(percentile, grouped[from + Math.max(rank, 1) - 1]));
+              }
+              stats[group] =
+                  new DepartmentAgeStats(
+                      departments[group] == NO_DEPARTMENT ? null : departments[group],
+                      count,
+                      grouped[from],
+                      grouped[to - 1],
+                      (double) sum / count,
+                      values);
+            });
+    return Arrays.asList(stats);
+  }
+
+  /**
+   * Merge changes into a copy of this snapshot. Unchanged rows are copied with their codes, so the
+   * cost is one pass over the columns plus the changes.
+   *
+   * @param changes The latest state per employee ID, or null for a deleted employee
+   * @return The patched snapshot
+   */
+  public EmployeeColumns patch(Map<Long, EmployeeSnapshot> changes) {
+    if (changes.isEmpty()) {
+      return this;
+    }
+    Long[] changedIds = changes.keySet().toArray(new Long[0]);
+    Arrays.sort(changedIds);
+    Builder builder = new Builder(this, size + changedIds.length);
+    int row = 0;
+    for (Long changedId : changedIds) {
+      while (row < size && ids[row] < changedId) {
+        builder.copyRow(this, row++);
+      }
+      if (row < size && ids[row] == changedId) {
+        row++;
+      }
+      EmployeeSnapshot employee = changes.get(changedId);
+      if (employee != null) {
+        builder.add(employee);
+      }
+    }
+    while (row < size) {
+      builder.copyRow(this, row++);
+    }
+    return builder.build();
+  }
+
+  /** Sort a range of ages, by counting when their span is no wider than the range itself. */
+  private static void sortAges(int[] ages, int from, int to) {
+    int min = Integer.MAX_VALUE;
+    int max = Integer.MIN_VALUE;
+    for (int i = from; i < to; i++) {
+      min = Math.min(min, ages[i]);
+      max = Math.max(max, ages[i]);
+    }
+    if ((long) max - min >= to - from) {
+      Arrays.sort(ages, from, to);
+      return;
+    }
+    int[] counts = new int[max - min + 1];
+    for (int i = from; i < to; i++) {
+      counts[ages[i] - min]++;
+    }
+    int next = from;
+    for (int offset = 0; offset < counts.length; offset++) {
+      Arrays.fill(ages, next, next + counts[offset], min + offset);
+      next += counts[offset];
+    }
+  }
+
+  private int groupOf(long departmentId) {
+    return Arrays.binarySearch(departments, departmentId);
+  }
+
+  private IntStream chunks() {
+    IntStream chunks = IntStream.range(0, chunkCount());
+    return size > CHUNK_SIZE ? chunks.parallel() : chunks;
+  }
+
+  private int chunkCount() {
+    return (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+  }
+
+  private static int chunkStart(int chunk) {
+    return chunk * CHUNK_SIZE;
+  }
+
+  private int chunkEnd(int chunk) {
+    return Math.min(size, (chunk + 1) * CHUNK_SIZE);
+  }
+
+  private static String decode(String[] dictionary, int code) {
+    return code == NULL_CODE ? null : dictionary[code];
+  }
+
+  /** This class builds a snapshot row by row, in ascending ID order. */
+  public static final class Builder {
+
+    private int size;
+    private long[] ids;
+    private int[] ages;
+    private long[] departmentIds;
+    private int[] firstNameCodes;
+    private int[] lastNameCodes;
+    private int[] domainCodes;
+    private final Dictionary firstNames;
+    private final Dictionary lastNames;
+    private final Dictionary domains;
+
+    private Builder(int capacity) {
+      allocate(capacity);
+      firstNames = new Dictionary(new String[0]);
+      lastNames = new Dictionary(new String[0]);
+      domains = new Dictionary(new String[0]);
+    }
+
+    /** Start from the dictionaries of a snapshot, so its codes stay valid. */
+    private Builder(EmployeeColumns base, int capacity) {
+      allocate(capacity);
+      firstNames = new Dictionary(base.firstNames);
+      lastNames = new Dictionary(base.lastNames);
+      domains = new Dictionary(base.domains);
+    }
+
+    /**
+     * Add an employee after those already added.
+     *
+     * @param employee The employee, with an ID greater than any added before
+     * @return This builder
+     */
+    public Builder add(EmployeeSnapshot employee) {
+      if (size > 0 && employee.getId() <= ids[size - 1]) {
+        throw new IllegalArgumentException("Employees must be added in ascending ID order");
+      }
+      ensureCapacity();
+      ids[size] = employee.getId();
+      ages[size] = employee.getAge();
+      departmentIds[size] =
+          employee.getDepartmentId() == null ? NO_DEPARTMENT : employee.getDepartmentId();
+      firstNameCodes[size] = firstNames.encode(employee.getFirstName());
+      lastNameCodes[size] = lastNames.encode(employee.getLastName());
+      domainCodes[size] = domains.encode(Employee.domainOf(employee.getEmail()));
+      size++;
+      return this;
+    }
+
+    /**
+     * Build the snapshot.
+     *
+     * @return The snapshot
+     */
+    public EmployeeColumns build() {
+      return new EmployeeColumns(this);
+    }
+
+    /** Copy a row of a snapshot whose dictionaries this builder started from. */
+    private void copyRow(EmployeeColumns source, int row) {
+      ensureCapacity();
+      ids[size] = source.ids[row];
+      ages[size] = source.ages[row];
+      departmentIds[size] = source.departmentIds[row];
+      firstNameCodes[size] = source.firstNameCodes[row];
+      lastNameCodes[size] = source.lastNameCodes[row];
+      domainCodes[size] = source.domainCodes[row];
+      size++;
+    }
+
+    private void allocate(int capacity) {
+      int length = Math.max(capacity, 16);
+      ids = new long[length];
+      ages = new int[length];
+      departmentIds = new long[length];
+      firstNameCodes = new int[length];
+      lastNameCodes = new int[length];
+      domainCodes = new int[length];
+    }
+
+    private void ensureCapacity() {
+      if (size < ids.length) {
+        return;
+      }
+      int length = ids.length * 2;
+      ids = Arrays.copyOf(ids, length);
+      ages = Arrays.copyOf(ages, length);
+      departmentIds = Arrays.copyOf(departmentIds, length);
+      firstNameCodes = Arrays.copyOf(firstNameCodes, length);
+      lastNameCodes = Arrays.copyOf(lastNameCodes, length);
+      domainCodes = Arrays.copyOf(domainCodes, length);
+    }
+  }
+
+  /** The distinct values of a string column, coded by their position. */
+  private static final class Dictionary {
+
+    private final List<String> values;
+    private final Map<String, Integer> codes;
+
+    private Dictionary(String[] initial) {
+      values = new ArrayList<>(Arrays.asList(initial));
+      codes = new HashMap<>(initial.length * 2);
+      for (int code = 0; code < initial.length; code++) {
+        codes.put(initial[code], code);
+      }
+    }
+
+    private int encode(String value) {
+      if (value == null) {
+        return NULL_CODE;
+      }
+      return codes.computeIfAbsent(
+          value,
+          v -> {
+            values.add(v);
+            return values.size() - 1;
+          });
+    }
+
+    private String[] toArray() {
+      return values.toArray(new String[0]);
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package com.example.employeemanagement.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class represents a serialized JSON response body, with a gzip-compressed copy when the body
+ * is large enough to be worth compressing. Both are produced once and then sent as is: byte array
+ * bodies are copied unchanged to the servlet output stream.
+ *
+ * <p>The two copies are different representations, so the compressed one is sent with its own
+ * strong ETag, the listing ETag with a {@code -gzip} suffix; {@link #checkNotModified} accepts
+ * either form.
+ */
+public final class CachedJson {
+
+  /** The version of the data the body was serialized from. */
+  private final String version;
+
+  /** The JSON body. */
+  private final byte[] json;
+
+  /** The gzip-compressed JSON body, or null if the body is not compressed. */
+  private final byte[] gzip;
+
+  private CachedJson(String version, byte[] json, byte[] gzip) {
+    this.version = version;
+    this.json = json;
+    this.gzip = gzip;
+  }
+
+  /**
+   * Create a cached body, compressing it if it has at least {@code gzipMinBytes} bytes.
+   *
+   * @param version The version of the data the body was serialized from
+   * @param json The JSON body
+   * @param gzipMinBytes The smallest body compressed, or a negative number to never compress
+   * @return The cached body
+   */
+  public static CachedJson of(String version, byte[] json, int gzipMinBytes) {
+    return new CachedJson(
+        version, json, gzipMinBytes >= 0 && json.length >= gzipMinBytes ? gzip(json) : null);
+  }
+
+  /**
+   * Get the version of the data the body was serialized from.
+   *
+   * @return The version
+   */
+  public String getVersion() {
+    return version;
+  }
+
+  /**
+   * Get the JSON body.
+   *
+   * @return The uncompressed bytes
+   */
+  public byte[] getJson() {
+    return json;
+  }
+
+  /**
+   * Get the gzip-compressed JSON body.
+   *
+   * @return The compressed bytes, or null if the body is not compressed
+   */
+  public byte[] getGzip() {
+    return gzip;
+  }
+
+  /**
+   * Get the number of bytes held.
+   *
+   * @return The size of the body and its compressed copy
+   */
+  public int getWeight() {
+    return json.length + (gzip == null ? 0 : gzip.length);
+  }
+
+  /**
+   * Complete a response with this body, compressed if the client accepts gzip.
+   *
+   * @param response The response with its status and other headers set
+   * @param acceptEncoding The request's {@code Accept-Encoding} header, or null
+   * @return The response
+   */
+  public ResponseEntity<byte[]> respond(ResponseEntity.BodyBuilder response, String acceptEncoding) {
+    return respond(response, null, acceptEncoding);
+  }
+
+  /**
+   * Complete a response with this body and its ETag, compressed if the client accepts gzip. The
+   * compressed body is tagged with {@link #gzipETag(String)}.
+   *
+   * @param response The response with its status and other headers set
+   * @param etag The ETag of the uncompressed body, or null to send none
+   * @param acceptEncoding The request's {@code Accept-Encoding} header, or null
+   * @return The response
+   */
+  public ResponseEntity<byte[]> respond(
+      ResponseEntity.BodyBuilder response, String etag, String acceptEncoding) {
+    response.contentType(MediaType.APPLICATION_JSON);
+    if (gzip == null) {
+      return withETag(response, etag).body(json);
+    }
+    response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (acceptsGzip(acceptEncoding)) {
+      return withETag(response, etag == null ? null : gzipETag(etag))
+          .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+          .body(gzip);
+    }
+    return withETag(response, etag).body(json);
+  }
+
+  /**
+   * Check a request's {@code If-None-Match} header against an ETag and its gzip variant, and if
+   * either matches, prepare a 304 response carrying the matching form.
+   *
+   * @param webRequest The current request
+   * @param etag The ETag of the uncompressed body
+   * @return Whether the request can be answered with 304
+   */
+  public static boolean checkNotModified(WebRequest webRequest, String etag) {
+    String gzipETag = gzipETag(etag);
+    String[] ifNoneMatch = webRequest.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+    if (ifNoneMatch != null) {
+      for (String header : ifNoneMatch) {
+        for (String candidate : header.split(",")) {
+          String tag = candidate.trim();
+          if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+          }
+          if (tag.equals(gzipETag)) {
+            return webRequest.checkNotModified(gzipETag);
+          }
+        }
+      }
+    }
+    return webRequest.checkNotModified(etag);
+  }
+
+  /**
+   * Get the ETag of the gzip-compressed variant of a body.
+   *
+   * @param etag The quoted ETag of the uncompressed body, e.g. {@code "employees-1-2"}
+   * @return The ETag with a {@code -gzip} suffix inside the quotes, e.g. {@code
+   *     "employees-1-2-gzip"}
+   */
+  public static String gzipETag(String etag) {
+    if (etag.endsWith("\"") && etag.length() > 1) {
+      return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+    return etag + "-gzip";
+  }
+
+  private static ResponseEntity.BodyBuilder withETag(
+      ResponseEntity.BodyBuilder response, String etag) {
+    return etag == null ? response : response.eTag(etag);
+  }
+
+  /** Whether an {@code Accept-Encoding} header lists gzip without refusing it by {@code q=0}. */
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+        continue;
+      }
+      for (int i = 1; i < parts.length; i++) {
+        String parameter = parts[i].trim();
+        if (parameter.startsWith("q=")) {
+          try {
+            return Double.parseDouble(parameter.substring(2)) > 0;
+          } catch (NumberFormatException e) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private static byte[] gzip(byte[] json) {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+    try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return compressed.toByteArray();
+  }
+}
@@ -0,0 +1,171 @@
+package com.example.employeemanagement.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * This class collapses concurrent loads of the same key into one. The first caller for a key runs
+ * the loader on its own thread; callers arriving while it runs wait for it and receive the same
+ * result, or the same exception.
+ *
+ * <p>A successful result may be kept for a reuse window after it completes, so callers arriving
+ * just after it also share it. Keys must therefore identify the data version, for example by
+ * including an ETag, if results must never be older than the window allows. Failed loads are never
+ * reused. Expired results are swept out at most once per window, on the next call for any key, so
+ * results kept for keys that are never asked for again do not accumulate.
+ *
+ * @param <K> The key type
+ * @param <V> The result type
+ */
+public class SingleFlight<K, V> {
+
+  /** The loads in flight, and completed loads within their reuse window. */
+  private final ConcurrentMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+  /** How long a completed result is reused, in nanoseconds. */
+  private final long reuseNanos;
+
+  /** When the next sweep of expired results is due, as a {@link System#nanoTime()} value. */
+  private final AtomicLong nextSweep;
+
+  /** The number of loads run. */
+  private final AtomicLong loads = new AtomicLong();
+
+  /** The number of calls served by another caller's load. */
+  private final AtomicLong shared = new AtomicLong();
+
+  /**
+   * Constructor for the single-flight group.
+   *
+   * @param reuseMillis How long a completed result is reused, in milliseconds, or 0 for not at all
+   */
+  public SingleFlight(long reuseMillis) {
+    if (reuseMillis < 0) {
+      throw new IllegalArgumentException("Reuse window must not be negative");
+    }
+    this.reuseNanos = reuseMillis * 1_000_000;
+    this.nextSweep = new AtomicLong(System.nanoTime() + reuseNanos);
+  }
+
+  /**
+   * Get the result for a key, joining a load in flight or starting one.
+   *
+   * @param key The key identifying the result
+   * @param loader The loader, run on the calling thread if no load of the key is in flight
+   * @return The result
+   */
+  public V get(K key, Supplier<V> loader) {
+    if (reuseNanos > 0) {
+      sweepExpired();
+    }
+    while (true) {
+      Flight<V> flight = flights.get(key);
+      if (flight != null) {
+        if (!flight.expired(reuseNanos)) {
+          shared.incrementAndGet();
+          return flight.join();
+        }
+        flights.remove(key, flight);
+        continue;
+      }
+      Flight<V> own = new Flight<>();
+      if (flights.putIfAbsent(key, own) == null) {
+        return load(key, own, loader);
+      }
+    }
+  }
+
+  /** Drop all completed results, so the next call for each key loads again. */
+  public void clear() {
+    flights.values().removeIf(Flight::isDone);
+  }
+
+  /**
+   * Get the number of loads in flight and completed results kept.
+   *
+   * @return The number of keys held
+   */
+  public int size() {
+    return flights.size();
+  }
+
+  /**
+   * Get the number of loads run.
+   *
+   * @return The load count
+   */
+  public long getLoads() {
+    return loads.get();
+  }
+
+  /**
+   * Get the number of calls served by another caller's load.
+   *
+   * @return The shared call count
+   */
+  public long getShared() {
+    return shared.get();
+  }
+
+  /** Drop the expired results if a sweep is due, letting one caller per window do it. */
+  private void sweepExpired() {
+    long now = System.nanoTime();
+    long due = nextSweep.get();
+    if (now - due < 0 || !nextSweep.compareAndSet(due, now + reuseNanos)) {
+      return;
+    }
+    flights.values().removeIf(flight -> flight.expired(reuseNanos));
+  }
+
+  private V load(K key, Flight<V> flight, Supplier<V> loader) {
+    loads.incrementAndGet();
+    V value;
+    try {
+      value = loader.get();
+    } catch (RuntimeException | Error e) {
+      flights.remove(key, flight);
+      flight.result.completeExceptionally(e);
+      throw e;
+    }
+    flight.completedAt = System.nanoTime();
+    flight.result.complete(value);
+    if (reuseNanos == 0) {
+      flights.remove(key, flight);
+    }
+    return value;
+  }
+
+  /** One load and the time it completed. */
+  private static final class Flight<V> {
+
+    private final CompletableFuture<V> result = new CompletableFuture<>();
+    private volatile long completedAt;
+
+    private boolean isDone() {
+      return result.isDone();
+    }
+
+    private boolean expired(long reuseNanos) {
+      return result.isDone()
+          && (result.isCompletedExceptionally() || System.nanoTime() - completedAt >= reuseNanos);
+    }
+
+    private V join() {
+      try {
+        return result.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+        throw e;
+      }
+    }
+  }
+}
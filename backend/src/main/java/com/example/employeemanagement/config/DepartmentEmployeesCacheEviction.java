@@ -0,0 +1,111 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * This class keeps the cached {@code Department.employees} collections consistent with employee
+ * writes. Hibernate caches a collection by its owner and does not evict it when the owning side,
+ * {@code Employee.department}, changes, so after every committed employee insert, update or delete
+ * the collections of the old and new department are evicted here. Bulk JPQL statements need no
+ * help: Hibernate evicts every region of the tables they touch.
+ *
+ * <p>Only active when the second-level cache is enabled, i.e. with the {@code l2cache} profile.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "spring.jpa.properties.hibernate.cache.use_second_level_cache",
+    havingValue = "true")
+public class DepartmentEmployeesCacheEviction
+    implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+  private static final long serialVersionUID = 1L;
+
+  /** The collection role of the employees of a department. */
+  private static final String EMPLOYEES_ROLE = Department.class.getName() + ".employees";
+
+  /** The entity manager factory whose events are observed. */
+  @Autowired private transient EntityManagerFactory entityManagerFactory;
+
+  /** The session factory, used to evict collection entries. */
+  private transient SessionFactoryImplementor sessionFactory;
+
+  /** Register the listener for post-commit employee events. */
+  @PostConstruct
+  void register() {
+    sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    EventListenerRegistry registry =
+        sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+    registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof Employee) {
+      evict(((Employee) event.getEntity()).getDepartment());
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!(event.getEntity() instanceof Employee)) {
+      return;
+    }
+    evict(((Employee) event.getEntity()).getDepartment());
+    Object[] oldState = event.getOldState();
+    if (oldState == null) {
+      // Updated without a loaded state, so the previous department is unknown.
+      sessionFactory.getCache().evictCollectionData(EMPLOYEES_ROLE);
+      return;
+    }
+    int index = event.getPersister().getEntityMetamodel().getPropertyIndex("department");
+    evict((Department) oldState[index]);
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof Employee) {
+      evict(((Employee) event.getEntity()).getDepartment());
+    }
+  }
+
+  @Override
+  public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+  @Override
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    return persister.getMappedClass() == Employee.class;
+  }
+
+  private void evict(Department department) {
+    if (department != null && department.getId() != null) {
+      sessionFactory.getCache().evictCollectionData(EMPLOYEES_ROLE, department.getId());
+    }
+  }
+}
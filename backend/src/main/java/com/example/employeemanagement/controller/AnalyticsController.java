@@ -0,0 +1,129 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.analytics.EmployeeAnalytics;
+import com.example.employeemanagement.analytics.EmployeeColumnStore;
+import com.example.employeemanagement.dto.AnalyticsRecompute;
+import com.example.employeemanagement.dto.AnalyticsSummary;
+import com.example.employeemanagement.dto.CohortCount;
+import com.example.employeemanagement.dto.DepartmentAgeStats;
+import com.example.employeemanagement.exception.BadRequestException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/** This class represents the REST API controller for employee analytics. */
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Analytics APIs", description = "API Operations related to employee analytics")
+public class AnalyticsController {
+
+  /** The employee analytics. */
+  @Autowired private EmployeeAnalytics employeeAnalytics;
+
+  /** The columnar employee snapshot, for scans the aggregates do not cover. */
+  @Autowired private EmployeeColumnStore employeeColumnStore;
+
+  private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+  /**
+   * Get employee analytics API. Served from aggregates kept up to date on every write, so the cost
+   * does not grow with the number of employees.
+   *
+   * @param domains The largest number of email domains listed
+   * @return Headcount per department, age histogram, average age and email domain distribution
+   */
+  @Operation(
+      summary = "Get employee analytics",
+      description =
+          "Retrieve headcount per department, the age histogram, the average age and the email"
+              + " domain distribution")
+  @GetMapping
+  public AnalyticsSummary getAnalytics(
+      @Parameter(description = "Largest number of email domains listed")
+          @RequestParam(defaultValue = "10")
+          int domains) {
+    return employeeAnalytics.getSummary(domains);
+  }
+
+  /**
+   * Recompute employee analytics API. Rebuilds the aggregates from the database, reports whether
+   * the incrementally maintained ones matched, and replaces them.
+   *
+   * @return Whether the aggregates were consistent, and the cost of the recompute
+   */
+  @Operation(
+      summary = "Recompute employee analytics",
+      description = "Rebuild the analytics from the database and verify the maintained aggregates")
+  @PostMapping("/recompute")
+  public AnalyticsRecompute recompute() {
+    AnalyticsRecompute result = employeeAnalytics.recompute();
+    logger.info(
+        "Recomputed employee analytics over {} employees in {} ms (consistent: {})",
+        result.getEmployees(),
+        result.getTookMillis(),
+        result.isConsistent());
+    return result;
+  }
+
+  /**
+   * Get age percentiles per department API. Scans the columnar employee snapshot in parallel.
+   *
+   * @param percentiles The percentiles, each greater than 0 and at most 100
+   * @return Employee count, age range, average age and percentiles per department
+   */
+  @Operation(
+      summary = "Get age statistics per department",
+      description = "Retrieve the age range, average age and age percentiles of each department")
+  @GetMapping("/ages")
+  public List<DepartmentAgeStats> getAgeStats(
+      @Parameter(description = "Percentiles, comma-separated")
+          @RequestParam(defaultValue = "50,90")
+          double[] percentiles) {
+    if (percentiles.length == 0) {
+      throw new BadRequestException("At least one percentile is required");
+    }
+    for (double percentile : percentiles) {
+      if (!(percentile > 0 && percentile <= 100)) {
+        throw new BadRequestException("Percentiles must be greater than 0 and at most 100");
+      }
+    }
+    return employeeColumnStore.snapshot().ageStatsByDepartment(percentiles);
+  }
+
+  /**
+   * Count a cohort of employees API. Scans the columnar employee snapshot in parallel.
+   *
+   * @param departmentId The department ID, or none for all departments
+   * @param minAge The lowest age, inclusive
+   * @param maxAge The highest age, inclusive
+   * @param emailDomain The email domain, or none for any
+   * @return The number of employees matching all given criteria
+   */
+  @Operation(
+      summary = "Count a cohort of employees",
+      description = "Count the employees matching a department, an age range and an email domain")
+  @GetMapping("/cohort")
+  public CohortCount countCohort(
+      @Parameter(description = "Department ID") @RequestParam(required = false) Long departmentId,
+      @Parameter(description = "Lowest age, inclusive") @RequestParam(defaultValue = "0")
+          int minAge,
+      @Parameter(description = "Highest age, inclusive")
+          @RequestParam(defaultValue = "" + Integer.MAX_VALUE)
+          int maxAge,
+      @Parameter(description = "Email domain") @RequestParam(required = false)
+          String emailDomain) {
+    if (minAge > maxAge) {
+      throw new BadRequestException("minAge must not be greater than maxAge");
+    }
+    long count =
+        employeeColumnStore.snapshot().countCohort(departmentId, minAge, maxAge, emailDomain);
+    return new CohortCount(departmentId, minAge, maxAge, emailDomain, count);
+  }
+}
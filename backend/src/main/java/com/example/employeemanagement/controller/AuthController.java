@@ -1,11 +1,19 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.event.UserRegisteredEvent;
+import com.example.employeemanagement.index.AutocompleteIndex;
 import com.example.employeemanagement.model.User;
 import com.example.employeemanagement.repository.UserRepository;
 import com.example.employeemanagement.security.JwtTokenUtil;
+import com.example.employeemanagement.security.UserDetailsCache;
+import com.example.employeemanagement.security.UsernameFilter;
+import com.example.employeemanagement.storage.ImageCleanup;
+import com.example.employeemanagement.storage.ImageStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -14,6 +22,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -21,6 +31,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Parameter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -28,6 +40,7 @@ import java.util.Optional;
 import com.warrenstrange.googleauth.GoogleAuthenticator;
 import com.warrenstrange.googleauth.GoogleAuthenticatorKey;
 import com.warrenstrange.googleauth.GoogleAuthenticatorQRGenerator;
+import javax.servlet.http.HttpServletRequest;
 
 /** This class represents the REST API controller for user authentication. */
 @RestController
@@ -54,8 +67,33 @@ public class AuthController {
   @Autowired
   private JwtTokenUtil jwtTokenUtil;
 
+  /** The cache of resolved user details, evicted whenever a user is modified. */
+  @Autowired
+  private UserDetailsCache userDetailsCache;
+
+  /** The store holding uploaded profile images. */
+  @Autowired
+  private ImageStore imageStore;
+
+  /** The cleanup of images no user points to. */
+  @Autowired
+  private ImageCleanup imageCleanup;
+
+  /** The prefix index of usernames, answering existence checks without a query. */
+  @Autowired
+  private AutocompleteIndex autocompleteIndex;
+
+  /** The Bloom filter of existing usernames, rejecting unknown names without a query. */
+  @Autowired
+  private UsernameFilter usernameFilter;
+
+  /** The publisher of user registration events. */
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
   /**
-   * Register user API.
+   * Register user API. Names the username filter has never seen are inserted directly; for the
+   * others the database is checked first, so duplicates are rejected before hashing the password.
    *
    * @param user The user to be registered
    * @return Success message
@@ -70,8 +108,13 @@ public class AuthController {
   @PostMapping("/register")
   public ResponseEntity<?> registerUser(@RequestBody User user) {
     try {
+      if (usernameFilter.mightContain(user.getUsername())
+          && userRepository.existsByUsername(user.getUsername())) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: Username already exists");
+      }
       user.setPassword(passwordEncoder.encode(user.getPassword()));
-      userRepository.save(user);
+      User saved = userRepository.save(user);
+      eventPublisher.publishEvent(new UserRegisteredEvent(saved.getId(), saved.getUsername()));
       return ResponseEntity.ok("User registered successfully!");
     } catch (DataIntegrityViolationException e) {
       return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: Username already exists");
@@ -99,6 +142,7 @@ public class AuthController {
     String secret = key.getKey();
     user.setMfaSecret(secret);
     userRepository.save(user);
+    userDetailsCache.evict(username);
     String qrUrl = GoogleAuthenticatorQRGenerator.getOtpAuthURL("EmployeeMgmtApp", username, key);
     Map<String, String> response = new HashMap<>();
     response.put("secret", secret);
@@ -135,6 +179,7 @@ public class AuthController {
     user.setMfaEnabled(false);
     user.setMfaSecret(null);
     userRepository.save(user);
+    userDetailsCache.evict(username);
     return ResponseEntity.ok("MFA disabled");
   }
 
@@ -154,6 +199,7 @@ public class AuthController {
       user.setMfaEnabled(false);
       user.setMfaSecret(null);
       userRepository.save(user);
+      userDetailsCache.evict(username);
       return ResponseEntity.ok("MFA disabled");
     }
     if (user.getMfaSecret() == null) {
@@ -165,6 +211,7 @@ public class AuthController {
     if (isCodeValid) {
       user.setMfaEnabled(true);
       userRepository.save(user);
+      userDetailsCache.evict(username);
       return ResponseEntity.ok("MFA enabled successfully");
     } else {
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid MFA code");
@@ -172,13 +219,17 @@ public class AuthController {
   }
 
   /**
-   * Updated authentication to require TOTP if MFA is enabled.
+   * Updated authentication to require TOTP if MFA is enabled. Usernames the username filter rules
+   * out are rejected without a query.
    */
   @PostMapping("/authenticate")
   public ResponseEntity<?> createAuthenticationToken(@RequestBody Map<String, String> request) {
     String username = request.get("username");
     String password = request.get("password");
     String codeStr = request.get("code"); // optional
+    if (!usernameFilter.mightContain(username)) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password");
+    }
     Optional<User> userOpt = userRepository.findByUsername(username);
     if (userOpt.isEmpty()) {
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password");
@@ -216,7 +267,8 @@ public class AuthController {
   }
 
   /**
-   * Verify if a username exists.
+   * Verify if a username exists. Names the username filter rules out and names held by the
+   * autocomplete index are answered from memory; only the rest reach the database.
    *
    * @param username The username to verify
    * @return Response message indicating whether the username exists
@@ -229,8 +281,10 @@ public class AuthController {
       })
   @GetMapping("/verify-username/{username}")
   public ResponseEntity<?> verifyUsername(@PathVariable String username) {
-    Optional<User> user = userRepository.findByUsername(username);
-    if (user.isPresent()) {
+    if (!usernameFilter.mightContain(username)) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: Username not found");
+    }
+    if (autocompleteIndex.hasUsername(username) || userRepository.existsByUsername(username)) {
       return ResponseEntity.ok("Username exists");
     } else {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: Username not found");
@@ -281,6 +335,7 @@ public class AuthController {
       }
       existingUser.setPassword(passwordEncoder.encode(newPassword));
       userRepository.save(existingUser);
+      userDetailsCache.evict(username);
       return ResponseEntity.ok("Password reset successfully");
     } else {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: Username not found");
@@ -288,24 +343,56 @@ public class AuthController {
   }
 
   /**
-   * Update the user's profile image.
+   * Update the user's profile image from a base64 data URL.
    */
   @PostMapping("/profile-image")
-  public ResponseEntity<?> updateProfileImage(@RequestBody Map<String, String> request) {
+  public ResponseEntity<?> updateProfileImage(@RequestBody Map<String, String> request) throws IOException {
     String username = request.get("username");
     String profileImage = request.get("profileImage");
     Optional<User> userOpt = userRepository.findByUsername(username);
     if (userOpt.isEmpty()) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
     }
-    User user = userOpt.get();
-    user.setProfileImage(profileImage);
-    userRepository.save(user);
-    return ResponseEntity.ok("Profile image updated successfully");
+    if (profileImage == null || profileImage.isEmpty()) {
+      return ResponseEntity.badRequest().body("Profile image is required");
+    }
+    return saveProfileImage(userOpt.get(), imageStore.storeDataUrl(profileImage));
   }
 
   /**
-   * Get the user's profile image.
+   * Upload the user's profile image as a multipart file.
+   */
+  @Operation(summary = "Upload profile image", description = "Upload a profile image as multipart/form-data")
+  @PostMapping(value = "/profile-image/{username}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<?> uploadProfileImage(
+      @PathVariable String username, @RequestParam("file") MultipartFile file) throws IOException {
+    Optional<User> userOpt = userRepository.findByUsername(username);
+    if (userOpt.isEmpty()) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+    }
+    try (InputStream in = file.getInputStream()) {
+      return saveProfileImage(userOpt.get(), imageStore.store(in));
+    }
+  }
+
+  /**
+   * Upload the user's profile image as the raw request body, streamed straight to the image store.
+   */
+  @Operation(summary = "Stream profile image", description = "Upload a profile image as the raw request body")
+  @PutMapping(
+      value = "/profile-image/{username}",
+      consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, "image/*"})
+  public ResponseEntity<?> streamProfileImage(
+      @PathVariable String username, HttpServletRequest request) throws IOException {
+    Optional<User> userOpt = userRepository.findByUsername(username);
+    if (userOpt.isEmpty()) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+    }
+    return saveProfileImage(userOpt.get(), imageStore.store(request.getInputStream()));
+  }
+
+  /**
+   * Get the URL of the user's profile image.
    */
   @GetMapping("/profile-image/{username}")
   public ResponseEntity<?> getProfileImage(@PathVariable String username) {
@@ -315,7 +402,44 @@ public class AuthController {
     }
     User user = userOpt.get();
     Map<String, String> resp = new HashMap<>();
-    resp.put("profileImage", user.getProfileImage());
+    resp.put("profileImage", profileImageUrl(user.getProfileImageKey()));
     return ResponseEntity.ok(resp);
   }
+
+  /**
+   * Point the user at a stored image, deleting the previous one if no other user points to it.
+   *
+   * @param user The user
+   * @param key The image store key
+   * @return Response carrying the image URL
+   */
+  private ResponseEntity<?> saveProfileImage(User user, String key) {
+    String previousKey = user.getProfileImageKey();
+    user.setProfileImageKey(key);
+    userRepository.save(user);
+    userDetailsCache.evict(user.getUsername());
+    if (previousKey != null && !previousKey.equals(key)) {
+      imageCleanup.release(previousKey);
+    }
+    Map<String, String> resp = new HashMap<>();
+    resp.put("message", "Profile image updated successfully");
+    resp.put("profileImage", profileImageUrl(key));
+    return ResponseEntity.ok(resp);
+  }
+
+  /**
+   * Build the absolute URL an image is served from.
+   *
+   * @param key The image store key, or null
+   * @return The URL, or null if there is no image
+   */
+  private static String profileImageUrl(String key) {
+    if (key == null) {
+      return null;
+    }
+    return ServletUriComponentsBuilder.fromCurrentContextPath()
+        .path("/profile-images/{key}")
+        .buildAndExpand(key)
+        .toUriString();
+  }
 }
@@ -0,0 +1,74 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.dto.AutocompleteMatch;
+import com.example.employeemanagement.dto.AutocompleteResult;
+import com.example.employeemanagement.dto.AutocompleteStats;
+import com.example.employeemanagement.index.AutocompleteIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+/** This class represents the REST API controller for prefix autocomplete. */
+@RestController
+@RequestMapping("/api/autocomplete")
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Autocomplete APIs", description = "API Operations related to prefix autocomplete")
+public class AutocompleteController {
+
+  /** The autocomplete index. */
+  @Autowired private AutocompleteIndex autocompleteIndex;
+
+  /**
+   * Complete a username prefix API.
+   *
+   * @param prefix The prefix, matched ignoring case
+   * @param limit The largest number of completions
+   * @return The matching usernames in alphabetical order
+   */
+  @Operation(summary = "Complete usernames", description = "List usernames starting with a prefix")
+  @GetMapping("/usernames")
+  public AutocompleteResult completeUsernames(
+      @Parameter(description = "Username prefix") @RequestParam(defaultValue = "") String prefix,
+      @Parameter(description = "Largest number of completions") @RequestParam(defaultValue = "10")
+          int limit) {
+    long start = System.nanoTime();
+    List<AutocompleteMatch> matches = autocompleteIndex.completeUsernames(prefix, limit);
+    return new AutocompleteResult(prefix, matches, (System.nanoTime() - start) / 1000);
+  }
+
+  /**
+   * Complete an employee name prefix API.
+   *
+   * @param prefix The prefix, matched ignoring case from the start of any word of the name
+   * @param limit The largest number of completions
+   * @return The matching employees in alphabetical order
+   */
+  @Operation(
+      summary = "Complete employee names",
+      description = "List employees whose name, from any word on, starts with a prefix")
+  @GetMapping("/employees")
+  public AutocompleteResult completeEmployeeNames(
+      @Parameter(description = "Name prefix") @RequestParam(defaultValue = "") String prefix,
+      @Parameter(description = "Largest number of completions") @RequestParam(defaultValue = "10")
+          int limit) {
+    long start = System.nanoTime();
+    List<AutocompleteMatch> matches = autocompleteIndex.completeEmployeeNames(prefix, limit);
+    return new AutocompleteResult(prefix, matches, (System.nanoTime() - start) / 1000);
+  }
+
+  /**
+   * Autocomplete index statistics API.
+   *
+   * @return Key and node counts and the estimated memory footprint of the index
+   */
+  @Operation(
+      summary = "Autocomplete index statistics",
+      description = "Report the size and estimated memory footprint of the autocomplete index")
+  @GetMapping("/stats")
+  public AutocompleteStats stats() {
+    return autocompleteIndex.getStats();
+  }
+}
@@ -1,8 +1,12 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.cache.CachedJson;
+import com.example.employeemanagement.exception.BadRequestException;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
 import com.example.employeemanagement.model.Department;
 import com.example.employeemanagement.service.DepartmentService;
+import com.example.employeemanagement.service.ListVersions;
+import com.example.employeemanagement.service.SharedListings;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,9 +15,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 /** This class represents the REST API controller for departments. */
@@ -26,24 +32,72 @@ public class DepartmentController {
   /** The department service. */
   @Autowired private DepartmentService departmentService;
 
+  /** The change counters the listing ETags are derived from. */
+  @Autowired private ListVersions listVersions;
+
+  /** The cached, pre-serialized department listings and departments. */
+  @Autowired private SharedListings sharedListings;
+
   private static final Logger logger = LoggerFactory.getLogger(DepartmentController.class);
 
   /**
-   * Get all departments API.
+   * Get all departments API. With {@code view=summary} each department carries its employee count
+   * and, unless {@code includeEmployees=false}, a flat list of its employees. Responses carry an
+   * ETag derived from the department change counter, and a matching {@code If-None-Match} is
+   * answered with 304 before any row is read. Listings are served pre-serialized, gzip-compressed
+   * if the client accepts it, from a cache that committed writes invalidate. Compressed listings
+   * carry the ETag with a {@code -gzip} suffix, and either form is accepted in {@code
+   * If-None-Match}.
    *
-   * @return List of all departments
+   * @param view Listing mode: {@code full} (default) or {@code summary}
+   * @param includeEmployees Whether the summary view includes employee arrays
+   * @param webRequest The current request, used for conditional handling
+   * @return List of all departments or department summaries, or 304 if unchanged
    */
-  @Operation(summary = "Get all departments", description = "Retrieve a list of all departments")
+  @Operation(
+      summary = "Get all departments",
+      description =
+          "Retrieve a list of all departments, or department summaries with employee counts")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Departments found"),
+        @ApiResponse(responseCode = "304", description = "Departments not modified")
+      })
   @GetMapping
-  public List<Department> getAllDepartments() {
+  public ResponseEntity<byte[]> getAllDepartments(
+      @Parameter(description = "Listing mode: full or summary") @RequestParam(defaultValue = "full")
+          String view,
+      @Parameter(description = "Include employee arrays in the summary view")
+          @RequestParam(defaultValue = "true")
+          boolean includeEmployees,
+      ServletWebRequest webRequest) {
+    boolean summary = view.equalsIgnoreCase("summary");
+    if (!summary && !view.equalsIgnoreCase("full")) {
+      throw new BadRequestException("Unsupported view: " + view);
+    }
+    String etag = listVersions.departmentsETag();
+    if (CachedJson.checkNotModified(webRequest, etag)) {
+      return null;
+    }
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok().cacheControl(CacheControl.noCache());
+    String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+    if (summary) {
+      logger.info("Fetching department summaries (includeEmployees: {})", includeEmployees);
+      return sharedListings
+          .getDepartmentSummaries(etag, includeEmployees)
+          .respond(response, etag, acceptEncoding);
+    }
     logger.info("Fetching all departments");
-    return departmentService.getAllDepartments();
+    return sharedListings.getAllDepartments(etag).respond(response, etag, acceptEncoding);
   }
 
   /**
-   * Get department by ID API.
+   * Get department by ID API. The department is served pre-serialized from a cache that committed
+   * writes invalidate.
    *
    * @param id ID of the department to be retrieved
+   * @param acceptEncoding The content codings the client accepts
    * @return Department with the specified ID
    */
   @Operation(
@@ -55,17 +109,16 @@ public class DepartmentController {
         @ApiResponse(responseCode = "404", description = "Department not found")
       })
   @GetMapping("/{id}")
-  public ResponseEntity<Department> getDepartmentById(
-      @Parameter(description = "ID of the department to be retrieved") @PathVariable Long id) {
+  public ResponseEntity<byte[]> getDepartmentById(
+      @Parameter(description = "ID of the department to be retrieved") @PathVariable Long id,
+      @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+          String acceptEncoding) {
     logger.info("Fetching department with id: {}", id);
     try {
-      Department department =
-          departmentService
-              .getDepartmentById(id)
-              .orElseThrow(
-                  () -> new ResourceNotFoundException("Department not found with id: " + id));
-      logger.info("Department found: {} (id: {})", department.getName(), department.getId());
-      return ResponseEntity.ok(department);
+      ResponseEntity<byte[]> department =
+          sharedListings.getDepartmentById(id).respond(ResponseEntity.ok(), acceptEncoding);
+      logger.info("Department found (id: {})", id);
+      return department;
     } catch (Exception e) {
       logger.error("Error fetching department with id {}: {}", id, e.getMessage(), e);
       throw e;
@@ -137,28 +190,34 @@ public class DepartmentController {
    * Delete a department API.
    *
    * @param id ID of the department to be deleted
+   * @param strategy What to do with the department's employees
+   * @param targetDepartmentId ID of the department receiving the employees when reassigning
    * @return Response entity with no content
    */
   @Operation(summary = "Delete a department", description = "Delete a department record by ID")
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "204", description = "Department deleted"),
-        @ApiResponse(responseCode = "404", description = "Department not found")
+        @ApiResponse(responseCode = "404", description = "Department not found"),
+        @ApiResponse(responseCode = "409", description = "Department still has employees")
       })
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> deleteDepartment(
-      @Parameter(description = "ID of the department to be deleted") @PathVariable Long id) {
+      @Parameter(description = "ID of the department to be deleted") @PathVariable Long id,
+      @Parameter(description = "Employee handling: cascade (default), reassign or reject")
+          @RequestParam(required = false)
+          String strategy,
+      @Parameter(description = "Department receiving the employees when reassigning")
+          @RequestParam(required = false)
+          Long targetDepartmentId) {
     String username = SecurityContextHolder.getContext().getAuthentication() != null ? SecurityContextHolder.getContext().getAuthentication().getName() : "anonymous";
     logger.info("User {} is deleting department with id: {}", username, id);
     try {
-      Department department =
-          departmentService
-              .getDepartmentById(id)
-              .orElseThrow(
-                  () -> new ResourceNotFoundException("Department not found with id: " + id));
-
-      departmentService.deleteDepartment(id);
-      logger.info("User {} deleted department with id: {}", username, id);
+      DepartmentService.DeleteStrategy deleteStrategy =
+          DepartmentService.DeleteStrategy.fromParameter(strategy);
+      int affected = departmentService.deleteDepartment(id, deleteStrategy, targetDepartmentId);
+      logger.info("User {} deleted department with id: {} ({} employees {})", username, id, affected,
+          deleteStrategy == DepartmentService.DeleteStrategy.REASSIGN ? "reassigned to " + targetDepartmentId : "deleted");
       return ResponseEntity.noContent().build();
     } catch (Exception e) {
       logger.error("User {} error deleting department with id {}: {}", username, id, e.getMessage(), e);
@@ -1,25 +1,49 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.dto.BulkDeleteRequest;
+import com.example.employeemanagement.dto.BulkMoveRequest;
+import com.example.employeemanagement.dto.BulkResult;
+import com.example.employeemanagement.dto.CursorPage;
+import com.example.employeemanagement.dto.EmployeeChanges;
+import com.example.employeemanagement.dto.EmployeeSearchCriteria;
+import com.example.employeemanagement.dto.ImportReport;
+import com.example.employeemanagement.dto.TrigramIndexStats;
+import com.example.employeemanagement.dto.TypeaheadResult;
+import com.example.employeemanagement.cache.CachedJson;
+import com.example.employeemanagement.exception.BadRequestException;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.index.EmployeeTrigramIndex;
+import com.example.employeemanagement.logging.LogStreamService;
+import com.example.employeemanagement.logging.LogTailReader;
 import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.service.EmployeeChangeFeed;
+import com.example.employeemanagement.service.EmployeeChangeLog;
+import com.example.employeemanagement.service.EmployeeCursor;
+import com.example.employeemanagement.service.EmployeeImportService;
 import com.example.employeemanagement.service.EmployeeService;
+import com.example.employeemanagement.service.ListVersions;
+import com.example.employeemanagement.service.SharedListings;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
+import org.springdoc.api.annotations.ParameterObject;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
 import java.util.List;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
-import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.stream.Collectors;
 import org.springframework.security.core.context.SecurityContextHolder;
 import com.example.employeemanagement.service.DepartmentService;
 import com.example.employeemanagement.model.Department;
@@ -37,17 +61,269 @@ public class EmployeeController {
   /** The department service. */
   @Autowired private DepartmentService departmentService;
 
+  /** The bulk employee import service. */
+  @Autowired private EmployeeImportService employeeImportService;
+
+  /** The change counters the listing ETags are derived from. */
+  @Autowired private ListVersions listVersions;
+
+  /** The cached, pre-serialized full employee list. */
+  @Autowired private SharedListings sharedListings;
+
+  /** The log of committed employee changes. */
+  @Autowired private EmployeeChangeLog employeeChangeLog;
+
+  /** The live feed of committed changes. */
+  @Autowired private EmployeeChangeFeed employeeChangeFeed;
+
+  /** The typeahead index. */
+  @Autowired private EmployeeTrigramIndex employeeTrigramIndex;
+
+  /** The application log reader. */
+  @Autowired private LogTailReader logTailReader;
+
+  /** The live application log stream. */
+  @Autowired private LogStreamService logStreamService;
+
   private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
 
   /**
-   * Get all employees API.
+   * Get all employees API. Without paging parameters the full list is returned; passing any of
+   * {@code sort}, {@code cursor} or {@code size} switches to keyset pagination. Responses carry an
+   * ETag derived from the employee change counter, and a matching {@code If-None-Match} is answered
+   * with 304 before any row is read. The list and its pages are served pre-serialized,
+   * gzip-compressed if the client accepts it, from a cache that committed writes invalidate.
+   * Compressed bodies carry the ETag with a {@code -gzip} suffix, and either form is accepted in
+   * {@code If-None-Match}.
    *
-   * @return List of all employees
+   * @param sort Ordering of the page: {@code id} (default) or {@code lastName}
+   * @param cursor Continuation token from the previous page
+   * @param size Page size, capped by {@code app.employees.page.max-size}
+   * @param webRequest The current request, used for conditional handling
+   * @return List of all employees, or one page of employees, or 304 if unchanged
    */
-  @Operation(summary = "Get all employees", description = "Retrieve a list of all employees")
+  @Operation(
+      summary = "Get all employees",
+      description =
+          "Retrieve a list of all employees, or a keyset-paginated page when sort, cursor or size"
+              + " is given")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Employees found"),
+        @ApiResponse(responseCode = "304", description = "Employees not modified")
+      })
   @GetMapping
-  public List<Employee> getAllEmployees() {
-    return employeeService.getAllEmployees();
+  public ResponseEntity<?> getAllEmployees(
+      @Parameter(description = "Page ordering: id or lastName") @RequestParam(required = false)
+          String sort,
+      @Parameter(description = "Continuation token returned as nextCursor")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+      ServletWebRequest webRequest) {
+    String etag = listVersions.employeesETag();
+    if (CachedJson.checkNotModified(webRequest, etag)) {
+      return null;
+    }
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok().cacheControl(CacheControl.noCache());
+    if (sort == null && cursor == null && size == null) {
+      return sharedListings
+          .getAllEmployees(etag)
+          .respond(response, etag, webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+    return sharedListings
+        .getEmployeePage(etag, EmployeeCursor.Sort.fromParameter(sort), cursor, size)
+        .respond(response, etag, webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+  }
+
+  /**
+   * Search employees API. Filters are combined and results are keyset-paginated like the listing.
+   *
+   * @param criteria Filters: departmentId, minAge, maxAge, lastName and firstName prefixes, and
+   *     emailDomain
+   * @param sort Ordering: id (default) or lastName
+   * @param cursor Continuation token returned as nextCursor by the previous page
+   * @param size Page size
+   * @return Page of matching employees
+   */
+  @Operation(
+      summary = "Search employees",
+      description = "Filter employees by department, age range, name prefix and email domain")
+  @GetMapping("/search")
+  public CursorPage<Employee> searchEmployees(
+      @ParameterObject EmployeeSearchCriteria criteria,
+      @Parameter(description = "Page ordering: id or lastName") @RequestParam(required = false)
+          String sort,
+      @Parameter(description = "Continuation token returned as nextCursor")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Page size") @RequestParam(required = false) Integer size) {
+    return employeeService.searchEmployees(
+        criteria, EmployeeCursor.Sort.fromParameter(sort), cursor, size);
+  }
+
+  /**
+   * Typeahead search API. Matches every query term against first names, last names and emails
+   * using the in-memory trigram index; terms of one or two characters match word prefixes.
+   *
+   * @param q The query
+   * @param limit Largest number of results
+   * @return IDs of the best matching employees
+   */
+  @Operation(
+      summary = "Typeahead search for employees",
+      description = "Rank employees matching a name or email fragment from the in-memory index")
+  @GetMapping("/typeahead")
+  public TypeaheadResult typeahead(
+      @Parameter(description = "Name or email fragment") @RequestParam(defaultValue = "") String q,
+      @Parameter(description = "Largest number of results") @RequestParam(defaultValue = "10")
+          int limit) {
+    long start = System.nanoTime();
+    List<Long> ids = employeeTrigramIndex.search(q, limit);
+    return new TypeaheadResult(q, ids, (System.nanoTime() - start) / 1000);
+  }
+
+  /**
+   * Typeahead index statistics API.
+   *
+   * @return Size and estimated memory footprint of the index
+   */
+  @Operation(
+      summary = "Typeahead index statistics",
+      description = "Report the size and estimated memory footprint of the typeahead index")
+  @GetMapping("/typeahead/stats")
+  public TrigramIndexStats typeaheadStats() {
+    return employeeTrigramIndex.getStats();
+  }
+
+  /**
+   * Employee changes API. Returns the employees created, updated or deleted after a change sequence
+   * number, each once with its latest state. To sync, a client first calls this without {@code
+   * since} to get the current sequence number, then loads the full list, then keeps passing the
+   * returned {@code sequence} back; changes made while loading the list are simply replayed.
+   *
+   * @param since Sequence number of the last change seen; omit for the current sequence number
+   * @param limit Largest number of changes
+   * @return The changes after {@code since}
+   */
+  @Operation(
+      summary = "Get employee changes",
+      description = "Retrieve the employees created, updated or deleted after a sequence number")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Changes found"),
+        @ApiResponse(
+            responseCode = "410",
+            description = "Changes no longer available, reload all employees")
+      })
+  @GetMapping("/changes")
+  public EmployeeChanges getChanges(
+      @Parameter(description = "Sequence number of the last change seen")
+          @RequestParam(required = false)
+          Long since,
+      @Parameter(description = "Largest number of changes") @RequestParam(defaultValue = "1000")
+          int limit) {
+    if (since == null) {
+      long sequence = employeeChangeLog.currentSequence();
+      return new EmployeeChanges(
+          sequence, sequence, false, Collections.emptyList(), Collections.emptyList());
+    }
+    return employeeChangeLog.changesSince(since, limit);
+  }
+
+  /**
+   * Employee change feed API. Streams committed employee and department changes as server-sent
+   * events: {@code employees} with the employee changes, {@code departments} with the department
+   * changes and {@code reset} when the client must reload. On reconnect the changes after the
+   * {@code Last-Event-ID} are sent first.
+   *
+   * @param since Sequence number of the last change the client has, e.g. from the changes API
+   * @param lastEventId Sequence number of the last event received, sent by reconnecting clients
+   * @return The event stream
+   */
+  @Operation(
+      summary = "Stream employee changes",
+      description = "Follow employee and department changes as server-sent events")
+  @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamChanges(
+      @Parameter(description = "Sequence number of the last change the client has")
+          @RequestParam(required = false)
+          Long since,
+      @Parameter(hidden = true) @RequestHeader(value = "Last-Event-ID", required = false)
+          String lastEventId) {
+    if (lastEventId != null && !lastEventId.isEmpty()) {
+      try {
+        since = Long.valueOf(lastEventId);
+      } catch (NumberFormatException e) {
+        throw new BadRequestException("Invalid Last-Event-ID: " + lastEventId);
+      }
+    }
+    return employeeChangeFeed.subscribe(since);
+  }
+
+  /**
+   * Stream all employees API. Rows are written to the response as they are read from the
+   * database, so the export starts immediately and runs in constant memory.
+   *
+   * @param format Output format: {@code ndjson} (default) or {@code json} for a JSON array
+   * @return Streaming response body
+   */
+  @Operation(
+      summary = "Stream all employees",
+      description = "Export all employees as newline-delimited JSON or a JSON array")
+  @GetMapping("/stream")
+  public ResponseEntity<StreamingResponseBody> streamEmployees(
+      @Parameter(description = "Output format: ndjson or json")
+          @RequestParam(defaultValue = "ndjson")
+          String format) {
+    boolean jsonArray;
+    if (format.equalsIgnoreCase("json")) {
+      jsonArray = true;
+    } else if (format.equalsIgnoreCase("ndjson")) {
+      jsonArray = false;
+    } else {
+      throw new BadRequestException("Unsupported format: " + format);
+    }
+    StreamingResponseBody body =
+        out -> {
+          long count = employeeService.exportEmployees(out, jsonArray);
+          logger.info("Streamed {} employees as {}", count, format);
+        };
+    return ResponseEntity.ok()
+        .contentType(jsonArray ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_NDJSON)
+        .body(body);
+  }
+
+  /**
+   * Bulk import employees API. The body is a CSV file with a header row (firstName, lastName,
+   * email, age, departmentId) or newline-delimited JSON objects with the same fields.
+   *
+   * @param format Upload format: csv or ndjson; taken from the content type when absent
+   * @param contentType Content type of the upload
+   * @param body The uploaded file
+   * @return Report of imported and rejected rows
+   * @throws IOException If the upload cannot be read
+   */
+  @Operation(
+      summary = "Bulk import employees",
+      description = "Create employees from a CSV or NDJSON upload, reporting rejected rows")
+  @PostMapping(
+      value = "/import",
+      consumes = {"text/csv", "application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+  public ImportReport importEmployees(
+      @Parameter(description = "Upload format: csv or ndjson") @RequestParam(required = false)
+          String format,
+      @RequestHeader(value = "Content-Type", required = false) String contentType,
+      InputStream body)
+      throws IOException {
+    String username = SecurityContextHolder.getContext().getAuthentication() != null ? SecurityContextHolder.getContext().getAuthentication().getName() : "anonymous";
+    EmployeeImportService.Format importFormat =
+        EmployeeImportService.Format.fromParameter(format, contentType);
+    logger.info("User {} is importing employees from {}", username, importFormat);
+    ImportReport report = employeeImportService.importEmployees(body, importFormat);
+    logger.info("User {} imported {} employees ({} rejected)", username, report.getImported(), report.getRejected());
+    return report;
   }
 
   /**
@@ -87,7 +363,7 @@ public class EmployeeController {
       logger.error("User {} tried to create employee without department", username);
       return ResponseEntity.badRequest().body("Department is required");
     }
-    Department department = departmentService.getDepartmentById(employee.getDepartment().getId())
+    Department department = departmentService.getCachedDepartment(employee.getDepartment().getId())
       .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + employee.getDepartment().getId()));
     employee.setDepartment(department);
     logger.info("User {} is creating employee: {} {} (email: {})", username, employee.getFirstName(), employee.getLastName(), employee.getEmail());
@@ -131,7 +407,7 @@ public class EmployeeController {
         logger.error("User {} tried to update employee without department", username);
         return ResponseEntity.badRequest().body("Department is required");
       }
-      Department department = departmentService.getDepartmentById(employeeDetails.getDepartment().getId())
+      Department department = departmentService.getCachedDepartment(employeeDetails.getDepartment().getId())
         .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + employeeDetails.getDepartment().getId()));
       employee.setDepartment(department);
 
@@ -169,12 +445,9 @@ public class EmployeeController {
     String username = SecurityContextHolder.getContext().getAuthentication() != null ? SecurityContextHolder.getContext().getAuthentication().getName() : "anonymous";
     logger.info("User {} is deleting employee with id: {}", username, id);
     try {
-      Employee employee =
-          employeeService
-              .getEmployeeById(id)
-              .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
-
-      employeeService.deleteEmployee(id);
+      if (!employeeService.deleteEmployee(id)) {
+        throw new ResourceNotFoundException("Employee not found with id: " + id);
+      }
       logger.info("User {} deleted employee with id: {}", username, id);
       return ResponseEntity.noContent().build();
     } catch (Exception e) {
@@ -183,22 +456,87 @@ public class EmployeeController {
     }
   }
 
+  /**
+   * Move many employees to a department API.
+   *
+   * @param request IDs of the employees and the target department
+   * @return Number of employees moved
+   */
+  @Operation(
+      summary = "Move employees to a department",
+      description = "Move many employees to one department in a single transaction")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Employees moved"),
+        @ApiResponse(responseCode = "404", description = "Department not found")
+      })
+  @PostMapping("/bulk/move")
+  public BulkResult moveEmployees(@RequestBody BulkMoveRequest request) {
+    String username = SecurityContextHolder.getContext().getAuthentication() != null ? SecurityContextHolder.getContext().getAuthentication().getName() : "anonymous";
+    logger.info("User {} is moving employees to department {}", username, request.getDepartmentId());
+    int moved = employeeService.moveEmployees(request.getIds(), request.getDepartmentId());
+    logger.info("User {} moved {} employees to department {}", username, moved, request.getDepartmentId());
+    return new BulkResult(moved);
+  }
+
+  /**
+   * Delete many employees API.
+   *
+   * @param request IDs and/or filter criteria of the employees to delete
+   * @return Number of employees deleted
+   */
+  @Operation(
+      summary = "Delete employees",
+      description =
+          "Delete employees by ID list or by department, last name and email domain. A filter"
+              + " without IDs may match at most app.employees.bulk-delete.max-rows employees")
+  @PostMapping("/bulk/delete")
+  public BulkResult deleteEmployees(@RequestBody BulkDeleteRequest request) {
+    String username = SecurityContextHolder.getContext().getAuthentication() != null ? SecurityContextHolder.getContext().getAuthentication().getName() : "anonymous";
+    logger.info(
+        "User {} is deleting employees in bulk ({} ids, department {}, last name {}, email domain {})",
+        username,
+        request.getIds() == null ? 0 : request.getIds().size(),
+        request.getDepartmentId(),
+        request.getLastName(),
+        request.getEmailDomain());
+    int deleted = employeeService.deleteEmployees(request);
+    logger.info("User {} deleted {} employees in bulk", username, deleted);
+    return new BulkResult(deleted);
+  }
+
+  /**
+   * Get the last lines of the application log API.
+   *
+   * @param lines Number of lines to return, capped by {@code app.logs.max-lines}
+   * @return The log lines as plain text
+   */
+  @Operation(summary = "Get application logs", description = "Retrieve the last lines of the application log")
   @GetMapping("/logs")
   public ResponseEntity<String> getLogs(@RequestParam(defaultValue = "200") int lines) {
     try {
-      // Adjust the log file path as needed
-      String logFilePath = "logs/application.log";
-      File logFile = new File(logFilePath);
-      if (!logFile.exists()) {
+      if (!logTailReader.exists()) {
         return ResponseEntity.ok("Log file not found.");
       }
-      List<String> allLines = Files.readAllLines(Paths.get(logFilePath));
-      int from = Math.max(0, allLines.size() - lines);
-      String result = allLines.subList(from, allLines.size()).stream().collect(Collectors.joining("\n"));
+      String result = String.join("\n", logTailReader.tail(lines));
       return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(result);
     } catch (Exception e) {
       logger.error("Error reading logs: {}", e.getMessage(), e);
       return ResponseEntity.status(500).body("Error reading logs: " + e.getMessage());
     }
   }
+
+  /**
+   * Stream application log lines API. Newly appended lines are pushed as {@code lines} events;
+   * a {@code dropped} event reports batches skipped because the client fell behind.
+   *
+   * @param backlog Number of existing lines to send first, capped by {@code app.logs.max-lines}
+   * @return The server-sent event stream
+   * @throws IOException If the backlog cannot be read
+   */
+  @Operation(summary = "Stream application logs", description = "Follow the application log over server-sent events")
+  @GetMapping(value = "/logs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamLogs(@RequestParam(defaultValue = "0") int backlog) throws IOException {
+    return logStreamService.subscribe(backlog);
+  }
 }
@@ -0,0 +1,96 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.storage.ImageStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServletRequest;
+
+/** This class represents the REST API controller serving stored images. */
+@RestController
+@Tag(name = "Image APIs", description = "API Operations related to serving stored images")
+public class ImageController {
+
+  /** Request attribute set by Tomcat when the connector can send files with sendfile. */
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+  /** Request attributes that hand a file region to Tomcat's sendfile. */
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  /** The image store. */
+  @Autowired private ImageStore imageStore;
+
+  /**
+   * Get a stored image API. Images are immutable, so the key doubles as a strong ETag and clients
+   * may cache them indefinitely. Full responses are handed to the connector's sendfile so the bytes
+   * go from the page cache to the socket without passing through the heap; range requests are
+   * answered with partial content.
+   *
+   * @param key Key of the image
+   * @param webRequest The current request, used for conditional handling
+   * @param request The servlet request
+   * @return The image, or 304 if the client already has it
+   * @throws IOException If the image file cannot be read
+   */
+  @Operation(summary = "Get stored image", description = "Retrieve a stored image by its key")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Image found"),
+        @ApiResponse(responseCode = "206", description = "Partial image for a range request"),
+        @ApiResponse(responseCode = "304", description = "Image not modified"),
+        @ApiResponse(responseCode = "404", description = "Image not found")
+      })
+  @GetMapping("/profile-images/{key:.+}")
+  public ResponseEntity<Resource> getImage(
+      @Parameter(description = "Key of the image") @PathVariable String key,
+      ServletWebRequest webRequest,
+      HttpServletRequest request)
+      throws IOException {
+    Path path =
+        imageStore
+            .resolve(key)
+            .orElseThrow(() -> new ResourceNotFoundException("Image not found: " + key));
+
+    String etag = "\"" + key + "\"";
+    if (webRequest.checkNotModified(etag)) {
+      return null;
+    }
+
+    long size = Files.size(path);
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic())
+            .contentType(ImageStore.mediaTypeOf(key))
+            .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+    if (request.getHeader(HttpHeaders.RANGE) == null
+        && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      request.setAttribute(SENDFILE_FILENAME, path.toString());
+      request.setAttribute(SENDFILE_START, 0L);
+      request.setAttribute(SENDFILE_END, size);
+      return response.contentLength(size).build();
+    }
+    return response.body(new FileSystemResource(path));
+  }
+}
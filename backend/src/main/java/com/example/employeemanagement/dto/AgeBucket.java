@@ -0,0 +1,24 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** This class represents one age range of the employee age histogram. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgeBucket {
+
+  /** The label of the range, e.g. {@code 30-39}. */
+  private String label;
+
+  /** The lowest age in the range. */
+  private int minAge;
+
+  /** The highest age in the range, or null if the range is open-ended. */
+  private Integer maxAge;
+
+  /** The number of employees in the range. */
+  private long count;
+}
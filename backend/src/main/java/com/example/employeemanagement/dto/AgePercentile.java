@@ -0,0 +1,18 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** This class represents one percentile of an age distribution. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgePercentile {
+
+  /** The percentile, greater than 0 and at most 100. */
+  private double percentile;
+
+  /** The age at the percentile. */
+  private int age;
+}
@@ -0,0 +1,21 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** This class represents the outcome of recomputing the employee analytics from the database. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsRecompute {
+
+  /** Whether the incrementally maintained aggregates matched the recomputed ones. */
+  private boolean consistent;
+
+  /** The number of employees read. */
+  private long employees;
+
+  /** The duration of the recompute in milliseconds. */
+  private long tookMillis;
+}
@@ -0,0 +1,40 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * This class represents the employee analytics: headcount per department, the age histogram and
+ * average age, and the most common email domains.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsSummary {
+
+  /** Whether the aggregates have been built; until then every figure is zero. */
+  private boolean ready;
+
+  /** The number of employees. */
+  private long employees;
+
+  /** The number of departments. */
+  private long departments;
+
+  /** The average employee age, or 0 without employees. */
+  private double averageAge;
+
+  /** The headcount of every department, largest first. */
+  private List<DepartmentHeadcount> headcounts;
+
+  /** The employee count per age range, youngest first. */
+  private List<AgeBucket> ageHistogram;
+
+  /** The most common email domains, most common first. */
+  private List<DomainCount> emailDomains;
+
+  /** The number of employees whose domain is left out of {@code emailDomains}. */
+  private long otherDomainEmployees;
+}
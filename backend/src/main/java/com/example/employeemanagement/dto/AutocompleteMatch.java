@@ -0,0 +1,18 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** This class represents one completion of an autocomplete prefix. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteMatch {
+
+  /** The ID of the matching user or employee. */
+  private Long id;
+
+  /** The username or employee name. */
+  private String label;
+}
@@ -0,0 +1,22 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/** This class represents the completions of an autocomplete prefix. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteResult {
+
+  /** The prefix as received. */
+  private String prefix;
+
+  /** The completions, in alphabetical order. */
+  private List<AutocompleteMatch> matches;
+
+  /** The time spent reading the index, in microseconds. */
+  private long tookMicros;
+}
@@ -0,0 +1,33 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** This class represents the size of the autocomplete index. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteStats {
+
+  /** Whether the startup scan has finished. */
+  private boolean ready;
+
+  /** Whether entries were skipped because the key budget was reached. */
+  private boolean truncated;
+
+  /** The number of indexed usernames. */
+  private int usernames;
+
+  /** The number of indexed employee name keys. */
+  private int employeeKeys;
+
+  /** The largest number of keys the index holds. */
+  private int maxKeys;
+
+  /** The number of trie nodes. */
+  private int nodes;
+
+  /** The estimated heap used by the index, in bytes. */
+  private long estimatedBytes;
+}
@@ -0,0 +1,28 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * This class represents a request to delete many employees, either by ID or by filter. All given
+ * criteria must match; at least one is required.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteRequest {
+
+  /** The IDs of the employees to delete. */
+  private List<Long> ids;
+
+  /** Delete only employees of this department. */
+  private Long departmentId;
+
+  /** Delete only employees with this last name. */
+  private String lastName;
+
+  /** Delete only employees whose email address is at this domain. */
+  private String emailDomain;
+}
@@ -0,0 +1,19 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/** This class represents a request to move many employees to one department. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMoveRequest {
+
+  /** The IDs of the employees to move. */
+  private List<Long> ids;
+
+  /** The ID of the target department. */
+  private Long departmentId;
+}
@@ -0,0 +1,15 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** This class represents the outcome of a bulk update or delete. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResult {
+
+  /** The number of employees affected. */
+  private int affected;
+}
@@ -0,0 +1,27 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** This class represents the number of employees matching a cohort. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CohortCount {
+
+  /** The ID of the department, or null for all departments. */
+  private Long departmentId;
+
+  /** The lowest age, inclusive. */
+  private int minAge;
+
+  /** The highest age, inclusive. */
+  private int maxAge;
+
+  /** The email domain, or null for any. */
+  private String emailDomain;
+
+  /** The number of matching employees. */
+  private long count;
+}
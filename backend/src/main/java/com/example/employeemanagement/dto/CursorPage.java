@@ -0,0 +1,27 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * This class represents one page of a keyset-paginated listing. The next page is requested by
+ * passing {@code nextCursor} back as the {@code cursor} parameter; it is null on the last page.
+ *
+ * @param <T> The type of the page items
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  /** The items on this page. */
+  private List<T> content;
+
+  /** The number of items on this page. */
+  private int size;
+
+  /** The opaque continuation token for the next page, or null if there is none. */
+  private String nextCursor;
+}
@@ -0,0 +1,32 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** This class represents the age distribution of the employees of one department. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentAgeStats {
+
+  /** The ID of the department, or null for employees without one. */
+  private Long departmentId;
+
+  /** The number of employees in the department. */
+  private long employees;
+
+  /** The lowest age. */
+  private int minAge;
+
+  /** The highest age. */
+  private int maxAge;
+
+  /** The average age. */
+  private double averageAge;
+
+  /** The requested percentiles, in the order requested. */
+  private List<AgePercentile> percentiles;
+}
@@ -0,0 +1,21 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** This class represents the number of employees in one department. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentHeadcount {
+
+  /** The ID of the department, or null for employees without one. */
+  private Long departmentId;
+
+  /** The name of the department, or null for employees without one. */
+  private String departmentName;
+
+  /** The number of employees in the department. */
+  private long headcount;
+}
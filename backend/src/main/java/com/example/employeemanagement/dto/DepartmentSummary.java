@@ -0,0 +1,41 @@
+package com.example.employeemanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * This class represents a department together with its headcount, and optionally its employees.
+ * The employee list is omitted from the JSON when it was not requested.
+ */
+@Data
+@NoArgsConstructor
+public class DepartmentSummary {
+
+  /** The ID of the department. */
+  private Long id;
+
+  /** The name of the department. */
+  private String name;
+
+  /** The number of employees in the department. */
+  private long employeeCount;
+
+  /** The employees of the department, or null if they were not requested. */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private List<EmployeeSummary> employees;
+
+  /**
+   * Constructor used by the summary projection query.
+   *
+   * @param id The ID of the department
+   * @param name The name of the department
+   * @param employeeCount The number of employees in the department
+   */
+  public DepartmentSummary(Long id, String name, long employeeCount) {
+    this.id = id;
+    this.name = name;
+    this.employeeCount = employeeCount;
+  }
+}
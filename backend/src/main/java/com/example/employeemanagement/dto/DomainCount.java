@@ -0,0 +1,18 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** This class represents the number of employees with emails at one domain. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DomainCount {
+
+  /** The lower-cased email domain. */
+  private String domain;
+
+  /** The number of employees with emails at the domain. */
+  private long count;
+}
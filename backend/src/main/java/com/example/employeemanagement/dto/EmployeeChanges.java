@@ -0,0 +1,33 @@
+package com.example.employeemanagement.dto;
+
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * This class represents the employee changes after a change sequence number. Each employee appears
+ * at most once, with its latest state or as a tombstone in {@code deleted}. The next request passes
+ * {@code sequence} back as {@code since}; while {@code hasMore} is set it should do so right away.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChanges {
+
+  /** The sequence number the changes follow. */
+  private long since;
+
+  /** The sequence number of the last change included. */
+  private long sequence;
+
+  /** Whether further changes were left out by the limit. */
+  private boolean hasMore;
+
+  /** The latest state of the created or updated employees. */
+  private List<EmployeeSnapshot> upserted;
+
+  /** The IDs of the deleted employees. */
+  private List<Long> deleted;
+}
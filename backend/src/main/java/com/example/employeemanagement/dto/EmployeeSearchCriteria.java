@@ -0,0 +1,30 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** This class represents the filters of an employee search. All given filters must match. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSearchCriteria {
+
+  /** Only employees of this department. */
+  private Long departmentId;
+
+  /** Only employees at least this old. */
+  private Integer minAge;
+
+  /** Only employees at most this old. */
+  private Integer maxAge;
+
+  /** Only employees whose last name starts with this prefix (case-sensitive). */
+  private String lastName;
+
+  /** Only employees whose first name starts with this prefix (case-sensitive). */
+  private String firstName;
+
+  /** Only employees whose email address is at this domain. */
+  private String emailDomain;
+}
@@ -0,0 +1,33 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This class represents a flat, read-only view of an employee. Unlike the entity it carries the
+ * department ID directly, so it can be loaded by a projection query without touching departments.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSummary {
+
+  /** The ID of the employee. */
+  private Long id;
+
+  /** The first name of the employee. */
+  private String firstName;
+
+  /** The last name of the employee. */
+  private String lastName;
+
+  /** The email of the employee. */
+  private String email;
+
+  /** The age of the employee. */
+  private int age;
+
+  /** The ID of the employee's department. */
+  private Long departmentId;
+}
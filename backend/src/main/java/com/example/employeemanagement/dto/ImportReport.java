@@ -0,0 +1,28 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * This class represents the outcome of a bulk import. Only the first rejected rows are listed in
+ * {@code errors}; {@code rejected} always holds the full count.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+
+  /** The number of data rows read from the file. */
+  private long received;
+
+  /** The number of rows stored. */
+  private long imported;
+
+  /** The number of rows rejected. */
+  private long rejected;
+
+  /** The rejected rows, in file order, up to the configured limit. */
+  private List<ImportRowError> errors;
+}
@@ -0,0 +1,18 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** This class represents one rejected row of a bulk import. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+
+  /** The line number of the row in the uploaded file, starting at 1. */
+  private long line;
+
+  /** Why the row was rejected. */
+  private String message;
+}
@@ -0,0 +1,36 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** This class represents the size and estimated memory footprint of the typeahead index. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrigramIndexStats {
+
+  /** Whether the startup build has finished. */
+  private boolean ready;
+
+  /** The number of employees indexed. */
+  private long documents;
+
+  /** The number of deleted or superseded documents not yet reclaimed. */
+  private long deadDocuments;
+
+  /** The number of distinct grams. */
+  private long grams;
+
+  /** The number of posting entries across all grams. */
+  private long postings;
+
+  /** The estimated bytes held by the gram map and posting lists. */
+  private long postingBytes;
+
+  /** The estimated bytes held by the document tables. */
+  private long documentBytes;
+
+  /** The estimated total bytes held by the index. */
+  private long estimatedBytes;
+}
@@ -0,0 +1,22 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/** This class represents the ranked result of a typeahead search. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TypeaheadResult {
+
+  /** The query as received. */
+  private String query;
+
+  /** The IDs of the matching employees, best match first. */
+  private List<Long> ids;
+
+  /** The time spent searching the index, in microseconds. */
+  private long tookMicros;
+}
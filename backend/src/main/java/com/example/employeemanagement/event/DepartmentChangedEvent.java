@@ -0,0 +1,42 @@
+package com.example.employeemanagement.event;
+
+import lombok.Value;
+
+/**
+ * This class represents a department write. It is published when a department is created, renamed
+ * or deleted; listeners registered with {@code @TransactionalEventListener} see it only once the
+ * write is committed.
+ */
+@Value
+public class DepartmentChangedEvent {
+
+  /** The department ID. */
+  Long id;
+
+  /** The new department name, or null if the department was deleted. */
+  String name;
+
+  /** Whether the department was deleted. */
+  boolean deleted;
+
+  /**
+   * Create an event for a created or updated department.
+   *
+   * @param id The department ID
+   * @param name The new department name
+   * @return The event
+   */
+  public static DepartmentChangedEvent upserted(Long id, String name) {
+    return new DepartmentChangedEvent(id, name, false);
+  }
+
+  /**
+   * Create an event for a deleted department.
+   *
+   * @param id The department ID
+   * @return The event
+   */
+  public static DepartmentChangedEvent deleted(Long id) {
+    return new DepartmentChangedEvent(id, null, true);
+  }
+}
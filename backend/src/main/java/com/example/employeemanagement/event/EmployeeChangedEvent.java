@@ -0,0 +1,50 @@
+package com.example.employeemanagement.event;
+
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents a set of employee writes. It is published by every service that creates,
+ * updates or deletes employees; listeners registered with {@code @TransactionalEventListener} see
+ * it only once the writes are committed.
+ */
+@Value
+public class EmployeeChangedEvent {
+
+  /** The new state of the created or updated employees. */
+  List<EmployeeSnapshot> upserted;
+
+  /** The IDs of the deleted employees. */
+  List<Long> deleted;
+
+  /**
+   * Create an event for created or updated employees.
+   *
+   * @param upserted The new state of the employees
+   * @return The event
+   */
+  public static EmployeeChangedEvent upserted(List<EmployeeSnapshot> upserted) {
+    return new EmployeeChangedEvent(upserted, Collections.emptyList());
+  }
+
+  /**
+   * Create an event for deleted employees.
+   *
+   * @param deleted The IDs of the employees
+   * @return The event
+   */
+  public static EmployeeChangedEvent deleted(List<Long> deleted) {
+    return new EmployeeChangedEvent(Collections.emptyList(), deleted);
+  }
+
+  /**
+   * Check whether the event carries no changes.
+   *
+   * @return Whether the event is empty
+   */
+  public boolean isEmpty() {
+    return upserted.isEmpty() && deleted.isEmpty();
+  }
+}
@@ -0,0 +1,47 @@
+package com.example.employeemanagement.event;
+
+import com.example.employeemanagement.model.Employee;
+import lombok.Value;
+
+/**
+ * This class represents the scalar state of an employee at the time of a change. Snapshots are
+ * detached from the persistence context, so listeners can keep them after the transaction ends.
+ */
+@Value
+public class EmployeeSnapshot {
+
+  /** The ID of the employee. */
+  Long id;
+
+  /** The first name of the employee. */
+  String firstName;
+
+  /** The last name of the employee. */
+  String lastName;
+
+  /** The email of the employee. */
+  String email;
+
+  /** The age of the employee. */
+  int age;
+
+  /** The ID of the employee's department. */
+  Long departmentId;
+
+  /**
+   * Take a snapshot of an employee. The department is read by ID only, so an uninitialized
+   * department proxy is not loaded.
+   *
+   * @param employee The employee
+   * @return The snapshot
+   */
+  public static EmployeeSnapshot of(Employee employee) {
+    return new EmployeeSnapshot(
+        employee.getId(),
+        employee.getFirstName(),
+        employee.getLastName(),
+        employee.getEmail(),
+        employee.getAge(),
+        employee.getDepartment() == null ? null : employee.getDepartment().getId());
+  }
+}
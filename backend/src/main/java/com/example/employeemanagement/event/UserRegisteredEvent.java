@@ -0,0 +1,14 @@
+package com.example.employeemanagement.event;
+
+import lombok.Value;
+
+/** This class represents the registration of a new user, published once the user is saved. */
+@Value
+public class UserRegisteredEvent {
+
+  /** The user ID. */
+  Long id;
+
+  /** The username. */
+  String username;
+}
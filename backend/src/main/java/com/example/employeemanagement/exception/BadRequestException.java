@@ -0,0 +1,18 @@
+package com.example.employeemanagement.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** This class represents a custom exception for when a request is malformed or out of range. */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class BadRequestException extends RuntimeException {
+
+  /**
+   * Constructor for the exception.
+   *
+   * @param message The exception's message
+   */
+  public BadRequestException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,21 @@
+package com.example.employeemanagement.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class represents a custom exception for when a request conflicts with the current state of
+ * a resource.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class ConflictException extends RuntimeException {
+
+  /**
+   * Constructor for the exception.
+   *
+   * @param message The exception's message
+   */
+  public ConflictException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,21 @@
+package com.example.employeemanagement.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class represents a custom exception for when a requested state is no longer available, so
+ * the client must start over from the current state.
+ */
+@ResponseStatus(value = HttpStatus.GONE)
+public class GoneException extends RuntimeException {
+
+  /**
+   * Constructor for the exception.
+   *
+   * @param message The exception's message
+   */
+  public GoneException(String message) {
+    super(message);
+  }
+}
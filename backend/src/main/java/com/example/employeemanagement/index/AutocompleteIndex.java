@@ -0,0 +1,331 @@
+package com.example.employeemanagement.index;
+
+import com.example.employeemanagement.dto.AutocompleteMatch;
+import com.example.employeemanagement.dto.AutocompleteStats;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.event.UserRegisteredEvent;
+import com.example.employeemanagement.repository.UserIdentity;
+import com.example.employeemanagement.service.SnapshotScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class is an in-memory prefix index over usernames and employee names, backing autocomplete
+ * and username existence checks without database queries.
+ *
+ * <p>Usernames and employee names live in two {@link RadixTrie radix tries} keyed by their
+ * lower-cased text. An employee is indexed under its full name and under the rest of the name from
+ * each later word, so "Ada Lovelace" completes both "ada l" and "lov". The index is built at
+ * startup and kept current from {@link EmployeeChangedEvent} and {@link UserRegisteredEvent}. Once
+ * {@code app.autocomplete.max-keys} keys are held, further keys are skipped and the index reports
+ * itself truncated.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class AutocompleteIndex implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(AutocompleteIndex.class);
+
+  /** The largest number of completions a lookup returns. */
+  public static final int MAX_LIMIT = 100;
+
+  /** The largest number of keys held across both tries. */
+  @Value("${app.autocomplete.max-keys:1000000}")
+  private int maxKeys = 1_000_000;
+
+  /** The scanner reading all users and employees once at startup. */
+  @Autowired private SnapshotScanner snapshotScanner;
+
+  /** The usernames, each with the user ID and the username as typed. */
+  private final RadixTrie usernames = new RadixTrie();
+
+  /** The employee name keys, each with the employee ID and full name. */
+  private final RadixTrie employeeNames = new RadixTrie();
+
+  /** The indexed full name of each employee, needed to remove its keys. */
+  private final Map<Long, String> employeeNameOf = new HashMap<>();
+
+  /** Whether keys were skipped because the budget was reached. */
+  private boolean truncated;
+
+  /** Whether the startup scan is running. */
+  private boolean building;
+
+  /** Whether the startup scan has finished. */
+  private volatile boolean ready;
+
+  /** The employees changed by events during the startup scan, which the scan must not overwrite. */
+  private final Set<Long> changedWhileBuilding = new HashSet<>();
+
+  /** The lock guarding all index state. */
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * Build the index from the database at startup.
+   *
+   * @param args The application arguments
+   */
+  @Override
+  public void run(ApplicationArguments args) {
+    long start = System.nanoTime();
+    lock.writeLock().lock();
+    try {
+      building = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    snapshotScanner.scanUsers(
+        batch ->
+            withWriteLock(
+                () -> {
+                  for (UserIdentity user : batch) {
+                    addUsername(user.getId(), user.getUsername());
+                  }
+                }));
+    snapshotScanner.scanEmployees(
+        batch ->
+            withWriteLock(
+                () -> {
+                  for (EmployeeSnapshot employee : batch) {
+                    if (!changedWhileBuilding.contains(employee.getId())) {
+                      addEmployee(employee);
+                    }
+                  }
+                }));
+    lock.writeLock().lock();
+    try {
+      building = false;
+      changedWhileBuilding.clear();
+      ready = true;
+      logger.info(
+          "Indexed {} usernames and {} employee name keys for autocomplete in {} ms",
+          usernames.size(),
+          employeeNames.size(),
+          (System.nanoTime() - start) / 1_000_000);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Apply committed employee writes to the index.
+   *
+   * @param event The writes
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeesChanged(EmployeeChangedEvent event) {
+    withWriteLock(
+        () -> {
+          for (Long id : event.getDeleted()) {
+            removeEmployee(id);
+            if (building) {
+              changedWhileBuilding.add(id);
+            }
+          }
+          for (EmployeeSnapshot employee : event.getUpserted()) {
+            removeEmployee(employee.getId());
+            addEmployee(employee);
+            if (building) {
+              changedWhileBuilding.add(employee.getId());
+            }
+          }
+        });
+  }
+
+  /**
+   * Add a newly registered user to the index.
+   *
+   * @param event The registration
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserRegistered(UserRegisteredEvent event) {
+    withWriteLock(() -> addUsername(event.getId(), event.getUsername()));
+  }
+
+  /**
+   * Complete a username prefix, ignoring case.
+   *
+   * @param prefix The prefix
+   * @param limit The largest number of completions, capped at {@value #MAX_LIMIT}
+   * @return The matching users in alphabetical order
+   */
+  public List<AutocompleteMatch> completeUsernames(String prefix, int limit) {
+    return complete(usernames, prefix, limit);
+  }
+
+  /**
+   * Complete an employee name prefix, ignoring case. The prefix may start at any word of the name.
+   *
+   * @param prefix The prefix
+   * @param limit The largest number of completions, capped at {@value #MAX_LIMIT}
+   * @return The matching employees in alphabetical order of the matched key
+   */
+  public List<AutocompleteMatch> completeEmployeeNames(String prefix, int limit) {
+    return complete(employeeNames, prefix, limit);
+  }
+
+  /**
+   * Check whether a username is known to exist. Usernames are never renamed or removed, so a hit
+   * is definite; a miss is not, since the index may be truncated or still building, and callers
+   * fall back to the database.
+   *
+   * @param username The username, compared exactly
+   * @return Whether the username is in the index
+   */
+  public boolean hasUsername(String username) {
+    if (username == null || username.isEmpty()) {
+      return false;
+    }
+    lock.readLock().lock();
+    try {
+      return usernames.contains(username.toLowerCase(Locale.ROOT), username);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Report the size of the index.
+   *
+   * @return The index statistics
+   */
+  public AutocompleteStats getStats() {
+    lock.readLock().lock();
+    try {
+      // Map node, boxed key and reference per employee on top of the tries themselves.
+      long bytes =
+          usernames.estimateBytes() + employeeNames.estimateBytes() + employeeNameOf.size() * 56L;
+      return new AutocompleteStats(
+          ready,
+          truncated,
+          usernames.size(),
+          employeeNames.size(),
+          maxKeys,
+          usernames.nodeCount() + employeeNames.nodeCount(),
+          bytes);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private List<AutocompleteMatch> complete(RadixTrie trie, String prefix, int limit) {
+    String key = normalize(prefix);
+    int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+    List<AutocompleteMatch> matches = new ArrayList<>();
+    if (key.isEmpty()) {
+      return matches;
+    }
+    Set<Long> seen = new HashSet<>();
+    lock.readLock().lock();
+    try {
+      trie.visitPrefix(
+          key,
+          (id, value) -> {
+            if (seen.add(id)) {
+              matches.add(new AutocompleteMatch(id, value));
+            }
+            return matches.size() < max;
+          });
+    } finally {
+      lock.readLock().unlock();
+    }
+    return matches;
+  }
+
+  private void addUsername(Long id, String username) {
+    if (username == null || username.isEmpty() || !hasBudget()) {
+      return;
+    }
+    usernames.add(username.toLowerCase(Locale.ROOT), id, username);
+  }
+
+  private void addEmployee(EmployeeSnapshot employee) {
+    String name = displayName(employee.getFirstName(), employee.getLastName());
+    if (name.isEmpty()) {
+      return;
+    }
+    List<String> keys = keysOf(name);
+    if (!hasBudget(keys.size())) {
+      return;
+    }
+    for (String key : keys) {
+      employeeNames.add(key, employee.getId(), name);
+    }
+    employeeNameOf.put(employee.getId(), name);
+  }
+
+  private void removeEmployee(Long id) {
+    String name = employeeNameOf.remove(id);
+    if (name != null) {
+      for (String key : keysOf(name)) {
+        employeeNames.remove(key, id);
+      }
+    }
+  }
+
+  private boolean hasBudget() {
+    return hasBudget(1);
+  }
+
+  private boolean hasBudget(int keys) {
+    if (usernames.size() + employeeNames.size() + keys <= maxKeys) {
+      return true;
+    }
+    if (!truncated) {
+      truncated = true;
+      logger.warn("Autocomplete index reached {} keys; further names are not indexed", maxKeys);
+    }
+    return false;
+  }
+
+  private void withWriteLock(Runnable action) {
+    lock.writeLock().lock();
+    try {
+      action.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Join name parts with single spaces. */
+  private static String displayName(String firstName, String lastName) {
+    String joined = (firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName);
+    return joined.trim().replaceAll("\\s+", " ");
+  }
+
+  /** Get the keys of a display name: the lower-cased name from each word on. */
+  private static List<String> keysOf(String name) {
+    String lower = name.toLowerCase(Locale.ROOT);
+    List<String> keys = new ArrayList<>();
+    keys.add(lower);
+    for (int i = lower.indexOf(' '); i >= 0; i = lower.indexOf(' ', i + 1)) {
+      keys.add(lower.substring(i + 1));
+    }
+    return keys;
+  }
+
+  private static String normalize(String prefix) {
+    if (prefix == null) {
+      return "";
+    }
+    return prefix.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,522 @@
+package com.example.employeemanagement.index;
+
+import com.example.employeemanagement.dto.TrigramIndexStats;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.service.SnapshotScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * This class is an in-memory trigram index over employee first names, last names and emails, used
+ * for typeahead search without {@code LIKE '%x%'} table scans.
+ *
+ * <p>Every employee is a document with a dense document number. Each field contributes the
+ * trigrams of its lower-cased text, plus two word-start grams per word (a marker followed by the
+ * first one and two characters), so terms of one or two characters match word prefixes and longer
+ * terms match anywhere. Posting lists are sorted arrays of document numbers; a query intersects the
+ * lists of its grams and ranks word-prefix matches above infix matches.
+ *
+ * <p>Updates never rewrite postings in place: the old document is marked dead and the new state
+ * is appended under a new number, so posting lists stay sorted. Once dead documents make up a
+ * quarter of the index they are purged and the live documents are renumbered densely in their
+ * existing order, so memory stays proportional to the number of employees however often they
+ * change.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class EmployeeTrigramIndex implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(EmployeeTrigramIndex.class);
+
+  /** The character marking the start of a word in word-start grams. */
+  private static final char WORD_START = '\u0001';
+
+  /** The smallest number of dead documents worth purging. */
+  private static final int MIN_PURGE = 1024;
+
+  /** The largest number of results a search returns. */
+  public static final int MAX_LIMIT = 100;
+
+  /** The scanner reading all employees once at startup. */
+  @Autowired private SnapshotScanner snapshotScanner;
+
+  /** The posting list of each gram. */
+  private final Map<Long, Postings> postings = new HashMap<>();
+
+  /** The employee ID of each document number. */
+  private long[] employeeIds = new long[1024];
+
+  /** The number of document numbers assigned. */
+  private int documents;
+
+  /** The live document number of each indexed employee. */
+  private final Map<Long, Integer> documentOf = new HashMap<>();
+
+  /** The document numbers of deleted or superseded documents. */
+  private BitSet dead = new BitSet();
+
+  /** The number of dead documents still present in the postings. */
+  private int deadInPostings;
+
+  /** Whether the startup scan is running. */
+  private boolean building;
+
+  /** Whether the startup scan has finished. */
+  private volatile boolean ready;
+
+  /** The employees changed by events during the startup scan, which the scan must not overwrite. */
+  private final Set<Long> changedWhileBuilding = new HashSet<>();
+
+  /** The lock guarding all index state. */
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * Build the index from the database at startup.
+   *
+   * @param args The application arguments
+   */
+  @Override
+  public void run(ApplicationArguments args) {
+    long start = System.nanoTime();
+    lock.writeLock().lock();
+    try {
+      building = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    snapshotScanner.scanEmployees(this::addScanned);
+    int indexed;
+    lock.writeLock().lock();
+    try {
+      building = false;
+      changedWhileBuilding.clear();
+      ready = true;
+      indexed = documentOf.size();
+    } finally {
+      lock.writeLock().unlock();
+    }
+    logger.info(
+        "Indexed {} employees for typeahead in {} ms",
+        indexed,
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Apply committed employee writes to the index.
+   *
+   * @param event The writes
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeesChanged(EmployeeChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      for (Long id : event.getDeleted()) {
+        remove(id);
+        if (building) {
+          changedWhileBuilding.add(id);
+        }
+      }
+      for (EmployeeSnapshot employee : event.getUpserted()) {
+        remove(employee.getId());
+        add(employee);
+        if (building) {
+          changedWhileBuilding.add(employee.getId());
+        }
+      }
+      purgeIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Find the employees best matching a query. Every whitespace-separated term must occur in one
+   * of the fields. Employees where every term starts a word come first, then the others; within
+   * each group older employees come first.
+   *
+   * <p>Both groups are read by intersecting the posting lists in document order and stop as soon
+   * as enough results are found, so broad queries cost no more than selective ones.
+   *
+   * @param query The query
+   * @param limit The largest number of results, capped at {@value #MAX_LIMIT}
+   * @return IDs of the matching employees, best match first
+   */
+  public List<Long> search(String query, int limit) {
+    List<Term> terms = parse(query);
+    int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+    if (terms.isEmpty()) {
+      return Collections.emptyList();
+    }
+    lock.readLock().lock();
+    try {
+      List<Postings> required = new ArrayList<>();
+      List<Postings> wordStarts = new ArrayList<>();
+      for (Term term : terms) {
+        for (long gram : term.required) {
+          Postings list = postings.get(gram);
+          if (list == null) {
+            return Collections.emptyList();
+          }
+          required.add(list);
+        }
+        if (term.wordStart != 0) {
+          Postings list = postings.get(term.wordStart);
+          if (list != null) {
+            wordStarts.add(list);
+          }
+        }
+      }
+      int[] found = new int[max];
+      int count = 0;
+      long longTerms = terms.stream().filter(term -> term.wordStart != 0).count();
+      // A term whose word-start gram is missing cannot match at a word start.
+      if (longTerms > 0 && wordStarts.size() == longTerms) {
+        List<Postings> atWordStart = new ArrayList<>(required);
+        atWordStart.addAll(wordStarts);
+        count = intersect(atWordStart, found, 0, 0);
+      }
+      if (count < max) {
+        count = intersect(required, found, count, count);
+      }
+      List<Long> ids = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        ids.add(employeeIds[found[i]]);
+      }
+      return ids;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Append the live documents present in every list to {@code found}, in ascending order, until
+   * it is full. Leapfrogs through the lists: each list skips ahead to the largest document seen.
+   *
+   * @param lists The posting lists to intersect
+   * @param found The results, filled from {@code count}
+   * @param count The number of results already present
+   * @param excluded The number of leading results that must not be added again
+   * @return The new number of results
+   */
+  private int intersect(List<Postings> lists, int[] found, int count, int excluded) {
+    Postings[] sorted = lists.toArray(new Postings[0]);
+    Arrays.sort(sorted, (a, b) -> Integer.compare(a.size, b.size));
+    if (sorted[0].size == 0) {
+      return count;
+    }
+    int[] positions = new int[sorted.length];
+    int candidate = sorted[0].docs[0];
+    int agreed = 0;
+    int i = 0;
+    while (count < found.length) {
+      Postings list = sorted[i];
+      int position = list.seek(positions[i], candidate);
+      if (position == list.size) {
+        break;
+      }
+      positions[i] = position;
+      int doc = list.docs[position];
+      if (doc == candidate) {
+        agreed++;
+      } else {
+        candidate = doc;
+        agreed = 1;
+      }
+      if (agreed == sorted.length) {
+        if (!dead.get(candidate) && !contains(found, excluded, candidate)) {
+          found[count++] = candidate;
+        }
+        candidate++;
+        agreed = 0;
+      }
+      i = (i + 1) % sorted.length;
+    }
+    return count;
+  }
+
+  private static boolean contains(int[] values, int length, int value) {
+    for (int i = 0; i < length; i++) {
+      if (values[i] == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Report the size of the index. Byte counts are estimates for a 64-bit JVM with compressed
+   * references.
+   *
+   * @return The index statistics
+   */
+  public TrigramIndexStats getStats() {
+    lock.readLock().lock();
+    try {
+      long entries = 0;
+      long capacity = 0;
+      for (Postings list : postings.values()) {
+        entries += list.size;
+        capacity += list.docs.length;
+      }
+      // Map node, boxed key, postings object and array header per gram; four bytes per slot.
+      long postingBytes = postings.size() * 88L + capacity * 4;
+      // Map node, boxed key and boxed value per employee; eight bytes per document number.
+      long documentBytes = documentOf.size() * 64L + employeeIds.length * 8L + dead.size() / 8;
+      return new TrigramIndexStats(
+          ready,
+          documentOf.size(),
+          deadInPostings,
+          postings.size(),
+          entries,
+          postingBytes,
+          documentBytes,
+          postingBytes + documentBytes);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Add scanned rows, skipping employees whose newer state already arrived through events. */
+  private void addScanned(List<EmployeeSnapshot> batch) {
+    lock.writeLock().lock();
+    try {
+      for (EmployeeSnapshot employee : batch) {
+        if (!changedWhileBuilding.contains(employee.getId())
+            && !documentOf.containsKey(employee.getId())) {
+          add(employee);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Index an employee under a new document number. */
+  private void add(EmployeeSnapshot employee) {
+    int doc = documents++;
+    if (doc == employeeIds.length) {
+      employeeIds = Arrays.copyOf(employeeIds, employeeIds.length * 2);
+    }
+    employeeIds[doc] = employee.getId();
+    documentOf.put(employee.getId(), doc);
+    GramBuffer grams = new GramBuffer();
+    fieldGrams(employee.getFirstName(), grams);
+    fieldGrams(employee.getLastName(), grams);
+    fieldGrams(employee.getEmail(), grams);
+    long[] distinct = grams.distinct();
+    for (long gram : distinct) {
+      postings.computeIfAbsent(gram, g -> new Postings()).add(doc);
+    }
+  }
+
+  /** Mark the document of an employee dead. */
+  private void remove(Long id) {
+    Integer doc = documentOf.remove(id);
+    if (doc != null) {
+      dead.set(doc);
+      deadInPostings++;
+    }
+  }
+
+  /**
+   * Purge dead documents once they are a quarter of the index, renumbering the live documents
+   * densely. Renumbering keeps their order, so posting lists stay sorted and ranking is unchanged.
+   */
+  private void purgeIfNeeded() {
+    // Dead documents are at least a quarter of all documents when there are a third as many as
+    // live ones.
+    if (deadInPostings < MIN_PURGE || deadInPostings * 3L < documentOf.size()) {
+      return;
+    }
+    int[] renumbered = new int[documents];
+    int live = 0;
+    for (int doc = 0; doc < documents; doc++) {
+      renumbered[doc] = dead.get(doc) ? -1 : live++;
+    }
+    Iterator<Postings> lists = postings.values().iterator();
+    while (lists.hasNext()) {
+      Postings list = lists.next();
+      list.renumber(renumbered);
+      if (list.size == 0) {
+        lists.remove();
+      }
+    }
+    long[] liveIds = new long[Math.max(1024, live + (live >> 1))];
+    for (int doc = 0; doc < documents; doc++) {
+      if (renumbered[doc] >= 0) {
+        liveIds[renumbered[doc]] = employeeIds[doc];
+      }
+    }
+    documentOf.replaceAll((id, doc) -> renumbered[doc]);
+    employeeIds = liveIds;
+    documents = live;
+    dead = new BitSet();
+    deadInPostings = 0;
+  }
+
+  /** Emit the grams of one field: its trigrams and the word-start grams of each word. */
+  static void fieldGrams(String value, LongConsumer sink) {
+    if (value == null || value.isEmpty()) {
+      return;
+    }
+    String text = value.toLowerCase(Locale.ROOT);
+    int length = text.length();
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (Character.isLetterOrDigit(c)
+          && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))) {
+        sink.accept(gram(WORD_START, WORD_START, c));
+        if (i + 1 < length) {
+          sink.accept(gram(WORD_START, c, text.charAt(i + 1)));
+        }
+      }
+      if (i + 2 < length) {
+        sink.accept(gram(c, text.charAt(i + 1), text.charAt(i + 2)));
+      }
+    }
+  }
+
+  /** Split a query into terms and compute the grams each term requires. */
+  private static List<Term> parse(String query) {
+    List<Term> terms = new ArrayList<>();
+    if (query == null) {
+      return terms;
+    }
+    for (String word : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+      if (word.isEmpty()) {
+        continue;
+      }
+      Term term = new Term();
+      if (word.length() == 1) {
+        term.required = new long[] {gram(WORD_START, WORD_START, word.charAt(0))};
+      } else if (word.length() == 2) {
+        term.required = new long[] {gram(WORD_START, word.charAt(0), word.charAt(1))};
+      } else {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 < word.length(); i++) {
+          grams.add(gram(word.charAt(i), word.charAt(i + 1), word.charAt(i + 2)));
+        }
+        term.required = grams.stream().mapToLong(Long::longValue).toArray();
+        term.wordStart = gram(WORD_START, word.charAt(0), word.charAt(1));
+      }
+      terms.add(term);
+    }
+    return terms;
+  }
+
+  private static long gram(char a, char b, char c) {
+    return ((long) a << 32) | ((long) b << 16) | c;
+  }
+
+  /** A growable buffer of the grams of one document. */
+  private static final class GramBuffer implements LongConsumer {
+
+    private long[] grams = new long[64];
+    private int size;
+
+    @Override
+    public void accept(long gram) {
+      if (size == grams.length) {
+        grams = Arrays.copyOf(grams, size * 2);
+      }
+      grams[size++] = gram;
+    }
+
+    /** Get the grams without duplicates. */
+    private long[] distinct() {
+      Arrays.sort(grams, 0, size);
+      int unique = 0;
+      for (int i = 0; i < size; i++) {
+        if (unique == 0 || grams[i] != grams[unique - 1]) {
+          grams[unique++] = grams[i];
+        }
+      }
+      return Arrays.copyOf(grams, unique);
+    }
+  }
+
+  /** A query term: the grams a document must contain, and its word-start gram used for ranking. */
+  private static final class Term {
+    private long[] required;
+    private long wordStart;
+  }
+
+  /** A growable, ascending array of document numbers. */
+  private static final class Postings {
+
+    private int[] docs = new int[4];
+    private int size;
+
+    /** Append a document number, which is always larger than those already present. */
+    private void add(int doc) {
+      if (size == docs.length) {
+        docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+      }
+      docs[size++] = doc;
+    }
+
+    /**
+     * Find the first position at or after {@code from} holding a document number of at least
+     * {@code target}, galloping forward before a binary search.
+     *
+     * @return The position, or the size of the list if there is none
+     */
+    private int seek(int from, int target) {
+      if (from >= size || docs[from] >= target) {
+        return from;
+      }
+      int step = 1;
+      int low = from;
+      int high = from + step;
+      while (high < size && docs[high] < target) {
+        low = high;
+        step <<= 1;
+        high = from + step;
+      }
+      int found = Arrays.binarySearch(docs, low + 1, Math.min(high, size - 1) + 1, target);
+      return found >= 0 ? found : -found - 1;
+    }
+
+    /**
+     * Drop dead documents and give the others their new numbers.
+     *
+     * @param renumbered The new number of each document, or -1 for dead documents
+     */
+    private void renumber(int[] renumbered) {
+      int kept = 0;
+      for (int i = 0; i < size; i++) {
+        int doc = renumbered[docs[i]];
+        if (doc >= 0) {
+          docs[kept++] = doc;
+        }
+      }
+      size = kept;
+      if (docs.length > 16 && size < docs.length / 2) {
+        docs = Arrays.copyOf(docs, Math.max(4, size));
+      }
+    }
+  }
+}
@@ -0,0 +1,349 @@
+package com.example.employeemanagement.index;
+
+import java.util.Arrays;
+
+/**
+ * This class is a compact radix trie from lower-cased keys to entries. Each entry pairs an ID with
+ * the value returned to callers, and one key may hold several entries. Edges carry whole runs of
+ * characters, so a node exists only where keys branch or end, and children are kept in sorted
+ * arrays searched by their first character.
+ *
+ * <p>The trie is not thread-safe; callers guard it with their own lock.
+ */
+final class RadixTrie {
+
+  private static final char[] NO_CHARS = new char[0];
+  private static final Node[] NO_CHILDREN = new Node[0];
+  private static final long[] NO_IDS = new long[0];
+  private static final String[] NO_VALUES = new String[0];
+
+  /** Receives the entries under a prefix. */
+  interface EntryVisitor {
+
+    /**
+     * Visit one entry.
+     *
+     * @param id The entry ID
+     * @param value The entry value
+     * @return Whether to continue with the next entry
+     */
+    boolean visit(long id, String value);
+  }
+
+  /** The root node, with an empty label. */
+  private final Node root = new Node(NO_CHARS);
+
+  /** The number of entries. */
+  private int size;
+
+  /** The number of nodes, including the root. */
+  private int nodes = 1;
+
+  /**
+   * Add an entry under a key.
+   *
+   * @param key The lower-cased key
+   * @param id The entry ID
+   * @param value The entry value
+   * @return Whether the entry was added, false if the key already held this ID
+   */
+  boolean add(String key, long id, String value) {
+    Node node = root;
+    int i = 0;
+    while (i < key.length()) {
+      int index = node.childIndex(key.charAt(i));
+      if (index < 0) {
+        Node leaf = new Node(key.substring(i).toCharArray());
+        leaf.addEntry(id, value);
+        node.insertChild(-index - 1, leaf);
+        nodes++;
+        size++;
+        return true;
+      }
+      Node child = node.children[index];
+      int common = commonPrefix(child.label, key, i);
+      if (common < child.label.length) {
+        Node split = new Node(Arrays.copyOf(child.label, common));
+        child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+        split.children = new Node[] {child};
+        node.children[index] = split;
+        nodes++;
+        child = split;
+      }
+      node = child;
+      i += common;
+    }
+    if (!node.addEntry(id, value)) {
+      return false;
+    }
+    size++;
+    return true;
+  }
+
+  /**
+   * Remove an entry from a key, pruning and merging the nodes it leaves redundant.
+   *
+   * @param key The lower-cased key
+   * @param id The entry ID
+   * @return Whether the entry was present
+   */
+  boolean remove(String key, long id) {
+    Node parent = null;
+    Node node = root;
+    int i = 0;
+    while (i < key.length()) {
+      int index = node.childIndex(key.charAt(i));
+      if (index < 0) {
+        return false;
+      }
+      Node child = node.children[index];
+      if (commonPrefix(child.label, key, i) < child.label.length) {
+        return false;
+      }
+      parent = node;
+      node = child;
+      i += child.label.length;
+    }
+    if (!node.removeEntry(id)) {
+      return false;
+    }
+    size--;
+    if (node != root && node.ids.length == 0) {
+      if (node.children.length == 0) {
+        parent.removeChild(node);
+        nodes--;
+        node = parent;
+      }
+      if (node != root && node.ids.length == 0 && node.children.length == 1) {
+        node.absorbOnlyChild();
+        nodes--;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Check whether a key holds an entry with a value.
+   *
+   * @param key The lower-cased key
+   * @param value The value, compared exactly
+   * @return Whether the entry exists
+   */
+  boolean contains(String key, String value) {
+    Node node = find(key, true);
+    if (node == null) {
+      return false;
+    }
+    for (String candidate : node.values) {
+      if (candidate.equals(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Visit the entries of every key starting with a prefix, in key order.
+   *
+   * @param prefix The lower-cased prefix
+   * @param visitor The visitor, which may stop the walk early
+   */
+  void visitPrefix(String prefix, EntryVisitor visitor) {
+    Node node = find(prefix, false);
+    if (node != null) {
+      visit(node, visitor);
+    }
+  }
+
+  /** Walk the subtree in key order, returning false once the visitor stops. */
+  private static boolean visit(Node node, EntryVisitor visitor) {
+    for (int i = 0; i < node.ids.length; i++) {
+      if (!visitor.visit(node.ids[i], node.values[i])) {
+        return false;
+      }
+    }
+    for (Node child : node.children) {
+      if (!visit(child, visitor)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Find the node for a key.
+   *
+   * @param key The lower-cased key
+   * @param exact Whether the key must end on a node; otherwise the key may end inside an edge and
+   *     the node below that edge is returned
+   * @return The node, or null if no key starts with (or, if exact, equals) the given key
+   */
+  private Node find(String key, boolean exact) {
+    Node node = root;
+    int i = 0;
+    while (i < key.length()) {
+      int index = node.childIndex(key.charAt(i));
+      if (index < 0) {
+        return null;
+      }
+      Node child = node.children[index];
+      int common = commonPrefix(child.label, key, i);
+      if (common < child.label.length) {
+        return !exact && i + common == key.length() ? child : null;
+      }
+      node = child;
+      i += common;
+    }
+    return node;
+  }
+
+  /** Count the characters a label shares with a key from an offset. */
+  private static int commonPrefix(char[] label, String key, int offset) {
+    int max = Math.min(label.length, key.length() - offset);
+    int common = 0;
+    while (common < max && label[common] == key.charAt(offset + common)) {
+      common++;
+    }
+    return common;
+  }
+
+  /**
+   * Get the number of entries.
+   *
+   * @return The number of entries
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Get the number of nodes.
+   *
+   * @return The number of nodes
+   */
+  int nodeCount() {
+    return nodes;
+  }
+
+  /**
+   * Estimate the heap used by the trie on a 64-bit JVM with compressed references. Values are
+   * counted once per entry even when several entries share one string.
+   *
+   * @return The estimated size in bytes
+   */
+  long estimateBytes() {
+    return estimateBytes(root);
+  }
+
+  private static long estimateBytes(Node node) {
+    // Node object, then the label, children, ID and value arrays.
+    long bytes = 32L + align(16L + node.label.length * 2L);
+    bytes += node.children.length == 0 ? 0 : align(16L + node.children.length * 4L);
+    bytes += node.ids.length == 0 ? 0 : align(16L + node.ids.length * 8L);
+    bytes += node.values.length == 0 ? 0 : align(16L + node.values.length * 4L);
+    for (String value : node.values) {
+      bytes += 24L + align(16L + value.length());
+    }
+    for (Node child : node.children) {
+      bytes += estimateBytes(child);
+    }
+    return bytes;
+  }
+
+  private static long align(long bytes) {
+    return (bytes + 7) & ~7L;
+  }
+
+  /** A trie node: the edge label leading to it, its children and the entries ending at it. */
+  private static final class Node {
+
+    private char[] label;
+    private Node[] children = NO_CHILDREN;
+    private long[] ids = NO_IDS;
+    private String[] values = NO_VALUES;
+
+    private Node(char[] label) {
+      this.label = label;
+    }
+
+    /** Find a child by the first character of its label, as {@link Arrays#binarySearch} does. */
+    private int childIndex(char first) {
+      int low = 0;
+      int high = children.length - 1;
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        char candidate = children[middle].label[0];
+        if (candidate < first) {
+          low = middle + 1;
+        } else if (candidate > first) {
+          high = middle - 1;
+        } else {
+          return middle;
+        }
+      }
+      return -(low + 1);
+    }
+
+    private void insertChild(int index, Node child) {
+      Node[] grown = new Node[children.length + 1];
+      System.arraycopy(children, 0, grown, 0, index);
+      grown[index] = child;
+      System.arraycopy(children, index, grown, index + 1, children.length - index);
+      children = grown;
+    }
+
+    private void removeChild(Node child) {
+      int index = childIndex(child.label[0]);
+      Node[] shrunk = new Node[children.length - 1];
+      System.arraycopy(children, 0, shrunk, 0, index);
+      System.arraycopy(children, index + 1, shrunk, index, shrunk.length - index);
+      children = shrunk.length == 0 ? NO_CHILDREN : shrunk;
+    }
+
+    /** Merge the only child into this node, which holds no entries. */
+    private void absorbOnlyChild() {
+      Node child = children[0];
+      char[] merged = Arrays.copyOf(label, label.length + child.label.length);
+      System.arraycopy(child.label, 0, merged, label.length, child.label.length);
+      label = merged;
+      children = child.children;
+      ids = child.ids;
+      values = child.values;
+    }
+
+    private boolean addEntry(long id, String value) {
+      for (long existing : ids) {
+        if (existing == id) {
+          return false;
+        }
+      }
+      ids = Arrays.copyOf(ids, ids.length + 1);
+      ids[ids.length - 1] = id;
+      values = Arrays.copyOf(values, values.length + 1);
+      values[values.length - 1] = value;
+      return true;
+    }
+
+    private boolean removeEntry(long id) {
+      for (int i = 0; i < ids.length; i++) {
+        if (ids[i] == id) {
+          if (ids.length == 1) {
+            ids = NO_IDS;
+            values = NO_VALUES;
+          } else {
+            long[] keptIds = new long[ids.length - 1];
+            String[] keptValues = new String[ids.length - 1];
+            System.arraycopy(ids, 0, keptIds, 0, i);
+            System.arraycopy(ids, i + 1, keptIds, i, keptIds.length - i);
+            System.arraycopy(values, 0, keptValues, 0, i);
+            System.arraycopy(values, i + 1, keptValues, i, keptValues.length - i);
+            ids = keptIds;
+            values = keptValues;
+          }
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package com.example.employeemanagement.logging;
+
+import com.example.employeemanagement.sse.SseBroadcaster;
+import com.example.employeemanagement.sse.SseMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * This class streams newly appended application log lines to subscribers over server-sent events.
+ * A single poller follows the log file by position and publishes each batch of complete lines once;
+ * every connected viewer receives it through its own bounded queue. The poller runs only while at
+ * least one viewer is connected.
+ */
+@Service
+public class LogStreamService {
+
+  private static final Logger logger = LoggerFactory.getLogger(LogStreamService.class);
+
+  /** The name of the events carrying log lines. */
+  public static final String LINES_EVENT = "lines";
+
+  /** The longest unterminated last line held back when polling starts, in bytes. */
+  private static final int MAX_HELD_BACK = 64 * 1024;
+
+  /** The reader locating the log file and serving the initial backlog. */
+  @Autowired private LogTailReader logTailReader;
+
+  /** The interval between checks of the log file, in milliseconds. */
+  @Value("${app.logs.stream.poll-millis:500}")
+  private long pollMillis;
+
+  /** The number of line batches buffered per viewer before batches are dropped. */
+  @Value("${app.logs.stream.buffer-size:256}")
+  private int bufferSize;
+
+  /** The lifetime of one stream connection, in milliseconds. */
+  @Value("${app.logs.stream.timeout-millis:1800000}")
+  private long timeoutMillis;
+
+  /** The broadcaster fanning batches out to viewers. */
+  private SseBroadcaster broadcaster;
+
+  /** The thread polling the log file. */
+  private final ScheduledExecutorService poller =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "log-stream-poller");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /** The running poll task, or null while nobody is subscribed. */
+  private ScheduledFuture<?> pollTask;
+
+  /** The file position up to which lines have been published. */
+  private long position;
+
+  /** The bytes of a trailing line that has not been terminated yet. */
+  private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+
+  /** Create the broadcaster once the configuration is injected. */
+  @PostConstruct
+  void init() {
+    broadcaster = new SseBroadcaster("logs", 2, bufferSize, timeoutMillis);
+  }
+
+  /** Stop polling and disconnect all viewers. */
+  @PreDestroy
+  void shutdown() {
+    poller.shutdownNow();
+    broadcaster.shutdown();
+  }
+
+  /**
+   * Subscribe to the log stream. The backlog ends where the poller will resume, and it is queued
+   * before the viewer can receive a poll, so live lines follow it without gaps or repeats.
+   *
+   * @param backlog Number of existing lines to send before the live lines
+   * @return The emitter for the new viewer
+   * @throws IOException If the backlog cannot be read
+   */
+  public synchronized SseEmitter subscribe(int backlog) throws IOException {
+    ensurePolling();
+    SseBroadcaster.Subscriber subscriber = broadcaster.subscribe();
+    if (backlog > 0 && logTailReader.exists()) {
+      List<String> lines = logTailReader.tail(backlog, position - partialLine.size());
+      if (!lines.isEmpty()) {
+        subscriber.enqueue(new SseMessage(null, LINES_EVENT, String.join("\n", lines)));
+      }
+    }
+    return subscriber.getEmitter();
+  }
+
+  /**
+   * Get the number of connected viewers.
+   *
+   * @return The viewer count
+   */
+  public int getSubscriberCount() {
+    return broadcaster.getSubscriberCount();
+  }
+
+  /**
+   * Start the poller at the current end of the log if it is not running. An unterminated last
+   * line is held back, so it is published whole once it is completed.
+   */
+  private void ensurePolling() throws IOException {
+    if (pollTask != null) {
+      return;
+    }
+    position = 0;
+    partialLine.reset();
+    if (logTailReader.exists()) {
+      try (FileChannel channel = FileChannel.open(logTailReader.getLogFile(), StandardOpenOption.READ)) {
+        position = channel.size();
+        ByteBuffer tail = ByteBuffer.allocate((int) Math.min(position, MAX_HELD_BACK));
+        channel.read(tail, position - tail.capacity());
+        int lineStart = tail.position();
+        while (lineStart > 0 && tail.get(lineStart - 1) != '\n') {
+          lineStart--;
+        }
+        if (lineStart > 0 || tail.position() == position) {
+          partialLine.write(tail.array(), lineStart, tail.position() - lineStart);
+        }
+      }
+    }
+    pollTask = poller.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /** Publish the lines appended since the last poll, and stop once nobody is listening. */
+  private synchronized void poll() {
+    if (broadcaster.getSubscriberCount() == 0) {
+      pollTask.cancel(false);
+      pollTask = null;
+      return;
+    }
+    if (!logTailReader.exists()) {
+      return;
+    }
+    try (FileChannel channel = FileChannel.open(logTailReader.getLogFile(), StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < position) {
+        // The file was rolled over or truncated; follow the new file from its start.
+        position = 0;
+        partialLine.reset();
+      }
+      if (size == position) {
+        return;
+      }
+      ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size - position, 1 << 20));
+      StringBuilder batch = new StringBuilder();
+      while (position < size) {
+        buffer.clear();
+        int read = channel.read(buffer, position);
+        if (read <= 0) {
+          break;
+        }
+        position += read;
+        appendCompleteLines(buffer.array(), read, batch);
+      }
+      if (batch.length() > 0) {
+        broadcaster.broadcast(new SseMessage(null, LINES_EVENT, batch.toString()));
+      }
+    } catch (IOException e) {
+      logger.debug("Could not poll the log file: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Move every newline-terminated line out of the bytes read into the batch, keeping a trailing
+   * unterminated line for the next poll.
+   *
+   * @param bytes The bytes read
+   * @param length The number of valid bytes
+   * @param batch The batch of lines being built
+   */
+  private void appendCompleteLines(byte[] bytes, int length, StringBuilder batch) {
+    int lineStart = 0;
+    for (int i = 0; i < length; i++) {
+      if (bytes[i] == '\n') {
+        partialLine.write(bytes, lineStart, i - lineStart);
+        String line = new String(partialLine.toByteArray(), StandardCharsets.UTF_8);
+        if (line.endsWith("\r")) {
+          line = line.substring(0, line.length() - 1);
+        }
+        if (batch.length() > 0) {
+          batch.append('\n');
+        }
+        batch.append(line);
+        partialLine.reset();
+        lineStart = i + 1;
+      }
+    }
+    partialLine.write(bytes, lineStart, length - lineStart);
+  }
+}
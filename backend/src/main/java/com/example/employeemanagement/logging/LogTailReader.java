@@ -0,0 +1,273 @@
+package com.example.employeemanagement.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * This class reads the last lines of the application log. The active file is scanned backwards
+ * from its end in fixed-size chunks, so the cost is proportional to the number of lines requested
+ * rather than the size of the file. When the active file holds fewer lines than requested, the
+ * rolled-over files ({@code <log>.<yyyy-MM-dd>.<n>[.gz]}) are read newest first.
+ */
+@Component
+public class LogTailReader {
+
+  /** The size of the chunks read while scanning backwards. */
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  /** The active log file. */
+  private final Path logFile;
+
+  /** The largest number of lines a caller may request. */
+  private final int maxLines;
+
+  /** The largest number of rolled-over files consulted. */
+  private final int maxHistory;
+
+  /**
+   * Constructor for the reader.
+   *
+   * @param logFile Path of the active log file
+   * @param maxLines The largest number of lines a caller may request
+   * @param maxHistory The largest number of rolled-over files consulted
+   */
+  public LogTailReader(
+      @Value("${logging.file.name:logs/application.log}") String logFile,
+      @Value("${app.logs.max-lines:5000}") int maxLines,
+      @Value("${logging.file.max-history:10}") int maxHistory) {
+    this.logFile = Paths.get(logFile);
+    this.maxLines = maxLines;
+    this.maxHistory = maxHistory;
+  }
+
+  /**
+   * Determine if the active log file exists.
+   *
+   * @return True if the log file exists, false otherwise
+   */
+  public boolean exists() {
+    return Files.isRegularFile(logFile);
+  }
+
+  /**
+   * Get the path of the active log file.
+   *
+   * @return The log file path
+   */
+  public Path getLogFile() {
+    return logFile;
+  }
+
+  /**
+   * Get the largest number of lines a caller may request.
+   *
+   * @return The line cap
+   */
+  public int getMaxLines() {
+    return maxLines;
+  }
+
+  /**
+   * Read the last lines of the log, oldest first.
+   *
+   * @param lines The number of lines wanted; clamped to {@code [1, maxLines]}
+   * @return The lines, oldest first
+   * @throws IOException If a log file cannot be read
+   */
+  public List<String> tail(int lines) throws IOException {
+    return tail(lines, Long.MAX_VALUE);
+  }
+
+  /**
+   * Read the last lines of the log that precede a position in the active file, oldest first.
+   *
+   * @param lines The number of lines wanted; clamped to {@code [1, maxLines]}
+   * @param activeEnd The position in the active file the lines end at; later bytes are ignored
+   * @return The lines, oldest first
+   * @throws IOException If a log file cannot be read
+   */
+  public List<String> tail(int lines, long activeEnd) throws IOException {
+    int wanted = Math.max(1, Math.min(lines, maxLines));
+    Deque<List<String>> segments = new ArrayDeque<>();
+    int collected = 0;
+    if (exists()) {
+      List<String> active = tailFile(logFile, wanted, activeEnd);
+      segments.addFirst(active);
+      collected += active.size();
+    }
+    for (Path rolled : rolledFiles()) {
+      if (collected >= wanted) {
+        break;
+      }
+      List<String> older =
+          rolled.getFileName().toString().endsWith(".gz")
+              ? tailCompressed(rolled, wanted - collected)
+              : tailFile(rolled, wanted - collected, Long.MAX_VALUE);
+      segments.addFirst(older);
+      collected += older.size();
+    }
+    List<String> result = new ArrayList<>(collected);
+    segments.forEach(result::addAll);
+    return result;
+  }
+
+  /**
+   * Read the last lines of an uncompressed file by scanning backwards for newlines.
+   *
+   * @param file The file
+   * @param lines The number of lines wanted
+   * @param limit The position the lines end at, if the file is longer
+   * @return The lines, oldest first
+   * @throws IOException If the file cannot be read
+   */
+  static List<String> tailFile(Path file, int lines, long limit) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long end = Math.min(channel.size(), limit);
+      if (end == 0) {
+        return Collections.emptyList();
+      }
+      // A trailing newline terminates the last line rather than starting an empty one.
+      if (readByte(channel, end - 1) == '\n') {
+        end--;
+      }
+      long start = 0;
+      int newlines = 0;
+      ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+      long position = end;
+      scan:
+      while (position > 0) {
+        int length = (int) Math.min(CHUNK_SIZE, position);
+        position -= length;
+        chunk.clear().limit(length);
+        readFully(channel, chunk, position);
+        for (int i = length - 1; i >= 0; i--) {
+          if (chunk.get(i) == '\n' && ++newlines == lines) {
+            start = position + i + 1;
+            break scan;
+          }
+        }
+      }
+      ByteBuffer region = ByteBuffer.allocate((int) (end - start));
+      readFully(channel, region, start);
+      return splitLines(new String(region.array(), 0, region.limit(), StandardCharsets.UTF_8));
+    }
+  }
+
+  /**
+   * Read the last lines of a gzip-compressed file. Compressed files cannot be read backwards, so
+   * the file is decompressed as a stream while only the last {@code lines} lines are retained.
+   *
+   * @param file The file
+   * @param lines The number of lines wanted
+   * @return The lines, oldest first
+   * @throws IOException If the file cannot be read
+   */
+  static List<String> tailCompressed(Path file, int lines) throws IOException {
+    Deque<String> window = new ArrayDeque<>(lines);
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(file), CHUNK_SIZE);
+        BufferedReader reader =
+            new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (window.size() == lines) {
+          window.removeFirst();
+        }
+        window.addLast(line);
+      }
+    }
+    return new ArrayList<>(window);
+  }
+
+  /**
+   * List the rolled-over log files, newest first, up to the configured history.
+   *
+   * @return The rolled-over files
+   * @throws IOException If the log directory cannot be listed
+   */
+  List<Path> rolledFiles() throws IOException {
+    Path directory = logFile.toAbsolutePath().getParent();
+    if (directory == null || !Files.isDirectory(directory)) {
+      return Collections.emptyList();
+    }
+    Pattern pattern =
+        Pattern.compile(
+            Pattern.quote(logFile.getFileName().toString())
+                + "\\.(\\d{4}-\\d{2}-\\d{2})\\.(\\d+)(\\.gz)?");
+    List<RolledFile> rolled = new ArrayList<>();
+    try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+      for (Path entry : entries) {
+        Matcher matcher = pattern.matcher(entry.getFileName().toString());
+        if (matcher.matches()) {
+          rolled.add(
+              new RolledFile(entry, matcher.group(1), Integer.parseInt(matcher.group(2))));
+        }
+      }
+    }
+    rolled.sort(
+        Comparator.comparing((RolledFile f) -> f.date)
+            .thenComparingInt(f -> f.index)
+            .reversed());
+    List<Path> result = new ArrayList<>();
+    for (int i = 0; i < rolled.size() && i < maxHistory; i++) {
+      result.add(rolled.get(i).path);
+    }
+    return result;
+  }
+
+  private static List<String> splitLines(String text) {
+    return text.isEmpty() ? Collections.emptyList() : Arrays.asList(text.split("\r?\n", -1));
+  }
+
+  private static byte readByte(FileChannel channel, long position) throws IOException {
+    ByteBuffer one = ByteBuffer.allocate(1);
+    readFully(channel, one, position);
+    return one.get(0);
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position + buffer.position());
+      if (read < 0) {
+        throw new IOException("Unexpected end of " + position);
+      }
+    }
+  }
+
+  /** A rolled-over log file and its position in the rollover sequence. */
+  private static final class RolledFile {
+
+    private final Path path;
+    private final String date;
+    private final int index;
+
+    RolledFile(Path path, String date, int index) {
+      this.path = path;
+      this.date = date;
+      this.index = index;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.example.employeemanagement.migration;
+
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * This class fills in {@code employees.email_domain} for rows written before the column existed.
+ * New and updated employees derive it themselves, so this is a single statement that matches no
+ * rows once the backfill has run.
+ */
+@Component
+public class EmailDomainMigration implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(EmailDomainMigration.class);
+
+  /** The employee repository. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The transaction template. */
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  /**
+   * Backfill the email domains.
+   *
+   * @param args The application arguments
+   */
+  @Override
+  public void run(ApplicationArguments args) {
+    Integer updated = transactionTemplate.execute(status -> employeeRepository.backfillEmailDomains());
+    if (updated != null && updated > 0) {
+      logger.info("Filled in the email domain of {} existing employees", updated);
+    }
+  }
+}
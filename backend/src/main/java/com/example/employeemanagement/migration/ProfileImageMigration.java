@@ -0,0 +1,65 @@
+package com.example.employeemanagement.migration;
+
+import com.example.employeemanagement.storage.ImageStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * This class moves profile images stored inline in the legacy {@code users.profile_image} TEXT
+ * column into the image store, leaving only the image key on the user row. It runs at startup and
+ * does nothing on schemas that never had the legacy column.
+ */
+@Component
+public class ProfileImageMigration implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(ProfileImageMigration.class);
+
+  /** The JDBC template. */
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  /** The image store. */
+  @Autowired private ImageStore imageStore;
+
+  /**
+   * Migrate the legacy images one user at a time, so only one image is held in memory.
+   *
+   * @param args The application arguments
+   */
+  @Override
+  public void run(ApplicationArguments args) {
+    List<Long> ids;
+    try {
+      ids =
+          jdbcTemplate.queryForList(
+              "SELECT id FROM users WHERE profile_image IS NOT NULL", Long.class);
+    } catch (DataAccessException e) {
+      // No legacy column: nothing to migrate.
+      return;
+    }
+    int migrated = 0;
+    for (Long id : ids) {
+      String image =
+          jdbcTemplate.queryForObject(
+              "SELECT profile_image FROM users WHERE id = ?", String.class, id);
+      try {
+        String key = image == null || image.isEmpty() ? null : imageStore.storeDataUrl(image);
+        jdbcTemplate.update(
+            "UPDATE users SET profile_image_key = ?, profile_image = NULL WHERE id = ?", key, id);
+        migrated++;
+      } catch (Exception e) {
+        logger.error("Could not migrate profile image of user {}: {}", id, e.getMessage());
+      }
+    }
+    if (migrated > 0) {
+      logger.info("Moved {} legacy profile images into the image store", migrated);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.example.employeemanagement.migration;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * This class moves the ID sequences past the IDs already in use. Rows created while the entities
+ * used identity columns keep their IDs; the sequences the entities now draw from start at 1, so
+ * without this step the first inserts on an existing database would collide. It runs before any
+ * other startup runner and does nothing on a fresh schema.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SequenceMigration implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(SequenceMigration.class);
+
+  /** The allocation size of the entity sequence generators. */
+  static final int ALLOCATION_SIZE = 50;
+
+  /** The sequence used by each table. */
+  private static final Map<String, String> SEQUENCES = new LinkedHashMap<>();
+
+  static {
+    SEQUENCES.put("employees", "employees_seq");
+    SEQUENCES.put("departments", "departments_seq");
+    SEQUENCES.put("users", "users_seq");
+  }
+
+  /** The JDBC template. */
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  /** The entity manager factory, used to find the SQL dialect. */
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  /**
+   * Restart every sequence that could hand out an ID already in use.
+   *
+   * @param args The application arguments
+   */
+  @Override
+  public void run(ApplicationArguments args) {
+    Dialect dialect =
+        entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices()
+            .getDialect();
+    for (Map.Entry<String, String> entry : SEQUENCES.entrySet()) {
+      String table = entry.getKey();
+      String sequence = entry.getValue();
+      try {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+          continue;
+        }
+        Long next =
+            jdbcTemplate.queryForObject(dialect.getSequenceNextValString(sequence), Long.class);
+        // The pooled optimizer hands out IDs up to one allocation below the sequence value.
+        long safeStart = maxId + ALLOCATION_SIZE + 1;
+        if (next != null && next - ALLOCATION_SIZE < maxId + 1) {
+          jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + safeStart);
+          logger.info("Restarted sequence {} at {} after existing {} rows", sequence, safeStart, table);
+        }
+      } catch (DataAccessException e) {
+        logger.warn("Could not align sequence {} with table {}: {}", sequence, table, e.getMessage());
+      }
+    }
+  }
+}
@@ -4,27 +4,40 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import java.util.List;
 
-/** This class represents a Department entity. Each department has an ID and a name. */
+/**
+ * This class represents a Department entity. Each department has an ID and a name. The department
+ * and its employee collection are eligible for the second-level cache when the {@code l2cache}
+ * profile enables it.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departments")
 @Table(name = "departments")
 public class Department {
 
   /** The ID of the department. It is unique and generated automatically. */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_seq")
+  @SequenceGenerator(name = "department_seq", sequenceName = "departments_seq", allocationSize = 50)
   private Long id;
 
   /** The name of the department. */
   private String name;
 
-  /** The list of employees in the department. */
+  /**
+   * The list of employees in the department. Hibernate does not evict this cached collection when
+   * an employee changes department, so {@code DepartmentEmployeesCacheEviction} does.
+   */
   @OneToMany(mappedBy = "department", cascade = CascadeType.ALL)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "department-employees")
   @JsonManagedReference
   private List<Employee> employees;
 }
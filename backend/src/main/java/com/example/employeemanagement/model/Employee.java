@@ -4,28 +4,45 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import java.util.Locale;
 
 /**
  * This class represents an Employee entity. Each employee has an ID, first name, last name, email,
- * department, and age.
+ * department, and age. It is eligible for the second-level cache when the {@code l2cache} profile
+ * enables it.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "employees")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
+@Table(
+    name = "employees",
+    indexes = {
+      @Index(name = "idx_employees_department", columnList = "department_id"),
+      @Index(name = "idx_employees_name", columnList = "last_name, first_name"),
+      @Index(name = "idx_employees_email", columnList = "email"),
+      @Index(name = "idx_employees_email_domain", columnList = "email_domain")
+    })
 public class Employee {
 
   /** The ID of the employee. It is unique and generated automatically. */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+  @SequenceGenerator(name = "employee_seq", sequenceName = "employees_seq", allocationSize = 50)
   private Long id;
 
   /** The first name of the employee. */
+  @Column(name = "first_name")
   private String firstName;
 
   /** The last name of the employee. */
+  @Column(name = "last_name")
   private String lastName;
 
   /** The email of the employee. */
@@ -42,4 +59,32 @@ public class Employee {
 
   @Version
   private Long version;
+
+  /** The lower-cased domain of the email, derived on every write so domain filters can use an index. */
+  @JsonIgnore
+  @Column(name = "email_domain")
+  private String emailDomain;
+
+  /** Derive the email domain from the email before the employee is written. */
+  @PrePersist
+  @PreUpdate
+  void deriveEmailDomain() {
+    emailDomain = domainOf(email);
+  }
+
+  /**
+   * Get the lower-cased domain of an email address.
+   *
+   * @param email The email address
+   * @return The domain, or null if the address has none
+   */
+  public static String domainOf(String email) {
+    if (email == null) {
+      return null;
+    }
+    int at = email.indexOf('@');
+    return at < 0 || at == email.length() - 1
+        ? null
+        : email.substring(at + 1).toLowerCase(Locale.ROOT);
+  }
 }
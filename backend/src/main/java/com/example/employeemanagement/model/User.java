@@ -9,7 +9,8 @@ public class User {
 
   /** The user ID. */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+  @SequenceGenerator(name = "user_seq", sequenceName = "users_seq", allocationSize = 50)
   private Long id;
 
   /** The username. */
@@ -26,8 +27,9 @@ public class User {
   @Column(name = "mfa_enabled")
   private boolean mfaEnabled = false;
 
-  @Column(name = "profile_image", columnDefinition = "TEXT")
-  private String profileImage;
+  /** The image store key of the profile image, or null if none was uploaded. */
+  @Column(name = "profile_image_key", length = 80)
+  private String profileImageKey;
 
   // Getters and Setters
 
@@ -101,11 +103,21 @@ public class User {
     this.mfaEnabled = mfaEnabled;
   }
 
-  public String getProfileImage() {
-    return profileImage;
+  /**
+   * Gets the image store key of the profile image.
+   *
+   * @return The image key, or null if none was uploaded
+   */
+  public String getProfileImageKey() {
+    return profileImageKey;
   }
 
-  public void setProfileImage(String profileImage) {
-    this.profileImage = profileImage;
+  /**
+   * Sets the image store key of the profile image.
+   *
+   * @param profileImageKey The image key
+   */
+  public void setProfileImageKey(String profileImageKey) {
+    this.profileImageKey = profileImageKey;
   }
 }
@@ -1,9 +1,67 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.dto.DepartmentSummary;
 import com.example.employeemanagement.model.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.QueryHint;
 
 /** This interface represents a repository for departments. */
 @Repository
-public interface DepartmentRepository extends JpaRepository<Department, Long> {}
+public interface DepartmentRepository extends JpaRepository<Department, Long> {
+
+  /**
+   * Find all departments with their employees in a single statement.
+   *
+   * @return List of all departments with their employees initialized
+   */
+  @QueryHints(
+      @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+  @Query("SELECT DISTINCT d FROM Department d LEFT JOIN FETCH d.employees ORDER BY d.id")
+  List<Department> findAllWithEmployees();
+
+  /**
+   * Find a department with its employees in a single statement.
+   *
+   * @param id ID of the department
+   * @return The department with its employees initialized, if it exists
+   */
+  @Query("SELECT d FROM Department d LEFT JOIN FETCH d.employees WHERE d.id = :id")
+  Optional<Department> findByIdWithEmployees(@Param("id") Long id);
+
+  /**
+   * Find all departments with their employee counts in a single aggregate statement.
+   *
+   * @return List of department summaries without employees
+   */
+  @Query(
+      "SELECT new com.example.employeemanagement.dto.DepartmentSummary(d.id, d.name, COUNT(e))"
+          + " FROM Department d LEFT JOIN d.employees e"
+          + " GROUP BY d.id, d.name ORDER BY d.id")
+  List<DepartmentSummary> findAllSummaries();
+
+  /**
+   * Find the IDs of all departments.
+   *
+   * @return List of department IDs
+   */
+  @Query("SELECT d.id FROM Department d")
+  List<Long> findAllIds();
+
+  /**
+   * Delete a department in one statement, without loading it or its employees. Its employees must
+   * already have been removed or reassigned.
+   *
+   * @param id ID of the department
+   * @return The number of departments deleted
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("DELETE FROM Department d WHERE d.id = :id")
+  int deleteDepartmentById(@Param("id") Long id);
+}
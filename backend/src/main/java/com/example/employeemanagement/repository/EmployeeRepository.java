@@ -1,20 +1,215 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.dto.EmployeeSummary;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.model.Department;
 import com.example.employeemanagement.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 
 /** This interface represents a repository for employees. */
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository
+    extends JpaRepository<Employee, Long>, EmployeeSearchRepository {
 
   /**
-   * Find all employees with their departments.
+   * Find all employees with their departments. The result is cacheable when the query cache is
+   * enabled; any write to either table invalidates it.
    *
    * @return List of all employees with their departments
    */
+  @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
   @Query("SELECT e FROM Employee e JOIN FETCH e.department")
   List<Employee> findAllWithDepartments();
+
+  /**
+   * Find all employees as flat summaries ordered by department. The department ID is read from the
+   * foreign key column, so no department rows are loaded.
+   *
+   * @return List of all employee summaries
+   */
+  @Query(
+      "SELECT new com.example.employeemanagement.dto.EmployeeSummary("
+          + "e.id, e.firstName, e.lastName, e.email, e.age, e.department.id)"
+          + " FROM Employee e ORDER BY e.department.id, e.id")
+  List<EmployeeSummary> findAllSummaries();
+
+  /**
+   * Find the first page of employees ordered by ID.
+   *
+   * @param pageable Unsorted page request carrying the page size
+   * @return Employees with their departments
+   */
+  @Query("SELECT e FROM Employee e JOIN FETCH e.department ORDER BY e.id")
+  List<Employee> findFirstPageById(Pageable pageable);
+
+  /**
+   * Find the page of employees following the given ID, ordered by ID.
+   *
+   * @param afterId ID of the last employee on the previous page
+   * @param pageable Unsorted page request carrying the page size
+   * @return Employees with their departments
+   */
+  @Query("SELECT e FROM Employee e JOIN FETCH e.department WHERE e.id > :afterId ORDER BY e.id")
+  List<Employee> findPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+  /**
+   * Find the first page of employees ordered by last name, then ID. Null last names come first.
+   *
+   * @param pageable Unsorted page request carrying the page size
+   * @return Employees with their departments
+   */
+  @Query(
+      "SELECT e FROM Employee e JOIN FETCH e.department"
+          + " ORDER BY e.lastName ASC NULLS FIRST, e.id ASC")
+  List<Employee> findFirstPageByLastName(Pageable pageable);
+
+  /**
+   * Find the page of employees following an employee with a null last name.
+   *
+   * @param afterId ID of the last employee on the previous page
+   * @param pageable Unsorted page request carrying the page size
+   * @return Employees with their departments
+   */
+  @Query(
+      "SELECT e FROM Employee e JOIN FETCH e.department"
+          + " WHERE (e.lastName IS NULL AND e.id > :afterId) OR e.lastName IS NOT NULL"
+          + " ORDER BY e.lastName ASC NULLS FIRST, e.id ASC")
+  List<Employee> findPageAfterNullLastName(@Param("afterId") Long afterId, Pageable pageable);
+
+  /**
+   * Find the page of employees following the given (last name, ID) position.
+   *
+   * @param lastName Last name of the last employee on the previous page
+   * @param afterId ID of the last employee on the previous page
+   * @param pageable Unsorted page request carrying the page size
+   * @return Employees with their departments
+   */
+  @Query(
+      "SELECT e FROM Employee e JOIN FETCH e.department"
+          + " WHERE e.lastName > :lastName OR (e.lastName = :lastName AND e.id > :afterId)"
+          + " ORDER BY e.lastName ASC NULLS FIRST, e.id ASC")
+  List<Employee> findPageAfterLastName(
+      @Param("lastName") String lastName, @Param("afterId") Long afterId, Pageable pageable);
+
+  /**
+   * Move employees to a department in one statement, incrementing their versions so concurrent
+   * edits of the moved rows fail their optimistic lock check.
+   *
+   * @param ids IDs of the employees to move
+   * @param department The target department
+   * @return The number of employees moved
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "UPDATE Employee e SET e.department = :department, e.version = COALESCE(e.version, 0) + 1"
+          + " WHERE e.id IN :ids")
+  int moveToDepartment(
+      @Param("ids") Collection<Long> ids, @Param("department") Department department);
+
+  /**
+   * Delete employees by ID in one statement.
+   *
+   * @param ids IDs of the employees to delete
+   * @return The number of employees deleted
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("DELETE FROM Employee e WHERE e.id IN :ids")
+  int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Check whether a department has any employees.
+   *
+   * @param departmentId ID of the department
+   * @return Whether the department has employees
+   */
+  boolean existsByDepartmentId(Long departmentId);
+
+  /**
+   * Move every employee of one department to another in one statement, incrementing their
+   * versions.
+   *
+   * @param source The department to empty
+   * @param target The department to move the employees to
+   * @return The number of employees moved
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "UPDATE Employee e SET e.department = :target, e.version = COALESCE(e.version, 0) + 1"
+          + " WHERE e.department = :source")
+  int reassignDepartment(
+      @Param("source") Department source, @Param("target") Department target);
+
+  /**
+   * Delete every employee of a department in one statement.
+   *
+   * @param department The department
+   * @return The number of employees deleted
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("DELETE FROM Employee e WHERE e.department = :department")
+  int deleteByDepartment(@Param("department") Department department);
+
+  /**
+   * Fill in the email domain of employees written before the column existed.
+   *
+   * @return The number of employees updated
+   */
+  @Modifying
+  @Query(
+      "UPDATE Employee e SET e.emailDomain = LOWER(SUBSTRING(e.email, LOCATE('@', e.email) + 1))"
+          + " WHERE e.emailDomain IS NULL AND e.email LIKE '%@_%'")
+  int backfillEmailDomains();
+
+  /**
+   * Find snapshots of employees by ID.
+   *
+   * @param ids IDs of the employees
+   * @return Snapshots of the employees that exist
+   */
+  @Query(
+      "SELECT new com.example.employeemanagement.event.EmployeeSnapshot("
+          + "e.id, e.firstName, e.lastName, e.email, e.age, e.department.id)"
+          + " FROM Employee e WHERE e.id IN :ids")
+  List<EmployeeSnapshot> findSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Stream snapshots of all employees, for building in-memory indexes. Must be consumed within a
+   * transaction and closed afterwards.
+   *
+   * @return Stream of employee snapshots
+   */
+  @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query(
+      "SELECT new com.example.employeemanagement.event.EmployeeSnapshot("
+          + "e.id, e.firstName, e.lastName, e.email, e.age, e.department.id)"
+          + " FROM Employee e ORDER BY e.id")
+  Stream<EmployeeSnapshot> streamAllSnapshots();
+
+  /**
+   * Find which of the given employee IDs exist.
+   *
+   * @param ids IDs of the employees
+   * @return The IDs that exist
+   */
+  @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids")
+  List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Find the IDs of the employees of a department.
+   *
+   * @param department The department
+   * @return IDs of the department's employees
+   */
+  @Query("SELECT e.id FROM Employee e WHERE e.department = :department")
+  List<Long> findIdsByDepartment(@Param("department") Department department);
 }
@@ -0,0 +1,33 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.Employee;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/** This interface represents the hand-written query fragment of the employee repository. */
+public interface EmployeeSearchRepository {
+
+  /**
+   * Find at most {@code limit} employees matching a filter, with their departments, without the
+   * count query a {@code Page} would need.
+   *
+   * @param filter The filter, or null for all employees
+   * @param sort The ordering
+   * @param limit The largest number of employees to return
+   * @return List of matching employees
+   */
+  List<Employee> search(Specification<Employee> filter, Sort sort, int limit);
+
+  /**
+   * Stream all employees with their departments, ordered by ID. Rows are pulled from the JDBC
+   * cursor in batches of the fetch size and loaded read-only, so the caller controls how many
+   * entities stay in the persistence context. Must be consumed inside a transaction and closed.
+   *
+   * @param fetchSize The number of rows fetched from the cursor at a time
+   * @return Stream of all employees with their departments
+   */
+  Stream<Employee> streamAllWithDepartments(int fetchSize);
+}
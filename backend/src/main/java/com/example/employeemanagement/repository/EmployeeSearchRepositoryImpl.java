@@ -0,0 +1,48 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.Employee;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+/** This class implements the hand-written query fragment of the employee repository. */
+public class EmployeeSearchRepositoryImpl implements EmployeeSearchRepository {
+
+  /** The entity manager. */
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public List<Employee> search(Specification<Employee> filter, Sort sort, int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Employee> query = cb.createQuery(Employee.class);
+    Root<Employee> employee = query.from(Employee.class);
+    // Departments are eager; fetching them here avoids one select per department afterwards.
+    employee.fetch("department");
+    Predicate predicate = filter == null ? null : filter.toPredicate(employee, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.orderBy(QueryUtils.toOrders(sort, employee, cb));
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  public Stream<Employee> streamAllWithDepartments(int fetchSize) {
+    return entityManager
+        .createQuery(
+            "SELECT e FROM Employee e JOIN FETCH e.department ORDER BY e.id", Employee.class)
+        .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+        .setHint(QueryHints.HINT_READONLY, true)
+        .getResultStream();
+  }
+}
@@ -0,0 +1,82 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * This class provides the filters of the employee search. Each filter is written so the database
+ * can answer it from an index on {@code employees}: equality on {@code department_id} and {@code
+ * email_domain}, and left-anchored prefixes on {@code (last_name, first_name)}.
+ */
+public final class EmployeeSpecifications {
+
+  private EmployeeSpecifications() {}
+
+  /**
+   * Match employees of a department.
+   *
+   * @param departmentId ID of the department
+   * @return The filter
+   */
+  public static Specification<Employee> inDepartment(Long departmentId) {
+    return (employee, query, cb) -> cb.equal(employee.get("department").get("id"), departmentId);
+  }
+
+  /**
+   * Match employees within an age range.
+   *
+   * @param minAge Lowest age, inclusive, or null for no bound
+   * @param maxAge Highest age, inclusive, or null for no bound
+   * @return The filter
+   */
+  public static Specification<Employee> ageBetween(Integer minAge, Integer maxAge) {
+    return (employee, query, cb) -> {
+      if (minAge != null && maxAge != null) {
+        return cb.between(employee.get("age"), minAge, maxAge);
+      }
+      return minAge != null
+          ? cb.greaterThanOrEqualTo(employee.get("age"), minAge)
+          : cb.lessThanOrEqualTo(employee.get("age"), maxAge);
+    };
+  }
+
+  /**
+   * Match employees whose last name starts with a prefix. The match is case-sensitive so it stays a
+   * range scan on the name index.
+   *
+   * @param prefix The prefix
+   * @return The filter
+   */
+  public static Specification<Employee> lastNameStartsWith(String prefix) {
+    return (employee, query, cb) ->
+        cb.like(employee.get("lastName"), escapeLike(prefix) + "%", '\\');
+  }
+
+  /**
+   * Match employees whose first name starts with a prefix, case-sensitively.
+   *
+   * @param prefix The prefix
+   * @return The filter
+   */
+  public static Specification<Employee> firstNameStartsWith(String prefix) {
+    return (employee, query, cb) ->
+        cb.like(employee.get("firstName"), escapeLike(prefix) + "%", '\\');
+  }
+
+  /**
+   * Match employees whose email address is at a domain, case-insensitively.
+   *
+   * @param domain The domain, e.g. {@code example.com}
+   * @return The filter
+   */
+  public static Specification<Employee> emailDomain(String domain) {
+    String normalized = domain.trim().toLowerCase(Locale.ROOT);
+    return (employee, query, cb) -> cb.equal(employee.get("emailDomain"), normalized);
+  }
+
+  private static String escapeLike(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
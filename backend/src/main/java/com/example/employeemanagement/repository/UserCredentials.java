@@ -0,0 +1,22 @@
+package com.example.employeemanagement.repository;
+
+/**
+ * This interface represents a projection of the user columns needed for authentication, so that
+ * lookups do not load the rest of the user row.
+ */
+public interface UserCredentials {
+
+  /**
+   * Gets the username.
+   *
+   * @return The username
+   */
+  String getUsername();
+
+  /**
+   * Gets the encoded password.
+   *
+   * @return The encoded password
+   */
+  String getPassword();
+}
@@ -0,0 +1,19 @@
+package com.example.employeemanagement.repository;
+
+/** This interface represents a projection of the columns identifying a user. */
+public interface UserIdentity {
+
+  /**
+   * Gets the user ID.
+   *
+   * @return The user ID
+   */
+  Long getId();
+
+  /**
+   * Gets the username.
+   *
+   * @return The username
+   */
+  String getUsername();
+}
@@ -2,9 +2,54 @@ package com.example.employeemanagement.repository;
 
 import com.example.employeemanagement.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /** This interface represents the repository for users. */
 public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByUsername(String username);
+
+  /**
+   * Find only the credentials of a user.
+   *
+   * @param username The username
+   * @return The username and encoded password
+   */
+  @Query("SELECT u.username AS username, u.password AS password FROM User u WHERE u.username = :username")
+  Optional<UserCredentials> findCredentialsByUsername(@Param("username") String username);
+
+  /**
+   * Check whether a username is taken.
+   *
+   * @param username The username
+   * @return Whether a user has this username
+   */
+  boolean existsByUsername(String username);
+
+  /**
+   * Stream the ID and username of every user.
+   *
+   * @return The users; the stream must be closed and read inside a transaction
+   */
+  @Query("SELECT u.id AS id, u.username AS username FROM User u")
+  Stream<UserIdentity> streamAllIdentities();
+
+  /**
+   * Check whether any user points to a stored image.
+   *
+   * @param profileImageKey The image store key
+   * @return Whether a user has this profile image
+   */
+  boolean existsByProfileImageKey(String profileImageKey);
+
+  /**
+   * Find every image key a user points to.
+   *
+   * @return The distinct profile image keys
+   */
+  @Query("SELECT DISTINCT u.profileImageKey FROM User u WHERE u.profileImageKey IS NOT NULL")
+  Set<String> findAllProfileImageKeys();
 }
@@ -1,6 +1,6 @@
 package com.example.employeemanagement.security;
 
-import com.example.employeemanagement.model.User;
+import com.example.employeemanagement.repository.UserCredentials;
 import com.example.employeemanagement.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,8 +18,12 @@ public class CustomUserDetailsService implements UserDetailsService {
   @Autowired
   private UserRepository userRepository;
 
+  /** The cache of resolved user details. */
+  @Autowired
+  private UserDetailsCache userDetailsCache;
+
   /**
-   * Load user by username.
+   * Load user by username. Results are served from the user details cache when possible.
    *
    * @param username The username
    * @return The user details
@@ -27,7 +31,18 @@ public class CustomUserDetailsService implements UserDetailsService {
    */
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    User user = userRepository.findByUsername(username)
+    return userDetailsCache.get(username, this::loadFromRepository);
+  }
+
+  /**
+   * Load user details from the database, reading only the credential columns.
+   *
+   * @param username The username
+   * @return The user details
+   * @throws UsernameNotFoundException If the username is not found
+   */
+  private UserDetails loadFromRepository(String username) {
+    UserCredentials user = userRepository.findCredentialsByUsername(username)
         .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
     return new org.springframework.security.core.userdetails.User(user.getUsername(), user.getPassword(), new ArrayList<>());
@@ -1,10 +1,13 @@
 package com.example.employeemanagement.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,6 +17,7 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 
 /** This class represents the JWT request filter. */
 @Component
@@ -26,7 +30,8 @@ public class JwtRequestFilter extends OncePerRequestFilter {
   @Autowired private JwtTokenUtil jwtTokenUtil;
 
   /**
-   * Do filter internal.
+   * Do filter internal. The bearer token is verified once; the subject and expiry it yields are
+   * used for both the user lookup and the validity check.
    *
    * @param request The HTTP servlet request
    * @param response The HTTP servlet response
@@ -41,25 +46,28 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     final String authorizationHeader = request.getHeader("Authorization");
 
-    String username = null;
-    String jwt = null;
+    Optional<VerifiedToken> token = Optional.empty();
 
     if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-      jwt = authorizationHeader.substring(7);
-      username = jwtTokenUtil.extractUsername(jwt);
+      token = jwtTokenUtil.verifyToken(authorizationHeader.substring(7));
     }
 
-    if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+    // This filter runs after the security chain has installed an anonymous authentication, so
+    // that one is replaced as well.
+    Authentication current = SecurityContextHolder.getContext().getAuthentication();
+    if (token.isPresent()
+        && (current == null || current instanceof AnonymousAuthenticationToken)) {
 
-      UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-      if (jwtTokenUtil.validateToken(jwt, userDetails.getUsername())) {
+      try {
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(token.get().getSubject());
 
         UsernamePasswordAuthenticationToken authenticationToken =
             new UsernamePasswordAuthenticationToken(
                 userDetails, null, userDetails.getAuthorities());
         authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+      } catch (UsernameNotFoundException e) {
+        // The token outlived its user; continue unauthenticated.
       }
     }
     chain.doFilter(request, response);
@@ -1,20 +1,89 @@
 package com.example.employeemanagement.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
-/** This class represents the JWT token utility. */
+/**
+ * This class represents the JWT token utility. Verified tokens are remembered by the SHA-256
+ * digest of their compact form until they expire, so a token presented repeatedly is parsed and
+ * signature-checked only once.
+ */
 @Component
 public class JwtTokenUtil {
 
   /** The secret key. */
   private String secret = "secretKey";
 
+  /** Verified tokens keyed by the digest of their compact serialization. */
+  private final Cache<String, VerifiedToken> verifiedTokens;
+
+  /**
+   * Constructor for the JWT token utility.
+   *
+   * @param maxCachedTokens The maximum number of verified tokens to remember
+   * @param meterRegistry The registry the cache metrics are bound to
+   */
+  public JwtTokenUtil(
+      @Value("${app.security.token-cache.max-size:10000}") long maxCachedTokens,
+      MeterRegistry meterRegistry) {
+    this.verifiedTokens =
+        Caffeine.newBuilder()
+            .maximumSize(maxCachedTokens)
+            .expireAfter(new TokenExpiry())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokens");
+  }
+
+  /**
+   * Verify a token and return its claims. The signature is checked at most once per distinct
+   * token; later calls are answered from the verified-token cache.
+   *
+   * @param token The token
+   * @return The verified claims, or empty if the token is malformed, forged or expired
+   */
+  public Optional<VerifiedToken> verifyToken(String token) {
+    if (token == null || token.isEmpty()) {
+      return Optional.empty();
+    }
+    String digest = digest(token);
+    VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+    if (verified == null) {
+      Claims claims;
+      try {
+        claims = extractAllClaims(token);
+      } catch (JwtException | IllegalArgumentException e) {
+        return Optional.empty();
+      }
+      if (claims.getSubject() == null || claims.getExpiration() == null) {
+        return Optional.empty();
+      }
+      verified = new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime());
+      verifiedTokens.put(digest, verified);
+    }
+    return verified.isExpiredAt(System.currentTimeMillis())
+        ? Optional.empty()
+        : Optional.of(verified);
+  }
+
   /**
    * Extract username.
    *
@@ -58,16 +127,6 @@ public class JwtTokenUtil {
     return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
   }
 
-  /**
-   * Determine if the token is expired.
-   *
-   * @param token The token
-   * @return True if the token is expired, false otherwise
-   */
-  private Boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
-  }
-
   /**
    * Generate JWT token.
    *
@@ -91,7 +150,55 @@ public class JwtTokenUtil {
    * @return True if the token is valid, false otherwise
    */
   public Boolean validateToken(String token, String username) {
-    final String extractedUsername = extractUsername(token);
-    return (extractedUsername.equals(username) && !isTokenExpired(token));
+    return verifyToken(token).map(verified -> verified.getSubject().equals(username)).orElse(false);
+  }
+
+  /**
+   * Get the number of verified tokens remembered, after pending expirations and evictions have been
+   * applied.
+   *
+   * @return The number of cached tokens
+   */
+  public long getCachedTokenCount() {
+    verifiedTokens.cleanUp();
+    return verifiedTokens.estimatedSize();
+  }
+
+  /**
+   * Compute the cache key of a token.
+   *
+   * @param token The token
+   * @return The Base64-encoded SHA-256 digest of the token
+   */
+  private static String digest(String token) {
+    try {
+      MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+      return Base64.getEncoder()
+          .encodeToString(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /** Expires each cached token when the token itself expires. */
+  private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+    @Override
+    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+      long remainingMillis = value.getExpiration().getTime() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
   }
 }
@@ -0,0 +1,80 @@
+package com.example.employeemanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * This class represents a bounded, time-limited cache of resolved user details, keyed by username.
+ * Hit, miss and eviction counts are published as {@code cache.*} metrics with the tag {@code
+ * cache=userDetails}.
+ */
+@Component
+public class UserDetailsCache {
+
+  /** The underlying cache. */
+  private final Cache<String, UserDetails> cache;
+
+  /**
+   * Constructor for the cache.
+   *
+   * @param maxSize The maximum number of cached users
+   * @param ttlSeconds The number of seconds an entry stays valid after it was loaded
+   * @param meterRegistry The registry the cache metrics are bound to
+   */
+  public UserDetailsCache(
+      @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+      @Value("${app.security.user-cache.ttl-seconds:300}") long ttlSeconds,
+      MeterRegistry meterRegistry) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+  }
+
+  /**
+   * Get the user details for a username, loading them on a miss.
+   *
+   * <p>A copy is returned because the authentication manager erases the credentials of the
+   * details it is given, which would otherwise blank the cached password.
+   *
+   * @param username The username
+   * @param loader Loads the user details on a miss; exceptions are propagated and not cached
+   * @return A copy of the user details
+   */
+  public UserDetails get(String username, Function<String, UserDetails> loader) {
+    return User.withUserDetails(cache.get(username, loader)).build();
+  }
+
+  /**
+   * Remove a user from the cache. Must be called whenever a user's stored state changes.
+   *
+   * @param username The username
+   */
+  public void evict(String username) {
+    if (username != null) {
+      cache.invalidate(username);
+    }
+  }
+
+  /**
+   * Get the number of cached users, after pending expirations and evictions have been applied.
+   *
+   * @return The number of cached users
+   */
+  public long size() {
+    cache.cleanUp();
+    return cache.estimatedSize();
+  }
+}
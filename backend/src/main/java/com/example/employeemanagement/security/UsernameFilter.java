@@ -0,0 +1,295 @@
+package com.example.employeemanagement.security;
+
+import com.example.employeemanagement.event.UserRegisteredEvent;
+import com.example.employeemanagement.service.SnapshotScanner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class represents a scalable Bloom filter of the existing usernames, letting authentication
+ * endpoints reject unknown usernames without querying the users table.
+ *
+ * <p>The filter is a chain of Bloom filters. The first is sized for {@code
+ * app.security.username-filter.expected-users}; each time the newest one is full, another with
+ * twice the capacity and half the false-positive rate is added, so the overall rate stays below
+ * {@code app.security.username-filter.false-positive-rate} however many users register. A miss is
+ * definite, a hit only means the database must be asked.
+ *
+ * <p>The filter is filled at startup and updated from {@link UserRegisteredEvent}. Until the
+ * startup scan is done every username is reported as possibly present. The fill ratio, the
+ * estimated false-positive rate and the number of rejected lookups are published as {@code
+ * usernames.filter.*} metrics.
+ */
+@Component
+public class UsernameFilter implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(UsernameFilter.class);
+
+  /** The factor by which the false-positive rate of each new stage shrinks. */
+  private static final double TIGHTENING = 0.5;
+
+  /** The factor by which the capacity of each new stage grows. */
+  private static final int GROWTH = 2;
+
+  /** The largest capacity of one stage, keeping its bit count within an int-indexed array. */
+  private static final int MAX_STAGE_CAPACITY = 1 << 26;
+
+  /** The scanner reading all users once at startup. */
+  @Autowired private SnapshotScanner snapshotScanner;
+
+  /** The stages, oldest first; only the newest receives new usernames. */
+  private final List<Stage> stages = new ArrayList<>();
+
+  /** The number of lookups answered as definite misses. */
+  private final Counter rejected;
+
+  /** Whether the startup scan has finished. */
+  private volatile boolean ready;
+
+  /** The lock guarding the stages. */
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * Constructor for the filter.
+   *
+   * @param expectedUsers The number of usernames the first stage is sized for
+   * @param falsePositiveRate The bound on the overall false-positive rate
+   * @param meterRegistry The registry the filter metrics are bound to
+   */
+  public UsernameFilter(
+      @Value("${app.security.username-filter.expected-users:10000}") int expectedUsers,
+      @Value("${app.security.username-filter.false-positive-rate:0.01}") double falsePositiveRate,
+      MeterRegistry meterRegistry) {
+    if (expectedUsers < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException(
+          "Username filter needs a positive capacity and a false-positive rate between 0 and 1");
+    }
+    stages.add(new Stage(expectedUsers, falsePositiveRate * (1 - TIGHTENING)));
+    Gauge.builder("usernames.filter.fill.ratio", this, UsernameFilter::fillRatio)
+        .description("Fraction of the username filter bits that are set")
+        .register(meterRegistry);
+    Gauge.builder(
+            "usernames.filter.false.positive.rate", this, UsernameFilter::estimatedFalsePositiveRate)
+        .description("Estimated probability that an unknown username passes the filter")
+        .register(meterRegistry);
+    this.rejected =
+        Counter.builder("usernames.filter.rejected")
+            .description("Username lookups answered by the filter without a query")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Fill the filter from the database at startup.
+   *
+   * @param args The application arguments
+   */
+  @Override
+  public void run(ApplicationArguments args) {
+    long start = System.nanoTime();
+    long count =
+        snapshotScanner.scanUsers(batch -> batch.forEach(user -> add(user.getUsername())));
+    ready = true;
+    logger.info(
+        "Loaded {} usernames into the username filter in {} ms",
+        count,
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Add a newly registered user to the filter.
+   *
+   * @param event The registration
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserRegistered(UserRegisteredEvent event) {
+    add(event.getUsername());
+  }
+
+  /**
+   * Check whether a username may exist. False is definite; true means the database must be asked.
+   *
+   * @param username The username, compared exactly
+   * @return Whether the username may exist
+   */
+  public boolean mightContain(String username) {
+    if (!ready) {
+      return true;
+    }
+    if (username == null) {
+      rejected.increment();
+      return false;
+    }
+    long hash = hash(username);
+    lock.readLock().lock();
+    try {
+      for (Stage stage : stages) {
+        if (stage.contains(hash)) {
+          return true;
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    rejected.increment();
+    return false;
+  }
+
+  /**
+   * Get the fraction of set bits over all stages.
+   *
+   * @return The fill ratio
+   */
+  public double fillRatio() {
+    lock.readLock().lock();
+    try {
+      long set = 0;
+      long bits = 0;
+      for (Stage stage : stages) {
+        set += stage.setBits;
+        bits += stage.bits;
+      }
+      return (double) set / bits;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Estimate the current false-positive rate from the fill of each stage.
+   *
+   * @return The probability that an unknown username passes the filter
+   */
+  public double estimatedFalsePositiveRate() {
+    lock.readLock().lock();
+    try {
+      double allMiss = 1;
+      for (Stage stage : stages) {
+        allMiss *= 1 - Math.pow((double) stage.setBits / stage.bits, stage.hashes);
+      }
+      return 1 - allMiss;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Get the number of stages.
+   *
+   * @return The number of stages
+   */
+  public int getStageCount() {
+    lock.readLock().lock();
+    try {
+      return stages.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void add(String username) {
+    if (username == null) {
+      return;
+    }
+    long hash = hash(username);
+    lock.writeLock().lock();
+    try {
+      for (Stage stage : stages) {
+        if (stage.contains(hash)) {
+          return;
+        }
+      }
+      Stage newest = stages.get(stages.size() - 1);
+      if (newest.count >= newest.capacity) {
+        newest =
+            new Stage(
+                (int) Math.min((long) newest.capacity * GROWTH, MAX_STAGE_CAPACITY),
+                newest.falsePositiveRate * TIGHTENING);
+        stages.add(newest);
+        logger.info(
+            "Username filter grew to {} stages, newest sized for {} users",
+            stages.size(),
+            newest.capacity);
+      }
+      newest.add(hash);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Hash a username to 64 bits: FNV-1a over its characters, then a MurmurHash3 finalizer. */
+  private static long hash(String username) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < username.length(); i++) {
+      hash ^= username.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  /** One Bloom filter of the chain, probed by double hashing of the 64-bit username hash. */
+  private static final class Stage {
+
+    private final int capacity;
+    private final double falsePositiveRate;
+    private final long bits;
+    private final int hashes;
+    private final long[] words;
+    private int count;
+    private long setBits;
+
+    private Stage(int capacity, double falsePositiveRate) {
+      this.capacity = capacity;
+      this.falsePositiveRate = falsePositiveRate;
+      double ln2 = Math.log(2);
+      long size = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+      this.words = new long[(int) Math.max(1, (size + 63) / 64)];
+      this.bits = words.length * 64L;
+      this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * ln2));
+    }
+
+    private boolean contains(long hash) {
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 1; i <= hashes; i++) {
+        long bit = Math.floorMod(h1 + (long) i * h2, bits);
+        if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void add(long hash) {
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 1; i <= hashes; i++) {
+        long bit = Math.floorMod(h1 + (long) i * h2, bits);
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        if ((words[word] & mask) == 0) {
+          words[word] |= mask;
+          setBits++;
+        }
+      }
+      count++;
+    }
+  }
+}
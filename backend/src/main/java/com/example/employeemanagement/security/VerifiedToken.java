@@ -0,0 +1,52 @@
+package com.example.employeemanagement.security;
+
+import java.util.Date;
+
+/** This class represents the claims of a JWT whose signature has already been verified. */
+public final class VerifiedToken {
+
+  /** The subject (username) of the token. */
+  private final String subject;
+
+  /** The expiration time of the token, in epoch milliseconds. */
+  private final long expiresAtMillis;
+
+  /**
+   * Constructor for the verified token.
+   *
+   * @param subject The subject of the token
+   * @param expiresAtMillis The expiration time of the token, in epoch milliseconds
+   */
+  public VerifiedToken(String subject, long expiresAtMillis) {
+    this.subject = subject;
+    this.expiresAtMillis = expiresAtMillis;
+  }
+
+  /**
+   * Gets the subject.
+   *
+   * @return The subject (username)
+   */
+  public String getSubject() {
+    return subject;
+  }
+
+  /**
+   * Gets the expiration date.
+   *
+   * @return The expiration date
+   */
+  public Date getExpiration() {
+    return new Date(expiresAtMillis);
+  }
+
+  /**
+   * Determine if the token is expired at the given time.
+   *
+   * @param nowMillis The current time, in epoch milliseconds
+   * @return True if the token is expired, false otherwise
+   */
+  public boolean isExpiredAt(long nowMillis) {
+    return expiresAtMillis <= nowMillis;
+  }
+}
@@ -1,54 +1,270 @@
 package com.example.employeemanagement.service;
 
+import com.example.employeemanagement.dto.DepartmentSummary;
+import com.example.employeemanagement.dto.EmployeeSummary;
+import com.example.employeemanagement.event.DepartmentChangedEvent;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.exception.ConflictException;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
 import com.example.employeemanagement.model.Department;
 import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /** This class represents the service for departments. */
 @Service
 public class DepartmentService {
 
+  /** What to do with a department's employees when the department is deleted. */
+  public enum DeleteStrategy {
+    /** Delete the employees with the department. */
+    CASCADE,
+    /** Move the employees to another department. */
+    REASSIGN,
+    /** Refuse to delete a department that still has employees. */
+    REJECT;
+
+    /**
+     * Parse a delete strategy from a request parameter.
+     *
+     * @param value The request parameter value, e.g. {@code cascade} or {@code reassign}
+     * @return The strategy, {@link #CASCADE} if the value is null
+     */
+    public static DeleteStrategy fromParameter(String value) {
+      if (value == null || value.isEmpty()) {
+        return CASCADE;
+      }
+      for (DeleteStrategy strategy : values()) {
+        if (strategy.name().equalsIgnoreCase(value)) {
+          return strategy;
+        }
+      }
+      throw new BadRequestException("Unsupported delete strategy: " + value);
+    }
+  }
+
   /** The department repository. */
   @Autowired private DepartmentRepository departmentRepository;
 
+  /** The employee repository. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The publisher of employee and department change events. */
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
+  /** The largest number of IDs bound into one IN list. */
+  private static final int ID_CHUNK_SIZE = 1000;
+
   /**
-   * Get all departments.
+   * The cache of departments by ID. Entries hold only the ID and name, never a managed entity or
+   * its employee collection, and callers always receive a copy.
+   */
+  private final Cache<Long, Department> departmentCache;
+
+  /**
+   * Constructor for the service. Cache hit, miss and eviction counts are published as {@code
+   * cache.*} metrics with the tag {@code cache=departments} when a meter registry is available.
+   *
+   * @param cacheMaxSize The maximum number of cached departments
+   * @param meterRegistry The registry the cache metrics are bound to, if any
+   */
+  public DepartmentService(
+      @Value("${app.departments.cache.max-size:10000}") long cacheMaxSize,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this.departmentCache = Caffeine.newBuilder().maximumSize(cacheMaxSize).recordStats().build();
+    meterRegistry.ifAvailable(
+        registry -> CaffeineCacheMetrics.monitor(registry, departmentCache, "departments"));
+  }
+
+  /**
+   * Get all departments. Employees are fetched in the same statement so that serializing the
+   * employee collections does not issue one query per department.
    *
    * @return List of all departments
    */
   public List<Department> getAllDepartments() {
-    return departmentRepository.findAll();
+    return departmentRepository.findAllWithEmployees();
+  }
+
+  /**
+   * Get all departments with their employee counts. This takes one aggregate statement, plus one
+   * projection statement for all employees when they are requested.
+   *
+   * @param includeEmployees Whether to attach each department's employees
+   * @return List of department summaries
+   */
+  @Transactional(readOnly = true)
+  public List<DepartmentSummary> getDepartmentSummaries(boolean includeEmployees) {
+    List<DepartmentSummary> summaries = departmentRepository.findAllSummaries();
+    if (includeEmployees) {
+      Map<Long, DepartmentSummary> byId = new HashMap<>();
+      for (DepartmentSummary summary : summaries) {
+        summary.setEmployees(new ArrayList<>((int) summary.getEmployeeCount()));
+        byId.put(summary.getId(), summary);
+      }
+      for (EmployeeSummary employee : employeeRepository.findAllSummaries()) {
+        DepartmentSummary summary = byId.get(employee.getDepartmentId());
+        if (summary != null) {
+          summary.getEmployees().add(employee);
+        }
+      }
+    }
+    return summaries;
   }
 
   /**
-   * Get department by ID.
+   * Get department by ID. The department is read with its employees in one statement, so that
+   * they can be serialized or merged back without a session.
    *
    * @param id ID of the department to be retrieved
    * @return Department with the specified ID
    */
   public Optional<Department> getDepartmentById(Long id) {
-    return departmentRepository.findById(id);
+    return departmentRepository.findByIdWithEmployees(id);
   }
 
   /**
-   * Save a department.
+   * Get a department's ID and name, e.g. to assign an employee to it. Departments are read through
+   * the department cache; the result carries no employees, and is a copy the caller may modify.
+   *
+   * @param id ID of the department to be retrieved
+   * @return Department with the specified ID, without its employees
+   */
+  public Optional<Department> getCachedDepartment(Long id) {
+    Department cached =
+        departmentCache.get(
+            id, key -> departmentRepository.findById(key).map(DepartmentService::copyOf).orElse(null));
+    return Optional.ofNullable(cached).map(DepartmentService::copyOf);
+  }
+
+  /**
+   * Save a department, writing it through to the department cache once committed, and publish the
+   * change.
    *
    * @param department Department to be saved
    * @return Saved department
    */
   public Department saveDepartment(Department department) {
-    return departmentRepository.save(department);
+    Department saved = departmentRepository.save(department);
+    Department copy = copyOf(saved);
+    afterCommit(() -> departmentCache.put(copy.getId(), copy));
+    eventPublisher.publishEvent(DepartmentChangedEvent.upserted(saved.getId(), saved.getName()));
+    return saved;
+  }
+
+  /**
+   * Get the department cache statistics.
+   *
+   * @return Hit, miss, load and eviction counts since startup
+   */
+  public CacheStats getCacheStats() {
+    return departmentCache.stats();
   }
 
   /**
-   * Update a department.
+   * Delete a department. Its employees are handled according to the strategy with one bulk
+   * statement, and neither the department nor its employee entities are loaded. Only the affected
+   * IDs are read, plus the snapshots of reassigned employees, for the change event.
    *
-   * @param id ID of the department to be updated
+   * @param id ID of the department to be deleted
+   * @param strategy What to do with the department's employees
+   * @param targetId ID of the department receiving the employees, for {@link DeleteStrategy#REASSIGN}
+   * @return Number of employees deleted or reassigned
    */
-  public void deleteDepartment(Long id) {
-    departmentRepository.deleteById(id);
+  @Transactional
+  public int deleteDepartment(Long id, DeleteStrategy strategy, Long targetId) {
+    if (!departmentRepository.existsById(id)) {
+      throw new ResourceNotFoundException("Department not found with id: " + id);
+    }
+    Department department = departmentRepository.getReferenceById(id);
+    int affected = 0;
+    switch (strategy) {
+      case REJECT:
+        if (employeeRepository.existsByDepartmentId(id)) {
+          throw new ConflictException("Department " + id + " still has employees");
+        }
+        break;
+      case REASSIGN:
+        if (targetId == null) {
+          throw new BadRequestException("targetDepartmentId is required to reassign employees");
+        }
+        if (targetId.equals(id)) {
+          throw new BadRequestException("Cannot reassign employees to the department being deleted");
+        }
+        if (!departmentRepository.existsById(targetId)) {
+          throw new ResourceNotFoundException("Department not found with id: " + targetId);
+        }
+        List<Long> moved = employeeRepository.findIdsByDepartment(department);
+        affected =
+            employeeRepository.reassignDepartment(
+                department, departmentRepository.getReferenceById(targetId));
+        List<EmployeeSnapshot> snapshots = new ArrayList<>(moved.size());
+        for (int from = 0; from < moved.size(); from += ID_CHUNK_SIZE) {
+          snapshots.addAll(
+              employeeRepository.findSnapshotsByIdIn(
+                  moved.subList(from, Math.min(from + ID_CHUNK_SIZE, moved.size()))));
+        }
+        if (!snapshots.isEmpty()) {
+          eventPublisher.publishEvent(EmployeeChangedEvent.upserted(snapshots));
+        }
+        break;
+      default:
+        List<Long> deleted = employeeRepository.findIdsByDepartment(department);
+        affected = employeeRepository.deleteByDepartment(department);
+        if (!deleted.isEmpty()) {
+          eventPublisher.publishEvent(EmployeeChangedEvent.deleted(deleted));
+        }
+        break;
+    }
+    departmentRepository.deleteDepartmentById(id);
+    departmentCache.invalidate(id);
+    // Evict again once the outcome is known, in case a concurrent read reloaded the row meanwhile.
+    afterCommit(() -> departmentCache.invalidate(id));
+    eventPublisher.publishEvent(DepartmentChangedEvent.deleted(id));
+    return affected;
+  }
+
+  /**
+   * Run a cache update once the current transaction commits, or immediately outside one, so that
+   * the cache never holds state that is rolled back.
+   *
+   * @param update The cache update
+   */
+  private static void afterCommit(Runnable update) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      update.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            update.run();
+          }
+        });
+  }
+
+  /** Copy the cached columns of a department, leaving its employees out. */
+  private static Department copyOf(Department department) {
+    return new Department(department.getId(), department.getName(), null);
   }
 }
@@ -0,0 +1,223 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeChanges;
+import com.example.employeemanagement.event.DepartmentChangedEvent;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.exception.GoneException;
+import com.example.employeemanagement.sse.SseBroadcaster;
+import com.example.employeemanagement.sse.SseMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * This class pushes committed employee and department changes to subscribers over server-sent
+ * events, so open clients update their lists in place instead of reloading them after every write.
+ *
+ * <p>Writes are coalesced: the first change after a quiet period schedules a flush {@code
+ * app.employees.changes.stream.coalesce-millis} later, and that flush publishes everything
+ * committed meanwhile as one message, rendered once and queued for every subscriber. Employee
+ * changes are read from the {@link EmployeeChangeLog}, so an employee written many times in a burst
+ * is sent once with its latest state.
+ *
+ * <p>Three events are sent:
+ *
+ * <ul>
+ *   <li>{@code employees}: an {@link EmployeeChanges} object; the event ID is its sequence number.
+ *   <li>{@code departments}: an array of {@link DepartmentChangedEvent} objects.
+ *   <li>{@code reset}: the changes were too many to send, or are no longer in the log; the client
+ *       reloads its data. The event ID and data are the current sequence number.
+ * </ul>
+ *
+ * A client reconnecting with {@code Last-Event-ID}, or subscribing with a sequence number, is first
+ * sent the employee changes it missed.
+ */
+@Service
+public class EmployeeChangeFeed {
+
+  private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+  /** The name of the events carrying employee changes. */
+  public static final String EMPLOYEES_EVENT = "employees";
+
+  /** The name of the events carrying department changes. */
+  public static final String DEPARTMENTS_EVENT = "departments";
+
+  /** The name of the events telling clients to reload. */
+  public static final String RESET_EVENT = "reset";
+
+  /** The log the employee changes are read from. */
+  @Autowired private EmployeeChangeLog employeeChangeLog;
+
+  /** The mapper rendering the event data. */
+  @Autowired private ObjectMapper objectMapper;
+
+  /** The delay between the first change of a burst and its publication, in milliseconds. */
+  @Value("${app.employees.changes.stream.coalesce-millis:200}")
+  private long coalesceMillis;
+
+  /** The largest number of employee changes sent in one message before clients are reset. */
+  @Value("${app.employees.changes.stream.max-batch:1000}")
+  private int maxBatch;
+
+  /** The number of messages buffered per subscriber before messages are dropped. */
+  @Value("${app.employees.changes.stream.buffer-size:64}")
+  private int bufferSize;
+
+  /** The lifetime of one stream connection, in milliseconds. */
+  @Value("${app.employees.changes.stream.timeout-millis:1800000}")
+  private long timeoutMillis;
+
+  /** The broadcaster fanning messages out to subscribers. */
+  private SseBroadcaster broadcaster;
+
+  /** The thread publishing coalesced changes. */
+  private final ScheduledExecutorService flusher =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "employee-change-feed");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /** Whether a flush is scheduled. */
+  private boolean flushScheduled;
+
+  /** The sequence number of the last employee change published. */
+  private long published;
+
+  /** The department changes since the last flush, latest per department. */
+  private final Map<Long, DepartmentChangedEvent> pendingDepartments = new LinkedHashMap<>();
+
+  /** Create the broadcaster once the configuration is injected. */
+  @PostConstruct
+  void init() {
+    broadcaster = new SseBroadcaster("changes", 2, bufferSize, timeoutMillis);
+    published = employeeChangeLog.currentSequence();
+  }
+
+  /** Stop publishing and disconnect all subscribers. */
+  @PreDestroy
+  void shutdown() {
+    flusher.shutdownNow();
+    broadcaster.shutdown();
+  }
+
+  /**
+   * Subscribe to the change feed.
+   *
+   * @param since Sequence number of the last employee change the client has, or null for none
+   * @return The emitter for the new subscriber
+   */
+  public synchronized SseEmitter subscribe(Long since) {
+    SseBroadcaster.Subscriber subscriber = broadcaster.subscribe();
+    if (since != null) {
+      try {
+        EmployeeChanges missed = employeeChangeLog.changesSince(since, maxBatch);
+        if (missed.isHasMore()) {
+          subscriber.enqueue(reset(missed.getSequence()));
+        } else if (!missed.getUpserted().isEmpty() || !missed.getDeleted().isEmpty()) {
+          subscriber.enqueue(render(EMPLOYEES_EVENT, missed.getSequence(), missed));
+        }
+      } catch (GoneException e) {
+        subscriber.enqueue(reset(employeeChangeLog.currentSequence()));
+      }
+    }
+    return subscriber.getEmitter();
+  }
+
+  /**
+   * Get the number of connected subscribers.
+   *
+   * @return The subscriber count
+   */
+  public int getSubscriberCount() {
+    return broadcaster.getSubscriberCount();
+  }
+
+  /**
+   * Schedule the publication of committed employee writes.
+   *
+   * @param event The writes
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public synchronized void onEmployeesChanged(EmployeeChangedEvent event) {
+    if (!event.isEmpty()) {
+      scheduleFlush();
+    }
+  }
+
+  /**
+   * Schedule the publication of a committed department write.
+   *
+   * @param event The write
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public synchronized void onDepartmentChanged(DepartmentChangedEvent event) {
+    pendingDepartments.put(event.getId(), event);
+    scheduleFlush();
+  }
+
+  /**
+   * Publish everything committed since the last flush. Runs on the flusher thread, and holds the
+   * same lock as {@link #subscribe}, so a new subscriber gets each change either in its catch-up
+   * message or in a later broadcast.
+   */
+  synchronized void flush() {
+    flushScheduled = false;
+    if (!pendingDepartments.isEmpty()) {
+      broadcaster.broadcast(
+          render(DEPARTMENTS_EVENT, null, new ArrayList<>(pendingDepartments.values())));
+      pendingDepartments.clear();
+    }
+    try {
+      EmployeeChanges changes = employeeChangeLog.changesSince(published, maxBatch);
+      if (changes.isHasMore()) {
+        published = employeeChangeLog.currentSequence();
+        broadcaster.broadcast(reset(published));
+      } else if (changes.getSequence() != published) {
+        published = changes.getSequence();
+        broadcaster.broadcast(render(EMPLOYEES_EVENT, published, changes));
+      }
+    } catch (GoneException e) {
+      published = employeeChangeLog.currentSequence();
+      broadcaster.broadcast(reset(published));
+    }
+  }
+
+  private void scheduleFlush() {
+    if (!flushScheduled) {
+      flushScheduled = true;
+      flusher.schedule(this::flush, coalesceMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private static SseMessage reset(long sequence) {
+    return new SseMessage(Long.toString(sequence), RESET_EVENT, Long.toString(sequence));
+  }
+
+  private SseMessage render(String name, Long sequence, Object data) {
+    try {
+      return new SseMessage(
+          sequence == null ? null : sequence.toString(), name, objectMapper.writeValueAsString(data));
+    } catch (JsonProcessingException e) {
+      logger.error("Could not render {} change event: {}", name, e.getMessage());
+      throw new IllegalStateException(e);
+    }
+  }
+}
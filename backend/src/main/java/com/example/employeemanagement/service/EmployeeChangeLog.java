@@ -0,0 +1,178 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeChanges;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.exception.GoneException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class represents the log of committed employee changes, numbered by a monotonic change
+ * sequence, from which clients fetch only what changed since their last sync.
+ *
+ * <p>The log is compacted: it holds one entry per employee, the latest upsert or a tombstone for a
+ * delete, under the sequence number of that change. Once more than {@code
+ * app.employees.changes.max-entries} employees have entries the oldest are dropped, and requests
+ * from before the dropped range are answered with 410 so the client reloads the full list.
+ *
+ * <p>The log lives in memory and starts empty. Sequence numbers start from the startup time in
+ * microseconds, so numbers issued before a restart fall below the log and also get 410.
+ */
+@Component
+public class EmployeeChangeLog {
+
+  /** The largest number of changes returned by one request. */
+  public static final int MAX_LIMIT = 10_000;
+
+  /** The largest number of employees with entries in the log. */
+  private final int maxEntries;
+
+  /** The entries by sequence number. */
+  private final TreeMap<Long, Change> bySequence = new TreeMap<>();
+
+  /** The entries by employee ID. */
+  private final Map<Long, Change> byEmployee = new HashMap<>();
+
+  /** The sequence number of the latest change. */
+  private long sequence;
+
+  /** The lowest sequence number a client may sync from; earlier entries were dropped. */
+  private long floor;
+
+  /** The lock guarding the entries and sequence numbers. */
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * Constructor for the log.
+   *
+   * @param maxEntries The largest number of employees with entries in the log
+   */
+  public EmployeeChangeLog(@Value("${app.employees.changes.max-entries:100000}") int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("Employee change log needs room for at least one entry");
+    }
+    this.maxEntries = maxEntries;
+    this.sequence = System.currentTimeMillis() * 1000;
+    this.floor = sequence;
+  }
+
+  /**
+   * Record committed employee writes. Runs before other listeners of the event, so that those
+   * reading the log, like the {@link EmployeeChangeFeed}, find the writes in it.
+   *
+   * @param event The writes
+   */
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeesChanged(EmployeeChangedEvent event) {
+    if (event.isEmpty()) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      for (Long id : event.getDeleted()) {
+        record(id, null);
+      }
+      for (EmployeeSnapshot employee : event.getUpserted()) {
+        record(employee.getId(), employee);
+      }
+      Iterator<Change> oldest = bySequence.values().iterator();
+      while (bySequence.size() > maxEntries) {
+        Change dropped = oldest.next();
+        oldest.remove();
+        byEmployee.remove(dropped.employeeId);
+        floor = dropped.sequence;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Get the sequence number of the latest change.
+   *
+   * @return The current sequence number
+   */
+  public long currentSequence() {
+    lock.readLock().lock();
+    try {
+      return sequence;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Get the changes after a sequence number, oldest first.
+   *
+   * @param since The sequence number of the last change the client has seen
+   * @param limit The largest number of changes, capped at {@value #MAX_LIMIT}
+   * @return The changes
+   * @throws GoneException If changes after {@code since} are no longer, or were never, in the log
+   */
+  public EmployeeChanges changesSince(long since, int limit) {
+    int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+    lock.readLock().lock();
+    try {
+      if (since < floor || since > sequence) {
+        throw new GoneException(
+            "Changes since " + since + " are not available, reload all employees");
+      }
+      List<EmployeeSnapshot> upserted = new ArrayList<>();
+      List<Long> deleted = new ArrayList<>();
+      long last = sequence;
+      boolean hasMore = false;
+      for (Change change : bySequence.tailMap(since, false).values()) {
+        if (upserted.size() + deleted.size() == max) {
+          hasMore = true;
+          break;
+        }
+        if (change.employee == null) {
+          deleted.add(change.employeeId);
+        } else {
+          upserted.add(change.employee);
+        }
+        last = change.sequence;
+      }
+      return new EmployeeChanges(since, hasMore ? last : sequence, hasMore, upserted, deleted);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Replace the entry of an employee with a new change at the next sequence number. */
+  private void record(Long id, EmployeeSnapshot employee) {
+    Change change = new Change(++sequence, id, employee);
+    Change previous = byEmployee.put(id, change);
+    if (previous != null) {
+      bySequence.remove(previous.sequence);
+    }
+    bySequence.put(change.sequence, change);
+  }
+
+  /** The latest change of one employee; the snapshot is null for a delete. */
+  private static final class Change {
+
+    private final long sequence;
+    private final Long employeeId;
+    private final EmployeeSnapshot employee;
+
+    private Change(long sequence, Long employeeId, EmployeeSnapshot employee) {
+      this.sequence = sequence;
+      this.employeeId = employeeId;
+      this.employee = employee;
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * This class represents the position of the last row of a keyset page. It is handed to clients as
+ * an opaque, URL-safe token so that the next page can continue with a {@code WHERE key > cursor}
+ * predicate instead of an {@code OFFSET}.
+ */
+public final class EmployeeCursor {
+
+  /** The supported keyset orderings. */
+  public enum Sort {
+    /** Order by employee ID. */
+    ID,
+    /** Order by last name, then employee ID. */
+    LAST_NAME;
+
+    /**
+     * Parse a sort parameter.
+     *
+     * @param value The request parameter value, e.g. {@code id} or {@code lastName}
+     * @return The sort, {@link #ID} if the value is null
+     */
+    public static Sort fromParameter(String value) {
+      if (value == null || value.isEmpty() || value.equalsIgnoreCase("id")) {
+        return ID;
+      }
+      if (value.equalsIgnoreCase("lastName") || value.equalsIgnoreCase("last_name")) {
+        return LAST_NAME;
+      }
+      throw new BadRequestException("Unsupported sort: " + value);
+    }
+  }
+
+  private static final char SEPARATOR = '|';
+
+  /** The sort this cursor was produced for. */
+  private final Sort sort;
+
+  /** The ID of the last employee on the previous page. */
+  private final long id;
+
+  /** The last name of the last employee on the previous page (LAST_NAME sort only). */
+  private final String lastName;
+
+  private EmployeeCursor(Sort sort, long id, String lastName) {
+    this.sort = sort;
+    this.id = id;
+    this.lastName = lastName;
+  }
+
+  /**
+   * Create the cursor pointing after the given employee.
+   *
+   * @param sort The sort of the page
+   * @param employee The last employee on the page
+   * @return The cursor
+   */
+  public static EmployeeCursor after(Sort sort, Employee employee) {
+    return new EmployeeCursor(sort, employee.getId(), employee.getLastName());
+  }
+
+  /**
+   * Encode this cursor as an opaque token.
+   *
+   * @return The URL-safe token
+   */
+  public String encode() {
+    StringBuilder raw = new StringBuilder();
+    raw.append(sort.name().toLowerCase(Locale.ROOT)).append(SEPARATOR).append(id);
+    if (sort == Sort.LAST_NAME) {
+      // A leading '-' marks a null last name, a leading '+' a present one.
+      raw.append(SEPARATOR).append(lastName == null ? "-" : "+" + lastName);
+    }
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode a token produced by {@link #encode()}.
+   *
+   * @param token The token
+   * @param expectedSort The sort requested alongside the token
+   * @return The cursor
+   * @throws BadRequestException If the token is malformed or was issued for another sort
+   */
+  public static EmployeeCursor decode(String token, Sort expectedSort) {
+    String raw;
+    try {
+      raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+    int first = raw.indexOf(SEPARATOR);
+    if (first < 0) {
+      throw new BadRequestException("Invalid cursor");
+    }
+    Sort sort;
+    try {
+      sort = Sort.valueOf(raw.substring(0, first).toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+    if (sort != expectedSort) {
+      throw new BadRequestException("Cursor was issued for a different sort");
+    }
+    int second = sort == Sort.LAST_NAME ? raw.indexOf(SEPARATOR, first + 1) : raw.length();
+    if (second < 0) {
+      throw new BadRequestException("Invalid cursor");
+    }
+    long id;
+    try {
+      id = Long.parseLong(raw.substring(first + 1, second));
+    } catch (NumberFormatException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+    String lastName = null;
+    if (sort == Sort.LAST_NAME) {
+      String name = raw.substring(second + 1);
+      if (name.startsWith("+")) {
+        lastName = name.substring(1);
+      } else if (!name.equals("-")) {
+        throw new BadRequestException("Invalid cursor");
+      }
+    }
+    return new EmployeeCursor(sort, id, lastName);
+  }
+
+  /**
+   * Get the sort.
+   *
+   * @return The sort
+   */
+  public Sort getSort() {
+    return sort;
+  }
+
+  /**
+   * Get the ID of the last employee on the previous page.
+   *
+   * @return The employee ID
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * Get the last name of the last employee on the previous page.
+   *
+   * @return The last name, or null if it was null
+   */
+  public String getLastName() {
+    return lastName;
+  }
+}
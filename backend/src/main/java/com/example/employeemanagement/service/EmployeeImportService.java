@@ -0,0 +1,419 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.ImportReport;
+import com.example.employeemanagement.dto.ImportRowError;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+/**
+ * This class represents the service for bulk employee imports. The upload is read one line at a
+ * time and valid rows are written in fixed-size chunks, each in its own transaction, so memory use
+ * does not grow with the file and a failing chunk does not undo the chunks before it.
+ */
+@Service
+public class EmployeeImportService {
+
+  private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+
+  /** The supported upload formats. */
+  public enum Format {
+    /** Comma-separated values with a header row. */
+    CSV,
+    /** One JSON object per line. */
+    NDJSON;
+
+    /**
+     * Choose the format from the request parameter, falling back to the content type.
+     *
+     * @param value The request parameter value, e.g. {@code csv} or {@code ndjson}, or null
+     * @param contentType The content type of the upload, or null
+     * @return The format
+     */
+    public static Format fromParameter(String value, String contentType) {
+      String format = value;
+      if (format == null || format.isEmpty()) {
+        format = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (format.startsWith("text/csv")) {
+          return CSV;
+        }
+        if (format.startsWith("application/x-ndjson") || format.startsWith("application/json")) {
+          return NDJSON;
+        }
+      }
+      if (format.equalsIgnoreCase("csv")) {
+        return CSV;
+      }
+      if (format.equalsIgnoreCase("ndjson") || format.equalsIgnoreCase("jsonl")) {
+        return NDJSON;
+      }
+      throw new BadRequestException("Unsupported import format: " + format);
+    }
+  }
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The entity manager, used to write and detach each chunk. */
+  @PersistenceContext private EntityManager entityManager;
+
+  /** The transaction template, one transaction per chunk. */
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  /** The JSON object mapper. */
+  @Autowired private ObjectMapper objectMapper;
+
+  /** The publisher of employee change events. */
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
+  /** The number of rows written per transaction. */
+  @Value("${app.employees.import.chunk-size:1000}")
+  private int chunkSize;
+
+  /** The largest number of rejected rows listed in the report. */
+  @Value("${app.employees.import.max-errors:1000}")
+  private int maxErrors;
+
+  /**
+   * Import employees from an uploaded file.
+   *
+   * @param in The uploaded file
+   * @param format The file format
+   * @return The import report
+   * @throws IOException If the upload cannot be read
+   */
+  public ImportReport importEmployees(InputStream in, Format format) throws IOException {
+    // Department references are resolved from this set instead of one lookup per row.
+    Set<Long> departmentIds = new HashSet<>(departmentRepository.findAllIds());
+    Import run = new Import(departmentIds);
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    if (format == Format.CSV) {
+      readCsv(reader, run);
+    } else {
+      readNdjson(reader, run);
+    }
+    run.flushChunk();
+    return new ImportReport(run.received, run.imported, run.rejected, run.errors);
+  }
+
+  /**
+   * Read CSV rows. The first row names the columns; quoted fields may contain commas, doubled
+   * quotes and line breaks.
+   *
+   * @param reader The upload
+   * @param run The import in progress
+   * @throws IOException If the upload cannot be read
+   */
+  private void readCsv(BufferedReader reader, Import run) throws IOException {
+    long[] lineNumber = {0};
+    List<String> header;
+    try {
+      header = readCsvRecord(reader, lineNumber);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Malformed CSV header: " + e.getMessage());
+    }
+    if (header == null) {
+      return;
+    }
+    Map<String, Integer> columns = new HashMap<>();
+    for (int i = 0; i < header.size(); i++) {
+      columns.put(normalizeColumn(header.get(i)), i);
+    }
+    for (String required : new String[] {"firstname", "lastname", "email", "departmentid"}) {
+      if (!columns.containsKey(required)) {
+        throw new BadRequestException("CSV header is missing the column: " + required);
+      }
+    }
+    List<String> record;
+    while (true) {
+      long line = lineNumber[0] + 1;
+      try {
+        record = readCsvRecord(reader, lineNumber);
+      } catch (IllegalArgumentException e) {
+        // The rest of the file belongs to the unterminated field.
+        run.received++;
+        run.reject(line, e.getMessage());
+        break;
+      }
+      if (record == null) {
+        break;
+      }
+      if (record.size() == 1 && record.get(0).isEmpty()) {
+        continue;
+      }
+      run.received++;
+      try {
+        run.accept(
+            line,
+            column(record, columns, "firstname"),
+            column(record, columns, "lastname"),
+            column(record, columns, "email"),
+            parseNumber(column(record, columns, "age"), "age"),
+            parseNumber(column(record, columns, "departmentid"), "departmentId"));
+      } catch (IllegalArgumentException e) {
+        run.reject(line, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Read NDJSON rows. The department is given as {@code departmentId} or, as in the create API,
+   * as {@code department.id}.
+   *
+   * @param reader The upload
+   * @param run The import in progress
+   * @throws IOException If the upload cannot be read
+   */
+  private void readNdjson(BufferedReader reader, Import run) throws IOException {
+    long line = 0;
+    String text;
+    while ((text = reader.readLine()) != null) {
+      line++;
+      if (text.trim().isEmpty()) {
+        continue;
+      }
+      run.received++;
+      JsonNode node;
+      try {
+        node = objectMapper.readTree(text);
+      } catch (IOException e) {
+        run.reject(line, "Malformed JSON");
+        continue;
+      }
+      if (!node.isObject()) {
+        run.reject(line, "Expected a JSON object");
+        continue;
+      }
+      JsonNode departmentId = node.path("departmentId");
+      if (departmentId.isMissingNode() || departmentId.isNull()) {
+        departmentId = node.path("department").path("id");
+      }
+      try {
+        run.accept(
+            line,
+            text(node.path("firstName")),
+            text(node.path("lastName")),
+            text(node.path("email")),
+            parseNumber(text(node.path("age")), "age"),
+            parseNumber(text(departmentId), "departmentId"));
+      } catch (IllegalArgumentException e) {
+        run.reject(line, e.getMessage());
+      }
+    }
+  }
+
+  /** The state of one import: counters, rejected rows and the chunk being filled. */
+  private final class Import {
+
+    private final Set<Long> departmentIds;
+    private final List<Employee> chunk = new ArrayList<>();
+    private final List<Long> chunkLines = new ArrayList<>();
+    private final List<ImportRowError> errors = new ArrayList<>();
+    private long received;
+    private long imported;
+    private long rejected;
+
+    private Import(Set<Long> departmentIds) {
+      this.departmentIds = departmentIds;
+    }
+
+    /** Validate one row and add it to the chunk, writing the chunk once it is full. */
+    private void accept(
+        long line, String firstName, String lastName, String email, Long age, Long departmentId) {
+      if (isBlank(firstName)) {
+        reject(line, "firstName is required");
+        return;
+      }
+      if (isBlank(lastName)) {
+        reject(line, "lastName is required");
+        return;
+      }
+      if (isBlank(email) || email.indexOf('@') < 1) {
+        reject(line, "email is missing or invalid");
+        return;
+      }
+      if (age != null && (age < 0 || age > 150)) {
+        reject(line, "age is out of range: " + age);
+        return;
+      }
+      if (departmentId == null) {
+        reject(line, "departmentId is required");
+        return;
+      }
+      if (!departmentIds.contains(departmentId)) {
+        reject(line, "Department not found with id: " + departmentId);
+        return;
+      }
+      Employee employee = new Employee();
+      employee.setFirstName(firstName.trim());
+      employee.setLastName(lastName.trim());
+      employee.setEmail(email.trim());
+      employee.setAge(age == null ? 0 : age.intValue());
+      Department department = new Department();
+      department.setId(departmentId);
+      employee.setDepartment(department);
+      chunk.add(employee);
+      chunkLines.add(line);
+      if (chunk.size() >= chunkSize) {
+        flushChunk();
+      }
+    }
+
+    /** Record a rejected row. */
+    private void reject(long line, String message) {
+      rejected++;
+      if (errors.size() < maxErrors) {
+        errors.add(new ImportRowError(line, message));
+      }
+    }
+
+    /** Write the chunk in one transaction; if it fails, reject its rows with the cause. */
+    private void flushChunk() {
+      if (chunk.isEmpty()) {
+        return;
+      }
+      try {
+        transactionTemplate.executeWithoutResult(
+            status -> {
+              // Send the whole chunk as one JDBC batch rather than the default batches of 50.
+              entityManager.unwrap(Session.class).setJdbcBatchSize(chunk.size());
+              List<EmployeeSnapshot> snapshots = new ArrayList<>(chunk.size());
+              for (Employee employee : chunk) {
+                // A reference avoids loading the department; its existence was checked above.
+                employee.setDepartment(
+                    entityManager.getReference(Department.class, employee.getDepartment().getId()));
+                entityManager.persist(employee);
+                snapshots.add(EmployeeSnapshot.of(employee));
+              }
+              entityManager.flush();
+              entityManager.clear();
+              eventPublisher.publishEvent(EmployeeChangedEvent.upserted(snapshots));
+            });
+        imported += chunk.size();
+      } catch (RuntimeException e) {
+        logger.error("Could not import a chunk of {} employees: {}", chunk.size(), e.getMessage());
+        for (Long line : chunkLines) {
+          reject(line, "Could not be stored: " + e.getMessage());
+        }
+      }
+      chunk.clear();
+      chunkLines.clear();
+    }
+  }
+
+  /**
+   * Read one CSV record, which spans several lines when a quoted field contains line breaks.
+   *
+   * @param reader The upload
+   * @param lineNumber The number of lines read so far, updated in place
+   * @return The fields of the record, or null at the end of the file
+   * @throws IOException If the upload cannot be read
+   * @throws IllegalArgumentException If a quoted field is not closed before the end of the file
+   */
+  static List<String> readCsvRecord(BufferedReader reader, long[] lineNumber) throws IOException {
+    String line = reader.readLine();
+    if (line == null) {
+      return null;
+    }
+    lineNumber[0]++;
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    int i = 0;
+    while (true) {
+      if (i == line.length()) {
+        if (!quoted) {
+          break;
+        }
+        // A line break inside a quoted field: the record continues on the next line.
+        String next = reader.readLine();
+        if (next == null) {
+          throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        lineNumber[0]++;
+        field.append('\n');
+        line = next;
+        i = 0;
+        continue;
+      }
+      char c = line.charAt(i++);
+      if (quoted) {
+        if (c == '"') {
+          if (i < line.length() && line.charAt(i) == '"') {
+            field.append('"');
+            i++;
+          } else {
+            quoted = false;
+          }
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c != '\r') {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  private static String normalizeColumn(String name) {
+    return name.trim().replace("_", "").replace(" ", "").replace("\uFEFF", "").toLowerCase(Locale.ROOT);
+  }
+
+  private static String column(List<String> record, Map<String, Integer> columns, String name) {
+    Integer index = columns.get(name);
+    return index == null || index >= record.size() ? null : record.get(index);
+  }
+
+  private static String text(JsonNode node) {
+    return node.isMissingNode() || node.isNull() ? null : node.asText();
+  }
+
+  private static Long parseNumber(String value, String name) {
+    if (isBlank(value)) {
+      return null;
+    }
+    try {
+      return Long.valueOf(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(name + " is not a number: " + value.trim());
+    }
+  }
+
+  private static boolean isBlank(String value) {
+    return value == null || value.trim().isEmpty();
+  }
+}
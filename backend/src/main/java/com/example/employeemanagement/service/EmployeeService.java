@@ -1,20 +1,90 @@
 package com.example.employeemanagement.service;
 
+import com.example.employeemanagement.dto.BulkDeleteRequest;
+import com.example.employeemanagement.dto.CursorPage;
+import com.example.employeemanagement.dto.EmployeeSearchCriteria;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.model.Department;
 import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DepartmentRepository;
 import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.EmployeeSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
 
 /** This class represents the service for employees. */
 @Service
 public class EmployeeService {
 
+  /** The largest number of IDs bound into one IN list by the bulk operations. */
+  static final int BULK_CHUNK_SIZE = 1000;
+
   /** The employee repository. */
   @Autowired private EmployeeRepository employeeRepository;
 
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The entity manager, used to bound the persistence context while streaming. */
+  @PersistenceContext private EntityManager entityManager;
+
+  /** The JSON object mapper. */
+  @Autowired private ObjectMapper objectMapper;
+
+  /** The publisher of employee change events. */
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
+  /**
+   * The number of rows fetched from the database at a time, and written between flushes of the
+   * output and the persistence context.
+   */
+  @Value("${app.employees.export.batch-size:500}")
+  private int exportBatchSize;
+
+  /** The page size used when the client does not ask for one. */
+  @Value("${app.employees.page.default-size:50}")
+  private int defaultPageSize;
+
+  /** The largest page size a client may ask for. */
+  @Value("${app.employees.page.max-size:500}")
+  private int maxPageSize;
+
+  /** The largest number of employees a filtered bulk delete may match. */
+  @Value("${app.employees.bulk-delete.max-rows:100000}")
+  private int maxBulkDeleteRows;
+
   /**
    * Get all employees.
    *
@@ -24,6 +94,190 @@ public class EmployeeService {
     return employeeRepository.findAllWithDepartments();
   }
 
+  /**
+   * Get one keyset page of employees. Each page is a bounded, index-ordered range scan starting
+   * after the cursor position, so page N costs the same as page 1.
+   *
+   * @param sort Ordering of the listing
+   * @param cursor Token returned as {@code nextCursor} by the previous page, or null for the first
+   * @param size Requested page size, or null for the default
+   * @return Page of employees
+   */
+  public CursorPage<Employee> getEmployeePage(
+      EmployeeCursor.Sort sort, String cursor, Integer size) {
+    int pageSize = resolvePageSize(size);
+    // Fetch one extra row to learn whether another page follows without a count query.
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+    EmployeeCursor after = cursor == null ? null : EmployeeCursor.decode(cursor, sort);
+
+    List<Employee> rows;
+    if (sort == EmployeeCursor.Sort.ID) {
+      rows =
+          after == null
+              ? employeeRepository.findFirstPageById(limit)
+              : employeeRepository.findPageAfterId(after.getId(), limit);
+    } else if (after == null) {
+      rows = employeeRepository.findFirstPageByLastName(limit);
+    } else if (after.getLastName() == null) {
+      rows = employeeRepository.findPageAfterNullLastName(after.getId(), limit);
+    } else {
+      rows = employeeRepository.findPageAfterLastName(after.getLastName(), after.getId(), limit);
+    }
+
+    String nextCursor = null;
+    if (rows.size() > pageSize) {
+      rows = rows.subList(0, pageSize);
+      nextCursor = EmployeeCursor.after(sort, rows.get(pageSize - 1)).encode();
+    }
+    return new CursorPage<>(rows, rows.size(), nextCursor);
+  }
+
+  /**
+   * Search employees with keyset paging. Every filter and the keyset condition are index-friendly
+   * predicates, so each page stays a bounded index scan as the table grows.
+   *
+   * @param criteria Filters to apply
+   * @param sort Ordering of the results
+   * @param cursor Token returned as {@code nextCursor} by the previous page, or null for the first
+   * @param size Requested page size, or null for the default
+   * @return Page of matching employees
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<Employee> searchEmployees(
+      EmployeeSearchCriteria criteria, EmployeeCursor.Sort sort, String cursor, Integer size) {
+    int pageSize = resolvePageSize(size);
+    EmployeeCursor after = cursor == null ? null : EmployeeCursor.decode(cursor, sort);
+    Specification<Employee> filter = Specification.where(toSpecification(criteria));
+    if (after != null) {
+      filter = filter.and(keysetAfter(after));
+    }
+    Sort order =
+        sort == EmployeeCursor.Sort.ID
+            ? Sort.by("id")
+            : Sort.by("lastName", "id");
+
+    List<Employee> rows = employeeRepository.search(filter, order, pageSize + 1);
+    String nextCursor = null;
+    if (rows.size() > pageSize) {
+      rows = rows.subList(0, pageSize);
+      nextCursor = EmployeeCursor.after(sort, rows.get(pageSize - 1)).encode();
+    }
+    return new CursorPage<>(rows, rows.size(), nextCursor);
+  }
+
+  /**
+   * Combine the given search filters.
+   *
+   * @param criteria The filters
+   * @return The combined filter, or null if no filter is given
+   */
+  private static Specification<Employee> toSpecification(EmployeeSearchCriteria criteria) {
+    if (criteria.getMinAge() != null
+        && criteria.getMaxAge() != null
+        && criteria.getMinAge() > criteria.getMaxAge()) {
+      throw new BadRequestException("minAge must not be greater than maxAge");
+    }
+    Specification<Employee> filter = null;
+    if (criteria.getDepartmentId() != null) {
+      filter = and(filter, EmployeeSpecifications.inDepartment(criteria.getDepartmentId()));
+    }
+    if (hasText(criteria.getLastName())) {
+      filter = and(filter, EmployeeSpecifications.lastNameStartsWith(criteria.getLastName().trim()));
+    }
+    if (hasText(criteria.getFirstName())) {
+      filter =
+          and(filter, EmployeeSpecifications.firstNameStartsWith(criteria.getFirstName().trim()));
+    }
+    if (hasText(criteria.getEmailDomain())) {
+      filter = and(filter, EmployeeSpecifications.emailDomain(criteria.getEmailDomain()));
+    }
+    if (criteria.getMinAge() != null || criteria.getMaxAge() != null) {
+      filter =
+          and(filter, EmployeeSpecifications.ageBetween(criteria.getMinAge(), criteria.getMaxAge()));
+    }
+    return filter;
+  }
+
+  private static Specification<Employee> and(
+      Specification<Employee> filter, Specification<Employee> next) {
+    return filter == null ? next : filter.and(next);
+  }
+
+  /**
+   * Build the keyset condition selecting the rows after a cursor, matching the ordering of the
+   * cursor's sort (last names ascending with nulls first, then IDs).
+   *
+   * @param after The cursor
+   * @return The keyset condition
+   */
+  private static Specification<Employee> keysetAfter(EmployeeCursor after) {
+    return (employee, query, cb) -> {
+      Predicate idAfter = cb.greaterThan(employee.get("id"), after.getId());
+      if (after.getSort() == EmployeeCursor.Sort.ID) {
+        return idAfter;
+      }
+      if (after.getLastName() == null) {
+        return cb.or(
+            cb.and(cb.isNull(employee.get("lastName")), idAfter),
+            cb.isNotNull(employee.get("lastName")));
+      }
+      return cb.or(
+          cb.greaterThan(employee.get("lastName"), after.getLastName()),
+          cb.and(cb.equal(employee.get("lastName"), after.getLastName()), idAfter));
+    };
+  }
+
+  /**
+   * Write every employee to the output stream as it is read from the database. Only one batch of
+   * entities is ever held in the persistence context, so memory use does not grow with the table.
+   *
+   * @param out Stream to write to; it is flushed but not closed
+   * @param jsonArray True to write a JSON array, false to write newline-delimited JSON
+   * @return Number of employees written
+   * @throws IOException If writing to the stream fails
+   */
+  @Transactional(readOnly = true)
+  public long exportEmployees(OutputStream out, boolean jsonArray) throws IOException {
+    ObjectWriter writer =
+        objectMapper
+            .writerFor(Employee.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    long count = 0;
+    try (Stream<Employee> employees = employeeRepository.streamAllWithDepartments(exportBatchSize);
+        SequenceWriter sequence =
+            jsonArray
+                ? writer.writeValuesAsArray(out)
+                : writer.withRootValueSeparator("\n").writeValues(out)) {
+      Iterator<Employee> iterator = employees.iterator();
+      while (iterator.hasNext()) {
+        sequence.write(iterator.next());
+        if (++count % exportBatchSize == 0) {
+          sequence.flush();
+          entityManager.clear();
+        }
+      }
+    }
+    out.flush();
+    return count;
+  }
+
+  /**
+   * Resolve the effective page size, applying the default and the configured cap.
+   *
+   * @param size Requested page size, or null for the default
+   * @return Effective page size
+   */
+  private int resolvePageSize(Integer size) {
+    if (size == null) {
+      return Math.min(defaultPageSize, maxPageSize);
+    }
+    if (size < 1) {
+      throw new BadRequestException("Page size must be positive");
+    }
+    return Math.min(size, maxPageSize);
+  }
+
   /**
    * Get employee by ID.
    *
@@ -41,15 +295,189 @@ public class EmployeeService {
    * @return Saved employee
    */
   public Employee saveEmployee(Employee employee) {
-    return employeeRepository.save(employee);
+    Employee saved = employeeRepository.save(employee);
+    eventPublisher.publishEvent(
+        EmployeeChangedEvent.upserted(Collections.singletonList(EmployeeSnapshot.of(saved))));
+    return saved;
+  }
+
+  /**
+   * Delete an employee in a single statement.
+   *
+   * @param id ID of the employee to be deleted
+   * @return Whether the employee existed
+   */
+  @Transactional
+  public boolean deleteEmployee(Long id) {
+    boolean deleted = employeeRepository.deleteByIdIn(Collections.singletonList(id)) > 0;
+    if (deleted) {
+      eventPublisher.publishEvent(EmployeeChangedEvent.deleted(Collections.singletonList(id)));
+    }
+    return deleted;
+  }
+
+  /**
+   * Move employees to a department. The IDs are sent in chunks of {@value #BULK_CHUNK_SIZE} to
+   * stay within database limits on IN lists; all chunks run in one transaction.
+   *
+   * @param ids IDs of the employees to move
+   * @param departmentId ID of the target department
+   * @return Number of employees moved
+   */
+  @Transactional
+  public int moveEmployees(List<Long> ids, Long departmentId) {
+    if (ids == null || ids.isEmpty()) {
+      throw new BadRequestException("ids is required");
+    }
+    if (departmentId == null) {
+      throw new BadRequestException("departmentId is required");
+    }
+    if (!departmentRepository.existsById(departmentId)) {
+      throw new ResourceNotFoundException("Department not found with id: " + departmentId);
+    }
+    Department department = departmentRepository.getReferenceById(departmentId);
+    int moved = 0;
+    List<EmployeeSnapshot> snapshots = new ArrayList<>();
+    for (List<Long> chunk : chunks(ids)) {
+      int updated = employeeRepository.moveToDepartment(chunk, department);
+      if (updated > 0) {
+        moved += updated;
+        snapshots.addAll(employeeRepository.findSnapshotsByIdIn(chunk));
+      }
+    }
+    if (!snapshots.isEmpty()) {
+      eventPublisher.publishEvent(EmployeeChangedEvent.upserted(snapshots));
+    }
+    return moved;
   }
 
   /**
-   * Update an employee.
+   * Delete employees by ID and/or filter. The IDs of the matching employees are selected first,
+   * with a criteria query for the filter, and then deleted in chunks of {@value #BULK_CHUNK_SIZE};
+   * all statements run in one transaction.
+   *
+   * <p>Selecting the IDs lets the change event name every deleted employee, which the in-memory
+   * indexes and the change feed need, but unlike a single set-based {@code DELETE} it holds the IDs
+   * in memory. A filter without IDs is therefore counted first and rejected if it matches more than
+   * {@code app.employees.bulk-delete.max-rows} employees; larger deletes must be split, for example
+   * by department.
    *
-   * @param id ID of the employee to be updated
+   * @param request IDs and filter criteria, at least one of which is required
+   * @return Number of employees deleted
+   * @throws BadRequestException If neither IDs nor a filter is given, or the filter matches too
+   *     many employees
    */
-  public void deleteEmployee(Long id) {
-    employeeRepository.deleteById(id);
+  @Transactional
+  public int deleteEmployees(BulkDeleteRequest request) {
+    boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+    boolean hasFilter =
+        request.getDepartmentId() != null
+            || hasText(request.getLastName())
+            || hasText(request.getEmailDomain());
+    if (!hasIds && !hasFilter) {
+      throw new BadRequestException("ids or a filter is required");
+    }
+    List<Long> matching = new ArrayList<>();
+    if (!hasIds) {
+      long count = countMatching(request);
+      if (count > maxBulkDeleteRows) {
+        throw new BadRequestException(
+            "Filter matches "
+                + count
+                + " employees, more than the "
+                + maxBulkDeleteRows
+                + " one bulk delete may remove");
+      }
+      matching.addAll(findMatchingIds(request, null));
+    } else {
+      for (List<Long> chunk : chunks(request.getIds())) {
+        matching.addAll(
+            hasFilter ? findMatchingIds(request, chunk) : employeeRepository.findExistingIds(chunk));
+      }
+    }
+    int deleted = 0;
+    for (List<Long> chunk : chunks(matching)) {
+      deleted += employeeRepository.deleteByIdIn(chunk);
+    }
+    if (!matching.isEmpty()) {
+      eventPublisher.publishEvent(EmployeeChangedEvent.deleted(matching));
+    }
+    return deleted;
+  }
+
+  /**
+   * Count the employees matching the filter of a bulk delete request.
+   *
+   * @param request The filter criteria
+   * @return Number of matching employees
+   */
+  private long countMatching(BulkDeleteRequest request) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = cb.createQuery(Long.class);
+    Root<Employee> employee = query.from(Employee.class);
+    query.select(cb.count(employee)).where(matchingPredicates(cb, employee, request, null));
+    return entityManager.createQuery(query).getSingleResult();
+  }
+
+  /**
+   * Select the IDs of the employees matching the filter of a bulk delete request.
+   *
+   * @param request The filter criteria
+   * @param ids IDs to restrict the selection to, or null for none
+   * @return IDs of the matching employees
+   */
+  private List<Long> findMatchingIds(BulkDeleteRequest request, List<Long> ids) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = cb.createQuery(Long.class);
+    Root<Employee> employee = query.from(Employee.class);
+    query.select(employee.get("id")).where(matchingPredicates(cb, employee, request, ids));
+    return entityManager.createQuery(query).getResultList();
+  }
+
+  /**
+   * Build the predicates of the filter of a bulk delete request.
+   *
+   * @param cb The criteria builder
+   * @param employee The employee root
+   * @param request The filter criteria
+   * @param ids IDs to restrict the selection to, or null for none
+   * @return The predicates
+   */
+  private static Predicate[] matchingPredicates(
+      CriteriaBuilder cb, Root<Employee> employee, BulkDeleteRequest request, List<Long> ids) {
+    List<Predicate> predicates = new ArrayList<>();
+    if (ids != null) {
+      predicates.add(employee.get("id").in(ids));
+    }
+    if (request.getDepartmentId() != null) {
+      predicates.add(cb.equal(employee.get("department").get("id"), request.getDepartmentId()));
+    }
+    if (hasText(request.getLastName())) {
+      predicates.add(cb.equal(employee.get("lastName"), request.getLastName().trim()));
+    }
+    if (hasText(request.getEmailDomain())) {
+      String domain = request.getEmailDomain().trim().toLowerCase(Locale.ROOT);
+      predicates.add(cb.equal(employee.get("emailDomain"), domain));
+    }
+    return predicates.toArray(new Predicate[0]);
+  }
+
+  /**
+   * Split IDs into chunks of at most {@value #BULK_CHUNK_SIZE}, dropping duplicates.
+   *
+   * @param ids The IDs
+   * @return The chunks
+   */
+  private static List<List<Long>> chunks(List<Long> ids) {
+    List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+    List<List<Long>> chunks = new ArrayList<>();
+    for (int from = 0; from < distinct.size(); from += BULK_CHUNK_SIZE) {
+      chunks.add(distinct.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinct.size())));
+    }
+    return chunks;
+  }
+
+  private static boolean hasText(String value) {
+    return value != null && !value.trim().isEmpty();
   }
 }
@@ -0,0 +1,74 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.event.DepartmentChangedEvent;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class keeps change counters for the employee and department listings, from which their
+ * ETags are derived without reading or serializing any rows.
+ *
+ * <p>The counters are bumped once writes are committed. A request must take the ETag before it
+ * reads the rows: a write committing in between then yields a response tagged with the older
+ * version, which the next conditional request simply refreshes, never a stale response tagged as
+ * current. Department listings embed their employees, so employee writes bump both counters.
+ *
+ * <p>The counters live in memory; every ETag carries the startup time, so tags from before a
+ * restart, or from another instance, never match.
+ */
+@Component
+public class ListVersions {
+
+  /** The startup time, distinguishing the counters of this process. */
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+  /** The version of the employee listing. */
+  private final AtomicLong employees = new AtomicLong();
+
+  /** The version of the department listing. */
+  private final AtomicLong departments = new AtomicLong();
+
+  /**
+   * Bump the versions after committed employee writes.
+   *
+   * @param event The committed writes
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeesChanged(EmployeeChangedEvent event) {
+    if (!event.isEmpty()) {
+      employees.incrementAndGet();
+      departments.incrementAndGet();
+    }
+  }
+
+  /**
+   * Bump the department version after a committed department write.
+   *
+   * @param event The committed write
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onDepartmentChanged(DepartmentChangedEvent event) {
+    departments.incrementAndGet();
+  }
+
+  /**
+   * Get the ETag of the employee listing.
+   *
+   * @return The quoted strong ETag
+   */
+  public String employeesETag() {
+    return "\"employees-" + epoch + "-" + employees.get() + "\"";
+  }
+
+  /**
+   * Get the ETag of the department listing.
+   *
+   * @return The quoted strong ETag
+   */
+  public String departmentsETag() {
+    return "\"departments-" + epoch + "-" + departments.get() + "\"";
+  }
+}
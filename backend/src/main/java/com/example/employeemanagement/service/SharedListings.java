@@ -0,0 +1,241 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.cache.CachedJson;
+import com.example.employeemanagement.cache.SingleFlight;
+import com.example.employeemanagement.event.DepartmentChangedEvent;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Supplier;
+
+/**
+ * This class serves the hot read endpoints, the employee and department listings, employee pages
+ * and single departments, as pre-serialized JSON. Serialized bodies, with a gzip-compressed copy
+ * when they have at least {@code app.responses.cache.gzip-min-bytes} bytes, are cached until a
+ * committed write changes the data, so repeated reads skip both the database and Jackson.
+ *
+ * <p>Each body is stored with the ETag of its listing, taken before the data was read, and is
+ * served only while that ETag is current; committed writes also evict the affected bodies at once.
+ * A body loaded while a write commits is thus never served as current.
+ *
+ * <p>Concurrent requests for a body that is not cached share one load and one serialization. A
+ * completed load may also be reused for {@code app.listings.single-flight.reuse-millis} after it
+ * was loaded, e.g. for requests still holding an ETag a write has replaced, whose bodies are never
+ * cached; the default 0 shares only loads in flight.
+ *
+ * <p>The cache holds at most {@code app.responses.cache.max-bytes} bytes. Its statistics are
+ * published as {@code cache.*} metrics with the tag {@code cache=responses}, and the number of loads
+ * and of requests served by another request's load as {@code listings.loads} and {@code
+ * listings.shared}, when a meter registry is available.
+ */
+@Service
+public class SharedListings {
+
+  private static final Logger logger = LoggerFactory.getLogger(SharedListings.class);
+
+  /** The employee service. */
+  @Autowired private EmployeeService employeeService;
+
+  /** The department service. */
+  @Autowired private DepartmentService departmentService;
+
+  /** The change counters the bodies are versioned by. */
+  @Autowired private ListVersions listVersions;
+
+  /** The mapper serializing the bodies, as the message converters would. */
+  @Autowired private ObjectMapper objectMapper;
+
+  /** The smallest body also kept gzip-compressed, or a negative number for none. */
+  private final int gzipMinBytes;
+
+  /** The serialized bodies by resource. */
+  private final Cache<String, CachedJson> bodies;
+
+  /** The loads in flight by resource and version. */
+  private final SingleFlight<String, CachedJson> flights;
+
+  /**
+   * Constructor for the service.
+   *
+   * @param reuseMillis How long a loaded body is reused, in milliseconds
+   * @param maxBytes The largest number of bytes cached
+   * @param gzipMinBytes The smallest body also kept gzip-compressed, or a negative number for none
+   * @param meterRegistry The registry the cache metrics are bound to, if any
+   */
+  public SharedListings(
+      @Value("${app.listings.single-flight.reuse-millis:0}") long reuseMillis,
+      @Value("${app.responses.cache.max-bytes:67108864}") long maxBytes,
+      @Value("${app.responses.cache.gzip-min-bytes:1024}") int gzipMinBytes,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this.flights = new SingleFlight<>(reuseMillis);
+    this.gzipMinBytes = gzipMinBytes;
+    this.bodies =
+        Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .<String, CachedJson>weigher((key, body) -> body.getWeight())
+            .recordStats()
+            .build();
+    meterRegistry.ifAvailable(
+        registry -> {
+          CaffeineCacheMetrics.monitor(registry, bodies, "responses");
+          FunctionCounter.builder("listings.loads", flights, SingleFlight::getLoads)
+              .description("Listing loads run")
+              .register(registry);
+          FunctionCounter.builder("listings.shared", flights, SingleFlight::getShared)
+              .description("Listing requests served by another request's load")
+              .register(registry);
+        });
+  }
+
+  /**
+   * Get all employees as JSON.
+   *
+   * @param etag The ETag of the employee listing, taken before the call
+   * @return The serialized list of all employees
+   */
+  public CachedJson getAllEmployees(String etag) {
+    return get(
+        "employees", etag, listVersions::employeesETag, employeeService::getAllEmployees);
+  }
+
+  /**
+   * Get one keyset page of employees as JSON.
+   *
+   * @param etag The ETag of the employee listing, taken before the call
+   * @param sort Ordering of the listing
+   * @param cursor Token returned as {@code nextCursor} by the previous page, or null for the first
+   * @param size Requested page size, or null for the default
+   * @return The serialized page
+   */
+  public CachedJson getEmployeePage(
+      String etag, EmployeeCursor.Sort sort, String cursor, Integer size) {
+    return get(
+        "employees;page;" + sort + ";" + cursor + ";" + size,
+        etag,
+        listVersions::employeesETag,
+        () -> employeeService.getEmployeePage(sort, cursor, size));
+  }
+
+  /**
+   * Get all departments as JSON.
+   *
+   * @param etag The ETag of the department listing, taken before the call
+   * @return The serialized list of all departments
+   */
+  public CachedJson getAllDepartments(String etag) {
+    return get(
+        "departments;full",
+        etag,
+        listVersions::departmentsETag,
+        departmentService::getAllDepartments);
+  }
+
+  /**
+   * Get all department summaries as JSON.
+   *
+   * @param etag The ETag of the department listing, taken before the call
+   * @param includeEmployees Whether to attach each department's employees
+   * @return The serialized list of department summaries
+   */
+  public CachedJson getDepartmentSummaries(String etag, boolean includeEmployees) {
+    return get(
+        "departments;summary;" + includeEmployees,
+        etag,
+        listVersions::departmentsETag,
+        () -> departmentService.getDepartmentSummaries(includeEmployees));
+  }
+
+  /**
+   * Get a department as JSON. The body is versioned by the department listing ETag.
+   *
+   * @param id ID of the department
+   * @return The serialized department
+   * @throws ResourceNotFoundException If no department has the ID; this is never cached
+   */
+  public CachedJson getDepartmentById(Long id) {
+    return get(
+        "department;" + id,
+        listVersions.departmentsETag(),
+        listVersions::departmentsETag,
+        () ->
+            departmentService
+                .getDepartmentById(id)
+                .orElseThrow(
+                    () -> new ResourceNotFoundException("Department not found with id: " + id)));
+  }
+
+  /**
+   * Evict the bodies that embed employees after committed employee writes.
+   *
+   * @param event The writes
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEmployeesChanged(EmployeeChangedEvent event) {
+    if (!event.isEmpty()) {
+      bodies.invalidateAll();
+    }
+  }
+
+  /**
+   * Evict the department bodies after a committed department write.
+   *
+   * @param event The write
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onDepartmentChanged(DepartmentChangedEvent event) {
+    bodies.asMap().keySet().removeIf(key -> key.startsWith("department"));
+  }
+
+  /**
+   * Get the number of bodies loaded and serialized.
+   *
+   * @return The load count
+   */
+  public long getLoads() {
+    return flights.getLoads();
+  }
+
+  /**
+   * Get a cached body, or load it. A loaded body is cached only if its version is still current
+   * once loaded.
+   */
+  private CachedJson get(
+      String key, String version, Supplier<String> currentVersion, Supplier<?> loader) {
+    CachedJson cached = bodies.getIfPresent(key);
+    if (cached != null && cached.getVersion().equals(version)) {
+      return cached;
+    }
+    return flights.get(
+        key + " " + version,
+        () -> {
+          CachedJson body = CachedJson.of(version, serialize(loader), gzipMinBytes);
+          if (version.equals(currentVersion.get())) {
+            bodies.put(key, body);
+          }
+          return body;
+        });
+  }
+
+  private byte[] serialize(Supplier<?> loader) {
+    try {
+      return objectMapper.writeValueAsBytes(loader.get());
+    } catch (JsonProcessingException e) {
+      logger.error("Could not serialize response: {}", e.getMessage());
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.UserIdentity;
+import com.example.employeemanagement.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * This class reads all employees or users in read-only transactions, for the in-memory indexes and
+ * aggregates built at startup. Rows are streamed and handed over in batches, so callers can apply
+ * each batch under one lock acquisition without holding the lock for the whole scan.
+ */
+@Service
+public class SnapshotScanner {
+
+  /** The largest number of rows handed over at once. */
+  public static final int BATCH_SIZE = 1000;
+
+  /** The employee repository. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The user repository. */
+  @Autowired private UserRepository userRepository;
+
+  /** The template for read-only transactions. */
+  private final TransactionTemplate readOnly;
+
+  /**
+   * Constructor for the scanner.
+   *
+   * @param transactionManager The transaction manager the scans run in
+   */
+  public SnapshotScanner(PlatformTransactionManager transactionManager) {
+    this.readOnly = new TransactionTemplate(transactionManager);
+    this.readOnly.setReadOnly(true);
+  }
+
+  /**
+   * Run work in a read-only transaction, or in the current transaction if there is one.
+   *
+   * @param work The work
+   * @param <T> The result type
+   * @return The result of the work
+   */
+  public <T> T readOnly(Supplier<T> work) {
+    return readOnly.execute(status -> work.get());
+  }
+
+  /**
+   * Read all employees in ID order.
+   *
+   * @param batches Receives each batch of at most {@link #BATCH_SIZE} employees
+   * @return The number of employees read
+   */
+  public long scanEmployees(Consumer<List<EmployeeSnapshot>> batches) {
+    return scan(employeeRepository::streamAllSnapshots, batches);
+  }
+
+  /**
+   * Read the ID and username of all users.
+   *
+   * @param batches Receives each batch of at most {@link #BATCH_SIZE} users
+   * @return The number of users read
+   */
+  public long scanUsers(Consumer<List<UserIdentity>> batches) {
+    return scan(userRepository::streamAllIdentities, batches);
+  }
+
+  private <T> long scan(Supplier<Stream<T>> query, Consumer<List<T>> batches) {
+    return readOnly(
+        () -> {
+          long count = 0;
+          try (Stream<T> rows = query.get()) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+              List<T> batch = new ArrayList<>(BATCH_SIZE);
+              while (batch.size() < BATCH_SIZE && iterator.hasNext()) {
+                batch.add(iterator.next());
+              }
+              batches.accept(batch);
+              count += batch.size();
+            }
+          }
+          return count;
+        });
+  }
+}
@@ -0,0 +1,188 @@
+package com.example.employeemanagement.sse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class fans server-sent events out to any number of subscribers. Publishing only enqueues
+ * the shared message on each subscriber's bounded queue; a small sender pool drains the queues, so
+ * one slow client never delays the publisher or the other clients. When a queue is full the
+ * message is dropped for that client only, and before its next message the client is sent a
+ * {@code dropped} event carrying the number of messages it missed.
+ */
+public class SseBroadcaster {
+
+  private static final Logger logger = LoggerFactory.getLogger(SseBroadcaster.class);
+
+  /** The event sent to a client that missed messages because its queue was full. */
+  public static final String DROPPED_EVENT = "dropped";
+
+  /** The current subscribers. */
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+  /** The threads writing queued messages to the clients. */
+  private final ExecutorService senders;
+
+  /** The capacity of each subscriber's queue. */
+  private final int bufferSize;
+
+  /** The emitter timeout, in milliseconds. */
+  private final long timeoutMillis;
+
+  /** The total number of messages dropped across all subscribers. */
+  private final AtomicLong droppedTotal = new AtomicLong();
+
+  /**
+   * Constructor for the broadcaster.
+   *
+   * @param name The name used for the sender threads
+   * @param senderThreads The number of sender threads
+   * @param bufferSize The capacity of each subscriber's queue
+   * @param timeoutMillis The emitter timeout in milliseconds, or 0 for none
+   */
+  public SseBroadcaster(String name, int senderThreads, int bufferSize, long timeoutMillis) {
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.senders =
+        Executors.newFixedThreadPool(
+            senderThreads,
+            runnable -> {
+              Thread thread = new Thread(runnable, name + "-sse-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.bufferSize = bufferSize;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  /**
+   * Register a new subscriber.
+   *
+   * @return The subscriber; its emitter is returned from the controller
+   */
+  public Subscriber subscribe() {
+    Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis));
+    SseEmitter emitter = subscriber.emitter;
+    emitter.onCompletion(() -> subscribers.remove(subscriber));
+    emitter.onTimeout(() -> subscribers.remove(subscriber));
+    emitter.onError(error -> subscribers.remove(subscriber));
+    subscribers.add(subscriber);
+    return subscriber;
+  }
+
+  /**
+   * Queue a message for every subscriber.
+   *
+   * @param message The message
+   */
+  public void broadcast(SseMessage message) {
+    for (Subscriber subscriber : subscribers) {
+      subscriber.enqueue(message);
+    }
+  }
+
+  /**
+   * Get the number of current subscribers.
+   *
+   * @return The subscriber count
+   */
+  public int getSubscriberCount() {
+    return subscribers.size();
+  }
+
+  /**
+   * Get the total number of messages dropped for slow subscribers.
+   *
+   * @return The dropped message count
+   */
+  public long getDroppedTotal() {
+    return droppedTotal.get();
+  }
+
+  /** Complete every subscriber and stop the sender threads. */
+  public void shutdown() {
+    for (Subscriber subscriber : subscribers) {
+      subscriber.emitter.complete();
+    }
+    subscribers.clear();
+    senders.shutdownNow();
+  }
+
+  /** A connected client with its own bounded queue. */
+  public final class Subscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseMessage> queue = new ArrayBlockingQueue<>(bufferSize);
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private Subscriber(SseEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    /**
+     * Get the emitter of this subscriber.
+     *
+     * @return The emitter
+     */
+    public SseEmitter getEmitter() {
+      return emitter;
+    }
+
+    /**
+     * Queue a message for this subscriber only, e.g. a backlog sent on connect.
+     *
+     * @param message The message
+     */
+    public void enqueue(SseMessage message) {
+      if (!queue.offer(message)) {
+        dropped.incrementAndGet();
+        droppedTotal.incrementAndGet();
+      }
+      if (draining.compareAndSet(false, true)) {
+        senders.execute(this::drain);
+      }
+    }
+
+    /** Write queued messages until the queue is empty. */
+    private void drain() {
+      try {
+        SseMessage message;
+        while ((message = queue.poll()) != null) {
+          long missed = dropped.getAndSet(0);
+          if (missed > 0) {
+            emitter.send(SseEmitter.event().name(DROPPED_EVENT).data(Long.toString(missed)));
+          }
+          SseEmitter.SseEventBuilder event = SseEmitter.event().name(message.getName());
+          if (message.getId() != null) {
+            event.id(message.getId());
+          }
+          emitter.send(event.data(message.getData()));
+        }
+      } catch (IOException | IllegalStateException e) {
+        logger.debug("Dropping SSE subscriber: {}", e.getMessage());
+        subscribers.remove(this);
+        queue.clear();
+        emitter.completeWithError(e);
+        return;
+      } finally {
+        draining.set(false);
+      }
+      // A message may have been queued after the last poll but before the flag was cleared.
+      if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+        senders.execute(this::drain);
+      }
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.example.employeemanagement.sse;
+
+/**
+ * This class represents one server-sent event whose payload has already been rendered, so the same
+ * instance can be queued for every subscriber without serializing it again.
+ */
+public final class SseMessage {
+
+  /** The event ID, or null for none. */
+  private final String id;
+
+  /** The event name. */
+  private final String name;
+
+  /** The rendered event data, with every line after the first prefixed as an SSE data field. */
+  private final String data;
+
+  /**
+   * Constructor for the message.
+   *
+   * @param id The event ID, or null for none
+   * @param name The event name
+   * @param data The rendered event data, which may span several lines
+   */
+  public SseMessage(String id, String name, String data) {
+    this.id = id;
+    this.name = name;
+    // SseEmitter writes a single "data:" prefix, so continuation lines need their own.
+    this.data = data.replace("\r\n", "\n").replace("\n", "\ndata:");
+  }
+
+  /**
+   * Gets the event ID.
+   *
+   * @return The event ID, or null for none
+   */
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * Gets the event name.
+   *
+   * @return The event name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the rendered event data, ready to be written after the first "data:" prefix.
+   *
+   * @return The event data
+   */
+  public String getData() {
+    return data;
+  }
+}
@@ -0,0 +1,128 @@
+package com.example.employeemanagement.storage;
+
+import com.example.employeemanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+
+/**
+ * This class deletes stored images no user points to any more. A replaced profile image is
+ * released as soon as the user row points elsewhere; the whole store is swept at startup and then
+ * once every grace period.
+ *
+ * <p>Identical uploads share a file, so an upload may have been handed a key that a concurrent
+ * release finds unreferenced. Images stored within {@code app.images.cleanup.grace-seconds} are
+ * therefore kept; those are deleted by the first sweep after their grace has passed.
+ */
+@Component
+public class ImageCleanup implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(ImageCleanup.class);
+
+  /** The user repository, checked for references. */
+  @Autowired private UserRepository userRepository;
+
+  /** The image store. */
+  @Autowired private ImageStore imageStore;
+
+  /** How long after it was stored an image is kept even if unreferenced. */
+  private final Duration grace;
+
+  /** The thread running the periodic sweeps. */
+  private final ScheduledExecutorService sweeper =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "image-cleanup");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /**
+   * Constructor for the image cleanup.
+   *
+   * @param graceSeconds How long after it was stored an image is kept even if unreferenced
+   */
+  public ImageCleanup(@Value("${app.images.cleanup.grace-seconds:3600}") long graceSeconds) {
+    this.grace = Duration.ofSeconds(graceSeconds);
+  }
+
+  /**
+   * Sweep the store at startup, and schedule a sweep once every grace period, or every second if
+   * the grace period is shorter.
+   *
+   * @param args The application arguments
+   */
+  @Override
+  public void run(ApplicationArguments args) {
+    sweepAndLog();
+    long periodMillis = Math.max(grace.toMillis(), 1000);
+    sweeper.scheduleWithFixedDelay(
+        this::sweepAndLog, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /** Stop the periodic sweeps. */
+  @PreDestroy
+  void shutdown() {
+    sweeper.shutdownNow();
+  }
+
+  /**
+   * Delete an image a user no longer points to, unless another user does.
+   *
+   * @param key The image store key, or null
+   * @return Whether the image was deleted
+   */
+  public boolean release(String key) {
+    if (key == null || userRepository.existsByProfileImageKey(key)) {
+      return false;
+    }
+    try {
+      return imageStore.deleteIfIdle(key, grace);
+    } catch (IOException e) {
+      logger.error("Could not delete image {}: {}", key, e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Delete every stored image no user points to.
+   *
+   * @return The number of images deleted
+   * @throws IOException If the store cannot be listed
+   */
+  public int sweep() throws IOException {
+    // Keys are listed before the references are read, so an image saved in between is kept.
+    Iterable<String> keys = imageStore.keys();
+    Set<String> referenced = userRepository.findAllProfileImageKeys();
+    int deleted = 0;
+    for (String key : keys) {
+      if (!referenced.contains(key) && imageStore.deleteIfIdle(key, grace)) {
+        deleted++;
+      }
+    }
+    return deleted;
+  }
+
+  private void sweepAndLog() {
+    try {
+      int deleted = sweep();
+      if (deleted > 0) {
+        logger.info("Deleted {} unreferenced images", deleted);
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.error("Could not sweep the image store: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,291 @@
+package com.example.employeemanagement.storage;
+
+import com.example.employeemanagement.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class represents a content-addressed store for uploaded images. Each image is written once
+ * to disk under the SHA-256 of its bytes, so identical uploads share a file and a stored file never
+ * changes. Keys have the form {@code <sha256-hex>.<extension>}; the extension records the sniffed
+ * image type so it can be served without reading the file.
+ *
+ * <p>A file's modification time is refreshed whenever its bytes are stored again, so it tells how
+ * recently an upload may have handed out its key; see {@link ImageCleanup}.
+ */
+@Component
+public class ImageStore {
+
+  /** Valid keys: a lowercase SHA-256 hex digest and a supported extension. */
+  private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}\\.(png|jpg|gif|webp)");
+
+  /** The number of leading bytes inspected to detect the image type. */
+  private static final int SNIFF_LENGTH = 12;
+
+  /** The root directory of the store. */
+  private final Path root;
+
+  /** The largest accepted image, in bytes. */
+  private final long maxBytes;
+
+  /**
+   * Constructor for the image store.
+   *
+   * @param directory The root directory of the store; created if missing
+   * @param maxBytes The largest accepted image, in bytes
+   * @throws IOException If the directory cannot be created
+   */
+  public ImageStore(
+      @Value("${app.images.dir:data/images}") String directory,
+      @Value("${app.images.max-bytes:5242880}") long maxBytes)
+      throws IOException {
+    this.root = Files.createDirectories(Paths.get(directory)).toAbsolutePath();
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Store an image read from a stream. The bytes are hashed while they are copied to a temporary
+   * file, which is then moved into place under its content key.
+   *
+   * @param in The image bytes; the stream is not closed
+   * @return The key of the stored image
+   * @throws IOException If reading or writing fails
+   * @throws BadRequestException If the image is empty, too large or not a supported type
+   */
+  public String store(InputStream in) throws IOException {
+    MessageDigest sha256 = newDigest();
+    byte[] head = new byte[SNIFF_LENGTH];
+    int headLength = 0;
+    long total = 0;
+    Path temp = Files.createTempFile(root, "upload-", ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(temp)) {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+          total += read;
+          if (total > maxBytes) {
+            throw new BadRequestException("Image exceeds " + maxBytes + " bytes");
+          }
+          if (headLength < SNIFF_LENGTH) {
+            int copy = Math.min(read, SNIFF_LENGTH - headLength);
+            System.arraycopy(buffer, 0, head, headLength, copy);
+            headLength += copy;
+          }
+          sha256.update(buffer, 0, read);
+          out.write(buffer, 0, read);
+        }
+      }
+      if (total == 0) {
+        throw new BadRequestException("Image is empty");
+      }
+      String extension =
+          sniffExtension(head, headLength)
+              .orElseThrow(() -> new BadRequestException("Unsupported image type"));
+      String key = toHex(sha256.digest()) + "." + extension;
+      Path target = pathOf(key);
+      if (!refresh(target)) {
+        Files.createDirectories(target.getParent());
+        try {
+          Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+          // A concurrent upload of the same bytes won; its file is identical.
+          refresh(target);
+        }
+      }
+      return key;
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Store an image given as a base64 data URL ({@code data:image/png;base64,...}) or plain base64.
+   *
+   * @param dataUrl The encoded image
+   * @return The key of the stored image
+   * @throws IOException If writing fails
+   * @throws BadRequestException If the value is not valid base64 or not a supported image
+   */
+  public String storeDataUrl(String dataUrl) throws IOException {
+    String encoded = dataUrl;
+    if (dataUrl.startsWith("data:")) {
+      int comma = dataUrl.indexOf(',');
+      if (comma < 0 || !dataUrl.substring(0, comma).endsWith(";base64")) {
+        throw new BadRequestException("Unsupported data URL");
+      }
+      encoded = dataUrl.substring(comma + 1);
+    }
+    byte[] ascii = encoded.getBytes(StandardCharsets.US_ASCII);
+    try (InputStream in = Base64.getMimeDecoder().wrap(new ByteArrayInputStream(ascii))) {
+      return store(in);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid base64 image");
+    }
+  }
+
+  /**
+   * Locate a stored image.
+   *
+   * @param key The key of the image
+   * @return The path of the image file, or empty if the key is invalid or unknown
+   */
+  public Optional<Path> resolve(String key) {
+    if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+      return Optional.empty();
+    }
+    Path path = pathOf(key);
+    return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+  }
+
+  /**
+   * List the keys of all stored images.
+   *
+   * @return The keys
+   * @throws IOException If the store cannot be listed
+   */
+  public List<String> keys() throws IOException {
+    try (Stream<Path> files = Files.walk(root, 2)) {
+      return files
+          .map(path -> path.getFileName().toString())
+          .filter(name -> KEY_PATTERN.matcher(name).matches())
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Delete a stored image unless its bytes were stored within the given period. The caller must
+   * have checked that no user points to the key; the period covers uploads that have been handed
+   * the key but not yet saved it.
+   *
+   * @param key The key of the image
+   * @param minIdle How long ago the image must last have been stored
+   * @return Whether the image was deleted
+   * @throws IOException If the file cannot be deleted
+   */
+  public boolean deleteIfIdle(String key, Duration minIdle) throws IOException {
+    Optional<Path> path = resolve(key);
+    if (path.isEmpty()) {
+      return false;
+    }
+    Instant storedAt = Files.getLastModifiedTime(path.get()).toInstant();
+    if (storedAt.isAfter(Instant.now().minus(minIdle))) {
+      return false;
+    }
+    return Files.deleteIfExists(path.get());
+  }
+
+  /**
+   * Get the media type of a stored image from its key.
+   *
+   * @param key The key of the image
+   * @return The media type
+   */
+  public static MediaType mediaTypeOf(String key) {
+    switch (key.substring(key.lastIndexOf('.') + 1)) {
+      case "png":
+        return MediaType.IMAGE_PNG;
+      case "jpg":
+        return MediaType.IMAGE_JPEG;
+      case "gif":
+        return MediaType.IMAGE_GIF;
+      case "webp":
+        return MediaType.parseMediaType("image/webp");
+      default:
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+  }
+
+  /**
+   * Map a key to its file, fanned out by the first two hex digits to keep directories small.
+   *
+   * @param key A valid key
+   * @return The path of the image file
+   */
+  private Path pathOf(String key) {
+    return root.resolve(key.substring(0, 2)).resolve(key);
+  }
+
+  /**
+   * Detect the image type from its magic number.
+   *
+   * @param head The leading bytes of the image
+   * @param length The number of valid bytes in {@code head}
+   * @return The file extension, or empty if the type is not supported
+   */
+  private static Optional<String> sniffExtension(byte[] head, int length) {
+    if (length >= 8
+        && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+      return Optional.of("png");
+    }
+    if (length >= 3
+        && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+      return Optional.of("jpg");
+    }
+    if (length >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') {
+      return Optional.of("gif");
+    }
+    if (length >= 12
+        && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+        && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+      return Optional.of("webp");
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Mark a stored file as just stored.
+   *
+   * @param path The file
+   * @return False if the file does not exist
+   * @throws IOException If the modification time cannot be set
+   */
+  private static boolean refresh(Path path) throws IOException {
+    try {
+      Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+      return true;
+    } catch (NoSuchFileException e) {
+      return false;
+    }
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
+  }
+}
@@ -0,0 +1,113 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.dto.AutocompleteMatch;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.event.UserRegisteredEvent;
+import com.example.employeemanagement.index.AutocompleteIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** This class implements tests for the radix trie index behind prefix autocomplete. */
+public class AutocompleteIndexTests {
+
+  /** The index under test. */
+  private AutocompleteIndex index;
+
+  /** Set up the test environment. */
+  @BeforeEach
+  void setUp() {
+    index = new AutocompleteIndex();
+    upsert(
+        snapshot(1L, "Ada", "Lovelace"),
+        snapshot(2L, "Adam", "Smith"),
+        snapshot(3L, "Alan", "Turing"),
+        snapshot(4L, "Grace", "Lovell"));
+    index.onUserRegistered(new UserRegisteredEvent(10L, "alice"));
+    index.onUserRegistered(new UserRegisteredEvent(11L, "Alfred"));
+    index.onUserRegistered(new UserRegisteredEvent(12L, "bob"));
+  }
+
+  /** Test that prefixes complete from any word of a name, in alphabetical order. */
+  @Test
+  void shouldCompleteEmployeeNamesFromAnyWord() {
+    assertThat(labels(index.completeEmployeeNames("ad", 10))).containsExactly("Ada Lovelace", "Adam Smith");
+    assertThat(labels(index.completeEmployeeNames("LOV", 10))).containsExactly("Ada Lovelace", "Grace Lovell");
+    assertThat(labels(index.completeEmployeeNames("ada l", 10))).containsExactly("Ada Lovelace");
+    assertThat(labels(index.completeEmployeeNames("a", 2))).containsExactly("Ada Lovelace", "Adam Smith");
+    assertThat(index.completeEmployeeNames("x", 10)).isEmpty();
+    assertThat(index.completeEmployeeNames(" ", 10)).isEmpty();
+  }
+
+  /** Test that each employee is listed once even when several of its keys match. */
+  @Test
+  void shouldListEachEmployeeOnce() {
+    upsert(snapshot(5L, "Lee", "Lee"));
+
+    assertThat(index.completeEmployeeNames("lee", 10))
+        .extracting(AutocompleteMatch::getId)
+        .containsExactly(5L);
+  }
+
+  /** Test that renames and deletes replace the old keys and prune the trie. */
+  @Test
+  void shouldApplyUpdatesAndDeletes() {
+    int nodes = index.getStats().getNodes();
+    upsert(snapshot(5L, "Alonzo", "Church"));
+    index.onEmployeesChanged(EmployeeChangedEvent.deleted(Collections.singletonList(5L)));
+
+    assertThat(index.getStats().getNodes()).isEqualTo(nodes);
+
+    upsert(snapshot(1L, "Ada", "Byron"));
+    index.onEmployeesChanged(EmployeeChangedEvent.deleted(Collections.singletonList(3L)));
+
+    assertThat(labels(index.completeEmployeeNames("lov", 10))).containsExactly("Grace Lovell");
+    assertThat(labels(index.completeEmployeeNames("by", 10))).containsExactly("Ada Byron");
+    assertThat(labels(index.completeEmployeeNames("al", 10))).isEmpty();
+    assertThat(index.getStats().getEmployeeKeys()).isEqualTo(6);
+  }
+
+  /** Test that usernames complete ignoring case but are checked exactly. */
+  @Test
+  void shouldCompleteAndCheckUsernames() {
+    assertThat(labels(index.completeUsernames("AL", 10))).containsExactly("Alfred", "alice");
+    assertThat(index.hasUsername("alice")).isTrue();
+    assertThat(index.hasUsername("Alice")).isFalse();
+    assertThat(index.hasUsername("ali")).isFalse();
+    assertThat(index.hasUsername("carol")).isFalse();
+  }
+
+  /** Test that keys beyond the budget are skipped and reported. */
+  @Test
+  void shouldStopAtKeyBudget() {
+    index = new AutocompleteIndex();
+    ReflectionTestUtils.setField(index, "maxKeys", 3);
+    upsert(snapshot(1L, "Ada", "Lovelace"), snapshot(2L, "Adam", "Smith"));
+    index.onUserRegistered(new UserRegisteredEvent(10L, "alice"));
+
+    assertThat(index.getStats().getEmployeeKeys()).isEqualTo(2);
+    assertThat(index.getStats().getUsernames()).isEqualTo(1);
+    assertThat(index.getStats().isTruncated()).isTrue();
+    assertThat(index.completeEmployeeNames("smith", 10)).isEmpty();
+  }
+
+  private void upsert(EmployeeSnapshot... employees) {
+    index.onEmployeesChanged(EmployeeChangedEvent.upserted(Arrays.asList(employees)));
+  }
+
+  private static EmployeeSnapshot snapshot(Long id, String firstName, String lastName) {
+    return new EmployeeSnapshot(id, firstName, lastName, null, 30, null);
+  }
+
+  private static List<String> labels(List<AutocompleteMatch> matches) {
+    return matches.stream().map(AutocompleteMatch::getLabel).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,122 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.service.DepartmentService;
+import com.example.employeemanagement.service.DepartmentService.DeleteStrategy;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This class implements tests for the department cache. Tests run outside a test transaction so
+ * that saves commit and reach the cache.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(DepartmentService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DepartmentCacheTests {
+
+  /** The department service. */
+  @Autowired private DepartmentService departmentService;
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The entity manager factory, for statement statistics. */
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  /** The transaction template. */
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  /** Remove the departments committed by a test. */
+  @AfterEach
+  void tearDown() {
+    departmentRepository.deleteAll();
+  }
+
+  /** Test that a saved department is served from the cache without a query. */
+  @Test
+  void shouldServeSavedDepartmentWithoutQuery() {
+    Department saved = departmentService.saveDepartment(department("Research"));
+    long hits = departmentService.getCacheStats().hitCount();
+    statistics().clear();
+
+    assertThat(departmentService.getCachedDepartment(saved.getId()))
+        .hasValueSatisfying(department -> assertThat(department.getName()).isEqualTo("Research"));
+    assertThat(departmentService.getCachedDepartment(saved.getId())).isPresent();
+    assertThat(statistics().getPrepareStatementCount()).isZero();
+    assertThat(departmentService.getCacheStats().hitCount()).isEqualTo(hits + 2);
+  }
+
+  /** Test that a department missing from the cache is loaded once. */
+  @Test
+  void shouldLoadMissingDepartmentOnce() {
+    Department saved = departmentRepository.save(department("Sales"));
+    statistics().clear();
+
+    departmentService.getCachedDepartment(saved.getId());
+    departmentService.getCachedDepartment(saved.getId());
+
+    assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  /** Test that callers cannot change the cached department through the returned copy. */
+  @Test
+  void shouldReturnCopies() {
+    Department saved = departmentService.saveDepartment(department("Finance"));
+    departmentService.getCachedDepartment(saved.getId()).get().setName("Changed");
+
+    assertThat(departmentService.getCachedDepartment(saved.getId()).get().getName())
+        .isEqualTo("Finance");
+  }
+
+  /** Test that deleting a department evicts it. */
+  @Test
+  void shouldEvictOnDelete() {
+    Department saved = departmentService.saveDepartment(department("Legal"));
+    departmentService.getCachedDepartment(saved.getId());
+
+    departmentService.deleteDepartment(saved.getId(), DeleteStrategy.CASCADE, null);
+
+    assertThat(departmentService.getCachedDepartment(saved.getId())).isEmpty();
+  }
+
+  /** Test that a save that is rolled back never reaches the cache. */
+  @Test
+  void shouldNotCacheRolledBackSave() {
+    Department saved = departmentService.saveDepartment(department("Support"));
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          Department renamed = departmentService.getCachedDepartment(saved.getId()).get();
+          renamed.setName("Renamed");
+          departmentService.saveDepartment(renamed);
+          status.setRollbackOnly();
+        });
+
+    assertThat(departmentService.getCachedDepartment(saved.getId()).get().getName())
+        .isEqualTo("Support");
+  }
+
+  private Statistics statistics() {
+    return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  private static Department department(String name) {
+    Department department = new Department();
+    department.setName(name);
+    return department;
+  }
+}
@@ -0,0 +1,128 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.controller.DepartmentController;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.DepartmentService;
+import com.example.employeemanagement.service.ListVersions;
+import com.example.employeemanagement.service.SharedListings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * This class implements tests for the shape of single-department responses. Tests run outside a
+ * test transaction, and without a session held open for the view, so that every response is built
+ * from committed rows.
+ */
+@DataJpaTest
+@Import({DepartmentService.class, ListVersions.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DepartmentControllerTests {
+
+  /** The department service. */
+  @Autowired private DepartmentService departmentService;
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The employee repository. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The change counters. */
+  @Autowired private ListVersions listVersions;
+
+  /** The meter registry, if any. */
+  @Autowired private ObjectProvider<MeterRegistry> meterRegistry;
+
+  /** The department endpoints. */
+  private MockMvc mockMvc;
+
+  /** The department with one employee. */
+  private Department research;
+
+  /** Set up the department endpoints and a department with one employee. */
+  @BeforeEach
+  void setUp() {
+    SharedListings sharedListings = new SharedListings(0, 1 << 20, -1, meterRegistry);
+    ReflectionTestUtils.setField(sharedListings, "departmentService", departmentService);
+    ReflectionTestUtils.setField(sharedListings, "listVersions", listVersions);
+    ReflectionTestUtils.setField(sharedListings, "objectMapper", new ObjectMapper());
+    DepartmentController departmentController = new DepartmentController();
+    ReflectionTestUtils.setField(departmentController, "departmentService", departmentService);
+    ReflectionTestUtils.setField(departmentController, "listVersions", listVersions);
+    ReflectionTestUtils.setField(departmentController, "sharedListings", sharedListings);
+    mockMvc = MockMvcBuilders.standaloneSetup(departmentController).build();
+
+    Department department = new Department();
+    department.setName("Research");
+    research = departmentService.saveDepartment(department);
+    Employee employee = new Employee();
+    employee.setFirstName("Ada");
+    employee.setLastName("Lovelace");
+    employee.setEmail("ada@example.com");
+    employee.setDepartment(research);
+    employeeRepository.save(employee);
+  }
+
+  /** Remove the rows committed by a test. */
+  @AfterEach
+  void tearDown() {
+    employeeRepository.deleteAll();
+    departmentRepository.deleteAll();
+  }
+
+  /** Test that a department is returned with its employees, even once its name is cached. */
+  @Test
+  void shouldGetDepartmentWithEmployees() throws Exception {
+    departmentService.getCachedDepartment(research.getId());
+
+    mockMvc
+        .perform(get("/api/departments/{id}", research.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("Research"))
+        .andExpect(jsonPath("$.employees.length()").value(1))
+        .andExpect(jsonPath("$.employees[0].email").value("ada@example.com"));
+  }
+
+  /** Test that renaming a department keeps its employees, in the response and in the database. */
+  @Test
+  void shouldUpdateDepartmentWithoutLosingEmployees() throws Exception {
+    mockMvc
+        .perform(
+            put("/api/departments/{id}", research.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Labs\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("Labs"))
+        .andExpect(jsonPath("$.employees.length()").value(1))
+        .andExpect(jsonPath("$.employees[0].email").value("ada@example.com"));
+
+    mockMvc
+        .perform(get("/api/departments/{id}", research.getId()))
+        .andExpect(jsonPath("$.name").value("Labs"))
+        .andExpect(jsonPath("$.employees.length()").value(1));
+    assertThat(employeeRepository.count()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,137 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.exception.ConflictException;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.DepartmentService;
+import com.example.employeemanagement.service.DepartmentService.DeleteStrategy;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** This class implements tests for the bulk department delete strategies. */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(DepartmentService.class)
+public class DepartmentDeleteTests {
+
+  /** The number of employees in the department being deleted. */
+  private static final int EMPLOYEES = 200;
+
+  /** The department service. */
+  @Autowired private DepartmentService departmentService;
+
+  /** The employee repository. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The test entity manager. */
+  @Autowired private TestEntityManager entityManager;
+
+  /** The department being deleted. */
+  private Department source;
+
+  /** The department receiving reassigned employees. */
+  private Department target;
+
+  /** Set up the test environment with a populated and an empty department. */
+  @BeforeEach
+  void setUp() {
+    source = departmentRepository.save(department("Source"));
+    target = departmentRepository.save(department("Target"));
+    for (int i = 0; i < EMPLOYEES; i++) {
+      Employee employee = new Employee();
+      employee.setFirstName("First" + i);
+      employee.setLastName("Last" + i);
+      employee.setEmail("employee" + i + "@example.com");
+      employee.setDepartment(source);
+      employeeRepository.save(employee);
+    }
+    entityManager.flush();
+    entityManager.clear();
+    statistics().clear();
+  }
+
+  /** Test that cascading deletes the employees without loading them. */
+  @Test
+  void shouldCascadeInConstantStatements() {
+    int deleted = departmentService.deleteDepartment(source.getId(), DeleteStrategy.CASCADE, null);
+
+    assertThat(deleted).isEqualTo(EMPLOYEES);
+    // Existence check, employee IDs for the change event, employee delete, department delete.
+    assertThat(statistics().getPrepareStatementCount()).isEqualTo(4);
+    assertThat(statistics().getEntityLoadCount()).isZero();
+    assertThat(employeeRepository.count()).isZero();
+    assertThat(departmentRepository.existsById(source.getId())).isFalse();
+  }
+
+  /** Test that reassigning moves the employees to the target department. */
+  @Test
+  void shouldReassignInConstantStatements() {
+    int moved =
+        departmentService.deleteDepartment(source.getId(), DeleteStrategy.REASSIGN, target.getId());
+
+    assertThat(moved).isEqualTo(EMPLOYEES);
+    // Two existence checks, employee IDs, update, moved snapshots, department delete.
+    assertThat(statistics().getPrepareStatementCount()).isEqualTo(6);
+    assertThat(employeeRepository.existsByDepartmentId(target.getId())).isTrue();
+    assertThat(departmentRepository.existsById(source.getId())).isFalse();
+  }
+
+  /** Test that rejecting keeps a non-empty department and deletes an empty one. */
+  @Test
+  void shouldRejectNonEmptyDepartment() {
+    assertThatThrownBy(
+            () -> departmentService.deleteDepartment(source.getId(), DeleteStrategy.REJECT, null))
+        .isInstanceOf(ConflictException.class);
+    assertThat(departmentRepository.existsById(source.getId())).isTrue();
+
+    departmentService.deleteDepartment(target.getId(), DeleteStrategy.REJECT, null);
+    assertThat(departmentRepository.existsById(target.getId())).isFalse();
+  }
+
+  /** Test that reassigning requires a different target department. */
+  @Test
+  void shouldRequireReassignTarget() {
+    assertThatThrownBy(
+            () -> departmentService.deleteDepartment(source.getId(), DeleteStrategy.REASSIGN, null))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(
+            () ->
+                departmentService.deleteDepartment(
+                    source.getId(), DeleteStrategy.REASSIGN, source.getId()))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  private static Department department(String name) {
+    Department department = new Department();
+    department.setName(name);
+    return department;
+  }
+
+  /**
+   * Get the Hibernate statistics.
+   *
+   * @return The statistics
+   */
+  private Statistics statistics() {
+    return entityManager
+        .getEntityManager()
+        .getEntityManagerFactory()
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+  }
+}
@@ -0,0 +1,106 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.dto.DepartmentSummary;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.DepartmentService;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** This class implements tests for the fetch-planned department listings. */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@Import(DepartmentService.class)
+public class DepartmentSummaryTests {
+
+  /** The department service. */
+  @Autowired private DepartmentService departmentService;
+
+  /** The employee repository. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The test entity manager. */
+  @Autowired private TestEntityManager entityManager;
+
+  /** Set up the test environment with three departments, one of them empty. */
+  @BeforeEach
+  void setUp() {
+    for (int d = 0; d < 3; d++) {
+      Department department = new Department();
+      department.setName("Department" + d);
+      department = departmentRepository.save(department);
+      for (int e = 0; e < d * 2; e++) {
+        Employee employee = new Employee();
+        employee.setFirstName("First" + e);
+        employee.setLastName("Last" + e);
+        employee.setEmail("employee" + d + "." + e + "@example.com");
+        employee.setDepartment(department);
+        employeeRepository.save(employee);
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+    statistics().clear();
+  }
+
+  /** Test that the summary view counts employees in one statement. */
+  @Test
+  void shouldSummarizeDepartmentsInOneStatement() {
+    List<DepartmentSummary> summaries = departmentService.getDepartmentSummaries(false);
+
+    assertThat(summaries).extracting(DepartmentSummary::getEmployeeCount).containsExactly(0L, 2L, 4L);
+    assertThat(summaries).allSatisfy(summary -> assertThat(summary.getEmployees()).isNull());
+    assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  /** Test that the summary view with employees takes two statements. */
+  @Test
+  void shouldAttachEmployeesInTwoStatements() {
+    List<DepartmentSummary> summaries = departmentService.getDepartmentSummaries(true);
+
+    assertThat(summaries.get(0).getEmployees()).isEmpty();
+    assertThat(summaries.get(2).getEmployees()).hasSize(4);
+    assertThat(summaries.get(2).getEmployees())
+        .allSatisfy(e -> assertThat(e.getDepartmentId()).isEqualTo(summaries.get(2).getId()));
+    assertThat(statistics().getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  /** Test that the full view initializes every employee collection in one statement. */
+  @Test
+  void shouldFetchDepartmentsWithEmployeesInOneStatement() {
+    List<Department> departments = departmentService.getAllDepartments();
+
+    assertThat(departments).hasSize(3);
+    assertThat(departments.stream().mapToInt(d -> d.getEmployees().size()).sum()).isEqualTo(6);
+    assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  /**
+   * Get the Hibernate statistics.
+   *
+   * @return The statistics
+   */
+  private Statistics statistics() {
+    return entityManager
+        .getEntityManager()
+        .getEntityManagerFactory()
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+  }
+}
@@ -0,0 +1,146 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.analytics.EmployeeAnalytics;
+import com.example.employeemanagement.dto.AgeBucket;
+import com.example.employeemanagement.dto.AnalyticsSummary;
+import com.example.employeemanagement.dto.DepartmentHeadcount;
+import com.example.employeemanagement.dto.DomainCount;
+import com.example.employeemanagement.event.DepartmentChangedEvent;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.SnapshotScanner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+/** This class implements tests for the incrementally maintained employee analytics. */
+@DataJpaTest
+@Import(SnapshotScanner.class)
+public class EmployeeAnalyticsTests {
+
+  /** The employee repository. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The scanner the rebuild scans read through. */
+  @Autowired private SnapshotScanner snapshotScanner;
+
+  /** The analytics under test. */
+  private EmployeeAnalytics analytics;
+
+  /** The first department. */
+  private Department research;
+
+  /** The second department. */
+  private Department sales;
+
+  /** An employee of the first department. */
+  private Employee ada;
+
+  /** Set up two departments with three employees and fresh analytics built from them. */
+  @BeforeEach
+  void setUp() {
+    research = departmentRepository.save(department("Research"));
+    sales = departmentRepository.save(department("Sales"));
+    ada = employeeRepository.save(employee("Ada", "ada@corp.com", 36, research));
+    employeeRepository.save(employee("Grace", "grace@navy.mil", 45, research));
+    employeeRepository.save(employee("Alan", "alan@corp.com", 41, sales));
+
+    analytics = new EmployeeAnalytics();
+    ReflectionTestUtils.setField(analytics, "departmentRepository", departmentRepository);
+    ReflectionTestUtils.setField(analytics, "snapshotScanner", snapshotScanner);
+    analytics.run(null);
+  }
+
+  /** Test that the startup build aggregates every employee. */
+  @Test
+  void shouldBuildFromDatabase() {
+    AnalyticsSummary summary = analytics.getSummary(10);
+
+    assertThat(summary.isReady()).isTrue();
+    assertThat(summary.getEmployees()).isEqualTo(3);
+    assertThat(summary.getDepartments()).isEqualTo(2);
+    assertThat(summary.getAverageAge()).isCloseTo(40.67, within(0.01));
+    assertThat(summary.getHeadcounts())
+        .extracting(DepartmentHeadcount::getDepartmentName, DepartmentHeadcount::getHeadcount)
+        .containsExactly(tuple("Research", 2L), tuple("Sales", 1L));
+    assertThat(summary.getAgeHistogram())
+        .extracting(AgeBucket::getLabel, AgeBucket::getCount)
+        .containsExactly(
+            tuple("0-19", 0L),
+            tuple("20-29", 0L),
+            tuple("30-39", 1L),
+            tuple("40-49", 2L),
+            tuple("50-59", 0L),
+            tuple("60+", 0L));
+    assertThat(summary.getEmailDomains())
+        .extracting(DomainCount::getDomain, DomainCount::getCount)
+        .containsExactly(tuple("corp.com", 2L), tuple("navy.mil", 1L));
+  }
+
+  /** Test that writes are applied incrementally and agree with a full recompute. */
+  @Test
+  void shouldApplyChangesIncrementally() {
+    ada.setDepartment(sales);
+    ada.setAge(62);
+    ada.setEmail("ada@analytical.org");
+    ada = employeeRepository.saveAndFlush(ada);
+    analytics.onEmployeesChanged(
+        EmployeeChangedEvent.upserted(Collections.singletonList(EmployeeSnapshot.of(ada))));
+    Department legal = departmentRepository.save(department("Legal"));
+    analytics.onDepartmentChanged(DepartmentChangedEvent.upserted(legal.getId(), "Legal"));
+
+    AnalyticsSummary summary = analytics.getSummary(1);
+
+    assertThat(summary.getHeadcounts())
+        .extracting(DepartmentHeadcount::getDepartmentName, DepartmentHeadcount::getHeadcount)
+        .containsExactly(tuple("Sales", 2L), tuple("Research", 1L), tuple("Legal", 0L));
+    assertThat(summary.getAgeHistogram().get(5).getCount()).isEqualTo(1);
+    assertThat(summary.getEmailDomains()).hasSize(1);
+    assertThat(summary.getOtherDomainEmployees()).isEqualTo(2);
+    assertThat(analytics.recompute().isConsistent()).isTrue();
+  }
+
+  /** Test that a recompute detects and repairs aggregates that drifted from the database. */
+  @Test
+  void shouldRepairDrift() {
+    analytics.onEmployeesChanged(
+        EmployeeChangedEvent.deleted(Collections.singletonList(ada.getId())));
+    assertThat(analytics.getSummary(10).getEmployees()).isEqualTo(2);
+
+    assertThat(analytics.recompute().isConsistent()).isFalse();
+    assertThat(analytics.getSummary(10).getEmployees()).isEqualTo(3);
+    assertThat(analytics.recompute().isConsistent()).isTrue();
+  }
+
+  private static Department department(String name) {
+    Department department = new Department();
+    department.setName(name);
+    return department;
+  }
+
+  private static Employee employee(String firstName, String email, int age, Department department) {
+    Employee employee = new Employee();
+    employee.setFirstName(firstName);
+    employee.setLastName("Doe");
+    employee.setEmail(email);
+    employee.setAge(age);
+    employee.setDepartment(department);
+    return employee;
+  }
+}
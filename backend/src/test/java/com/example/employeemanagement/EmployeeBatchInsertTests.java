@@ -0,0 +1,75 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** This class implements tests for the sequence-based, batched employee inserts. */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class EmployeeBatchInsertTests {
+
+  /** The employee repository. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The test entity manager. */
+  @Autowired private TestEntityManager entityManager;
+
+  /** Test that inserting many employees takes a handful of statements rather than one each. */
+  @Test
+  void insertsEmployeesInBatches() {
+    Department department = new Department();
+    department.setName("Batch");
+    department = departmentRepository.save(department);
+    entityManager.flush();
+    statistics().clear();
+
+    List<Employee> employees = new ArrayList<>();
+    for (int i = 0; i < 120; i++) {
+      Employee employee = new Employee();
+      employee.setFirstName("First" + i);
+      employee.setLastName("Last" + i);
+      employee.setEmail("batch" + i + "@example.com");
+      employee.setDepartment(department);
+      employees.add(employee);
+    }
+    employeeRepository.saveAll(employees);
+    // IDs are assigned from the sequence before anything is flushed.
+    assertThat(employees).allSatisfy(employee -> assertThat(employee.getId()).isNotNull());
+    entityManager.flush();
+
+    assertThat(statistics().getEntityInsertCount()).isEqualTo(120);
+    // Three sequence calls for 120 IDs and three insert batches of up to 50 rows.
+    assertThat(statistics().getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    assertThat(employeeRepository.count()).isEqualTo(120);
+  }
+
+  /**
+   * Get the Hibernate statistics.
+   *
+   * @return The statistics
+   */
+  private Statistics statistics() {
+    return entityManager
+        .getEntityManager()
+        .getEntityManagerFactory()
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+  }
+}
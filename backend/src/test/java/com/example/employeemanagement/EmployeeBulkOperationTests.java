@@ -0,0 +1,154 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.dto.BulkDeleteRequest;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.EmployeeService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** This class implements tests for the set-based bulk employee operations. */
+@DataJpaTest
+@AutoConfigureJson
+@Import(EmployeeService.class)
+public class EmployeeBulkOperationTests {
+
+  /** The employee service. */
+  @Autowired private EmployeeService employeeService;
+
+  /** The employee repository. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The test entity manager. */
+  @Autowired private TestEntityManager entityManager;
+
+  /** The source department. */
+  private Department sales;
+
+  /** The target department. */
+  private Department support;
+
+  /** The IDs of the employees, all in sales. */
+  private List<Long> ids;
+
+  /** Set up the test environment with five employees in one department. */
+  @BeforeEach
+  void setUp() {
+    sales = departmentRepository.save(department("Sales"));
+    support = departmentRepository.save(department("Support"));
+    ids = new ArrayList<>();
+    String[] emails = {"a@corp.com", "b@corp.com", "c@CORP.com", "d@other.com", "e@corpxcom"};
+    for (int i = 0; i < emails.length; i++) {
+      Employee employee = new Employee();
+      employee.setFirstName("First" + i);
+      employee.setLastName(i < 2 ? "Smith" : "Jones");
+      employee.setEmail(emails[i]);
+      employee.setDepartment(sales);
+      ids.add(employeeRepository.save(employee).getId());
+    }
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  /** Test that a move spanning several IN-list chunks updates rows and bumps their versions. */
+  @Test
+  void shouldMoveEmployeesAndBumpVersions() {
+    // Pad the list past one chunk with IDs that do not exist, plus a duplicate.
+    List<Long> request =
+        LongStream.range(1_000_000, 1_001_500).boxed().collect(Collectors.toList());
+    request.add(ids.get(0));
+    request.add(ids.get(0));
+    request.add(ids.get(1));
+
+    int moved = employeeService.moveEmployees(request, support.getId());
+
+    assertThat(moved).isEqualTo(2);
+    Employee first = employeeRepository.findById(ids.get(0)).orElseThrow();
+    assertThat(first.getDepartment().getId()).isEqualTo(support.getId());
+    assertThat(first.getVersion()).isEqualTo(1L);
+    assertThat(employeeRepository.findById(ids.get(2)).orElseThrow().getVersion()).isEqualTo(0L);
+  }
+
+  /** Test that moving to a missing department is rejected. */
+  @Test
+  void shouldRejectMoveToMissingDepartment() {
+    assertThatThrownBy(() -> employeeService.moveEmployees(ids, 999_999L))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  /** Test deleting by an email domain filter, matched case-insensitively and literally. */
+  @Test
+  void shouldDeleteByFilter() {
+    BulkDeleteRequest request = new BulkDeleteRequest(null, sales.getId(), null, "corp.com");
+
+    assertThat(employeeService.deleteEmployees(request)).isEqualTo(3);
+    assertThat(employeeRepository.findAll())
+        .extracting(Employee::getEmail)
+        .containsExactlyInAnyOrder("d@other.com", "e@corpxcom");
+  }
+
+  /** Test deleting by IDs combined with a filter. */
+  @Test
+  void shouldDeleteByIdsAndFilter() {
+    BulkDeleteRequest request = new BulkDeleteRequest(ids.subList(1, 4), null, "Jones", null);
+
+    assertThat(employeeService.deleteEmployees(request)).isEqualTo(2);
+    assertThat(employeeRepository.count()).isEqualTo(3);
+    assertThat(employeeService.deleteEmployees(new BulkDeleteRequest(Arrays.asList(ids.get(0)), null, null, null)))
+        .isEqualTo(1);
+  }
+
+  /** Test that a delete without IDs or filter is rejected instead of deleting everything. */
+  @Test
+  void shouldRejectUnrestrictedDelete() {
+    assertThatThrownBy(() -> employeeService.deleteEmployees(new BulkDeleteRequest()))
+        .isInstanceOf(BadRequestException.class);
+    assertThat(employeeRepository.count()).isEqualTo(5);
+  }
+
+  /** Test that a filter matching more employees than a bulk delete may remove is rejected. */
+  @Test
+  void shouldRejectFilterMatchingTooMany() {
+    ReflectionTestUtils.setField(employeeService, "maxBulkDeleteRows", 4);
+    try {
+      assertThatThrownBy(
+              () -> employeeService.deleteEmployees(new BulkDeleteRequest(null, sales.getId(), null, null)))
+          .isInstanceOf(BadRequestException.class);
+      assertThat(employeeRepository.count()).isEqualTo(5);
+      assertThat(employeeService.deleteEmployees(new BulkDeleteRequest(null, sales.getId(), null, "corp.com")))
+          .isEqualTo(3);
+      assertThat(employeeService.deleteEmployees(new BulkDeleteRequest(ids, sales.getId(), null, null)))
+          .isEqualTo(2);
+    } finally {
+      ReflectionTestUtils.setField(employeeService, "maxBulkDeleteRows", 100_000);
+    }
+  }
+
+  private static Department department(String name) {
+    Department department = new Department();
+    department.setName(name);
+    return department;
+  }
+}
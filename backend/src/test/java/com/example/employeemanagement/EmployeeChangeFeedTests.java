@@ -0,0 +1,133 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.event.DepartmentChangedEvent;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.service.EmployeeChangeFeed;
+import com.example.employeemanagement.service.EmployeeChangeLog;
+import com.example.employeemanagement.sse.SseBroadcaster;
+import com.example.employeemanagement.sse.SseMessage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This class implements tests for the live employee change feed. Flushes are triggered directly
+ * instead of waiting for the coalescing delay, and broadcasts are recorded instead of sent.
+ */
+public class EmployeeChangeFeedTests {
+
+  /** The mapper reading back the event data. */
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /** The change log the feed reads from. */
+  private EmployeeChangeLog changeLog;
+
+  /** The feed under test, sending at most two employee changes per message. */
+  private EmployeeChangeFeed feed;
+
+  /** The messages broadcast by the feed. */
+  private List<SseMessage> broadcast;
+
+  /** Set up the test environment. */
+  @BeforeEach
+  void setUp() {
+    changeLog = new EmployeeChangeLog(100);
+    feed = new EmployeeChangeFeed();
+    ReflectionTestUtils.setField(feed, "employeeChangeLog", changeLog);
+    ReflectionTestUtils.setField(feed, "objectMapper", objectMapper);
+    ReflectionTestUtils.setField(feed, "coalesceMillis", 3_600_000L);
+    ReflectionTestUtils.setField(feed, "maxBatch", 2);
+    ReflectionTestUtils.setField(feed, "bufferSize", 16);
+    ReflectionTestUtils.invokeMethod(feed, "init");
+    broadcast = new ArrayList<>();
+    ReflectionTestUtils.setField(
+        feed,
+        "broadcaster",
+        new SseBroadcaster("test", 1, 16, 0) {
+          @Override
+          public void broadcast(SseMessage message) {
+            broadcast.add(message);
+          }
+        });
+  }
+
+  /** Stop the feed. */
+  @AfterEach
+  void tearDown() {
+    ReflectionTestUtils.invokeMethod(feed, "shutdown");
+  }
+
+  /** Test that a burst of writes is published as one message with the latest states. */
+  @Test
+  void shouldCoalesceBurstIntoOneMessage() throws Exception {
+    upsert(snapshot(1L, "Ada"));
+    upsert(snapshot(2L, "Grace"));
+    upsert(snapshot(1L, "Augusta"));
+    flush();
+
+    assertThat(broadcast).hasSize(1);
+    SseMessage message = broadcast.get(0);
+    assertThat(message.getName()).isEqualTo(EmployeeChangeFeed.EMPLOYEES_EVENT);
+    assertThat(message.getId()).isEqualTo(Long.toString(changeLog.currentSequence()));
+    JsonNode upserted = objectMapper.readTree(message.getData()).get("upserted");
+    assertThat(upserted).hasSize(2);
+    assertThat(upserted.get(0).get("firstName").asText()).isEqualTo("Grace");
+    assertThat(upserted.get(1).get("firstName").asText()).isEqualTo("Augusta");
+
+    flush();
+    assertThat(broadcast).hasSize(1);
+  }
+
+  /** Test that department writes are published with the latest change per department. */
+  @Test
+  void shouldPublishLatestDepartmentChanges() throws Exception {
+    feed.onDepartmentChanged(DepartmentChangedEvent.upserted(1L, "Research"));
+    feed.onDepartmentChanged(DepartmentChangedEvent.upserted(2L, "Sales"));
+    feed.onDepartmentChanged(DepartmentChangedEvent.deleted(1L));
+    flush();
+
+    assertThat(broadcast).hasSize(1);
+    assertThat(broadcast.get(0).getName()).isEqualTo(EmployeeChangeFeed.DEPARTMENTS_EVENT);
+    JsonNode departments = objectMapper.readTree(broadcast.get(0).getData());
+    assertThat(departments).hasSize(2);
+    assertThat(departments.get(0).get("deleted").asBoolean()).isTrue();
+    assertThat(departments.get(1).get("name").asText()).isEqualTo("Sales");
+  }
+
+  /** Test that clients are told to reload when a burst exceeds the largest message. */
+  @Test
+  void shouldResetOnLargeBurst() {
+    upsert(snapshot(1L, "Ada"), snapshot(2L, "Grace"), snapshot(3L, "Alan"));
+    flush();
+    upsert(snapshot(4L, "Edsger"));
+    flush();
+
+    assertThat(broadcast)
+        .extracting(SseMessage::getName)
+        .containsExactly(EmployeeChangeFeed.RESET_EVENT, EmployeeChangeFeed.EMPLOYEES_EVENT);
+  }
+
+  private void upsert(EmployeeSnapshot... employees) {
+    EmployeeChangedEvent event = EmployeeChangedEvent.upserted(Arrays.asList(employees));
+    changeLog.onEmployeesChanged(event);
+    feed.onEmployeesChanged(event);
+  }
+
+  private void flush() {
+    ReflectionTestUtils.invokeMethod(feed, "flush");
+  }
+
+  private static EmployeeSnapshot snapshot(Long id, String firstName) {
+    return new EmployeeSnapshot(id, firstName, "Doe", firstName.toLowerCase() + "@corp.com", 30, 1L);
+  }
+}
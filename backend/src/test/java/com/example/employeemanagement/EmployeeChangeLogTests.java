@@ -0,0 +1,100 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.dto.EmployeeChanges;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.exception.GoneException;
+import com.example.employeemanagement.service.EmployeeChangeLog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** This class implements tests for the employee change log behind delta sync. */
+public class EmployeeChangeLogTests {
+
+  /** The log under test, holding at most three entries. */
+  private EmployeeChangeLog changeLog;
+
+  /** The sequence number before any change. */
+  private long start;
+
+  /** Set up the test environment. */
+  @BeforeEach
+  void setUp() {
+    changeLog = new EmployeeChangeLog(3);
+    start = changeLog.currentSequence();
+  }
+
+  /** Test that only the changes after the given sequence number are returned. */
+  @Test
+  void shouldReturnOnlyNewerChanges() {
+    upsert(snapshot(1L, "Ada"), snapshot(2L, "Grace"));
+    long seen = changeLog.currentSequence();
+    upsert(snapshot(3L, "Alan"));
+
+    EmployeeChanges changes = changeLog.changesSince(seen, 100);
+
+    assertThat(changes.getUpserted()).extracting(EmployeeSnapshot::getId).containsExactly(3L);
+    assertThat(changes.getDeleted()).isEmpty();
+    assertThat(changes.getSequence()).isEqualTo(changeLog.currentSequence());
+    assertThat(changeLog.changesSince(changes.getSequence(), 100).getUpserted()).isEmpty();
+  }
+
+  /** Test that each employee appears once with its latest state, and deletes as tombstones. */
+  @Test
+  void shouldCompactToLatestState() {
+    upsert(snapshot(1L, "Ada"), snapshot(2L, "Grace"));
+    upsert(snapshot(1L, "Augusta"));
+    changeLog.onEmployeesChanged(EmployeeChangedEvent.deleted(Collections.singletonList(2L)));
+
+    EmployeeChanges changes = changeLog.changesSince(start, 100);
+
+    assertThat(changes.getUpserted())
+        .extracting(EmployeeSnapshot::getFirstName)
+        .containsExactly("Augusta");
+    assertThat(changes.getDeleted()).containsExactly(2L);
+  }
+
+  /** Test that a limit splits the changes and the returned sequence number continues them. */
+  @Test
+  void shouldPageByLimit() {
+    upsert(snapshot(1L, "Ada"), snapshot(2L, "Grace"), snapshot(3L, "Alan"));
+
+    EmployeeChanges first = changeLog.changesSince(start, 2);
+    EmployeeChanges second = changeLog.changesSince(first.getSequence(), 2);
+
+    assertThat(first.isHasMore()).isTrue();
+    assertThat(first.getUpserted()).extracting(EmployeeSnapshot::getId).containsExactly(1L, 2L);
+    assertThat(second.isHasMore()).isFalse();
+    assertThat(second.getUpserted()).extracting(EmployeeSnapshot::getId).containsExactly(3L);
+  }
+
+  /** Test that sequence numbers before the retained entries or unknown to the log are refused. */
+  @Test
+  void shouldRefuseUnavailableSequenceNumbers() {
+    upsert(snapshot(1L, "Ada"), snapshot(2L, "Grace"), snapshot(3L, "Alan"));
+    long afterFirst = start + 1;
+    upsert(snapshot(4L, "Edsger"));
+
+    assertThatThrownBy(() -> changeLog.changesSince(start, 100))
+        .isInstanceOf(GoneException.class);
+    assertThatThrownBy(() -> changeLog.changesSince(changeLog.currentSequence() + 1, 100))
+        .isInstanceOf(GoneException.class);
+    assertThat(changeLog.changesSince(afterFirst, 100).getUpserted())
+        .extracting(EmployeeSnapshot::getId)
+        .containsExactly(2L, 3L, 4L);
+  }
+
+  private void upsert(EmployeeSnapshot... employees) {
+    changeLog.onEmployeesChanged(EmployeeChangedEvent.upserted(Arrays.asList(employees)));
+  }
+
+  private static EmployeeSnapshot snapshot(Long id, String firstName) {
+    return new EmployeeSnapshot(id, firstName, "Doe", firstName.toLowerCase() + "@corp.com", 30, 1L);
+  }
+}
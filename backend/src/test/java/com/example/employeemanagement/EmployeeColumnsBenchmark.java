@@ -0,0 +1,147 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.analytics.EmployeeColumns;
+import com.example.employeemanagement.dto.DepartmentAgeStats;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * This class benchmarks analytical scans over the columnar employee snapshot against the same
+ * queries over a list of employee entities. It is not run by the test suite; run it with:
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     org.openjdk.jmh.Main EmployeeColumnsBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeColumnsBenchmark {
+
+  /** The number of employees. */
+  @Param({"100000", "1000000"})
+  private int employees;
+
+  /** The employees as entities. */
+  private List<Employee> entities;
+
+  /** The employees as a columnar snapshot. */
+  private EmployeeColumns columns;
+
+  /** Generate employees spread over 50 departments and 40 email domains. */
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    List<Department> departments = new ArrayList<>();
+    for (long id = 1; id <= 50; id++) {
+      Department department = new Department();
+      department.setId(id);
+      department.setName("Department " + id);
+      departments.add(department);
+    }
+    entities = new ArrayList<>(employees);
+    EmployeeColumns.Builder builder = EmployeeColumns.builder(employees);
+    for (long id = 1; id <= employees; id++) {
+      Employee employee = new Employee();
+      employee.setId(id);
+      employee.setFirstName("First" + random.nextInt(5000));
+      employee.setLastName("Last" + random.nextInt(20000));
+      employee.setEmail("user" + id + "@domain" + random.nextInt(40) + ".com");
+      employee.setEmailDomain(Employee.domainOf(employee.getEmail()));
+      employee.setAge(18 + random.nextInt(50));
+      employee.setDepartment(departments.get(random.nextInt(departments.size())));
+      entities.add(employee);
+      builder.add(EmployeeSnapshot.of(employee));
+    }
+    columns = builder.build();
+  }
+
+  /**
+   * Median and 90th percentile age per department over the entities.
+   *
+   * @return The percentiles per department ID
+   */
+  @Benchmark
+  public Map<Long, int[]> entityAgePercentiles() {
+    Map<Long, List<Integer>> ages =
+        entities.stream()
+            .collect(
+                Collectors.groupingBy(
+                    employee -> employee.getDepartment().getId(),
+                    Collectors.mapping(Employee::getAge, Collectors.toList())));
+    Map<Long, int[]> percentiles = new HashMap<>();
+    ages.forEach(
+        (departmentId, values) -> {
+          values.sort(null);
+          percentiles.put(
+              departmentId,
+              new int[] {
+                values.get((int) Math.ceil(0.5 * values.size()) - 1),
+                values.get((int) Math.ceil(0.9 * values.size()) - 1)
+              });
+        });
+    return percentiles;
+  }
+
+  /**
+   * Median and 90th percentile age per department over the columnar snapshot.
+   *
+   * @return The statistics per department
+   */
+  @Benchmark
+  public List<DepartmentAgeStats> columnarAgePercentiles() {
+    return columns.ageStatsByDepartment(50, 90);
+  }
+
+  /**
+   * Employees of one department aged 30 to 39 with one email domain, over the entities.
+   *
+   * @return The count
+   */
+  @Benchmark
+  public long entityCohortCount() {
+    return entities.stream()
+        .filter(
+            employee ->
+                employee.getDepartment().getId() == 7L
+                    && employee.getAge() >= 30
+                    && employee.getAge() <= 39
+                    && "domain3.com".equals(employee.getEmailDomain()))
+        .count();
+  }
+
+  /**
+   * Employees of one department aged 30 to 39 with one email domain, over the columnar snapshot.
+   *
+   * @return The count
+   */
+  @Benchmark
+  public long columnarCohortCount() {
+    return columns.countCohort(7L, 30, 39, "domain3.com");
+  }
+}
@@ -0,0 +1,101 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.analytics.EmployeeColumns;
+import com.example.employeemanagement.dto.AgePercentile;
+import com.example.employeemanagement.dto.DepartmentAgeStats;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+
+import org.junit.jupiter.api.Test;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/** This class implements tests for the columnar employee snapshot. */
+public class EmployeeColumnsTests {
+
+  /** Test that cohorts are counted by department, age range and email domain. */
+  @Test
+  void shouldCountCohorts() {
+    EmployeeColumns columns =
+        EmployeeColumns.builder(4)
+            .add(employee(1L, "Ada", "ada@corp.com", 36, 10L))
+            .add(employee(2L, "Grace", "grace@Navy.mil", 45, 10L))
+            .add(employee(3L, "Alan", "alan@corp.com", 41, 20L))
+            .add(employee(4L, "Edsger", "edsger", 29, null))
+            .build();
+
+    assertThat(columns.countCohort(null, 0, Integer.MAX_VALUE, null)).isEqualTo(4);
+    assertThat(columns.countCohort(10L, 40, 49, null)).isEqualTo(1);
+    assertThat(columns.countCohort(null, 30, 49, "CORP.com")).isEqualTo(2);
+    assertThat(columns.countCohort(null, 0, 100, "unknown.org")).isZero();
+    assertThat(columns.emailDomainAt(1)).isEqualTo("navy.mil");
+    assertThat(columns.departmentIdAt(3)).isNull();
+  }
+
+  /** Test that patches update, delete and insert rows in ID order and keep string codes valid. */
+  @Test
+  void shouldPatchRows() {
+    EmployeeColumns base =
+        EmployeeColumns.builder(3)
+            .add(employee(1L, "Ada", "ada@corp.com", 36, 10L))
+            .add(employee(3L, "Alan", "alan@corp.com", 41, 20L))
+            .add(employee(5L, "Grace", "grace@navy.mil", 45, 10L))
+            .build();
+    Map<Long, EmployeeSnapshot> changes = new HashMap<>();
+    changes.put(3L, null);
+    changes.put(4L, employee(4L, "Barbara", "barbara@mit.edu", 52, 20L));
+    changes.put(5L, employee(5L, "Grace", "grace@navy.mil", 46, 20L));
+    changes.put(6L, employee(6L, "Ada", "ada@corp.com", 28, null));
+
+    EmployeeColumns patched = base.patch(changes);
+
+    assertThat(patched.size()).isEqualTo(4);
+    assertThat(patched.idAt(0)).isEqualTo(1L);
+    assertThat(patched.firstNameAt(0)).isEqualTo("Ada");
+    assertThat(patched.idAt(1)).isEqualTo(4L);
+    assertThat(patched.emailDomainAt(1)).isEqualTo("mit.edu");
+    assertThat(patched.ageAt(2)).isEqualTo(46);
+    assertThat(patched.departmentIdAt(2)).isEqualTo(20L);
+    assertThat(patched.firstNameAt(3)).isEqualTo("Ada");
+    assertThat(patched.countCohort(null, 0, 100, "corp.com")).isEqualTo(2);
+    assertThat(base.size()).isEqualTo(3);
+    assertThat(base.ageAt(2)).isEqualTo(45);
+  }
+
+  /** Test that age statistics are exact when the scan is split into parallel chunks. */
+  @Test
+  void shouldComputeAgeStatsInParallel() {
+    int rows = 200_000;
+    EmployeeColumns.Builder builder = EmployeeColumns.builder(rows);
+    for (int i = 0; i < rows; i++) {
+      Long departmentId = i % 10 == 0 ? null : (long) (i % 2);
+      String email = "e" + i + "@d" + (i % 7) + ".com";
+      builder.add(employee(i + 1L, "E" + (i % 100), email, i % 100, departmentId));
+    }
+
+    List<DepartmentAgeStats> stats = builder.build().ageStatsByDepartment(50, 100);
+
+    assertThat(stats)
+        .extracting(
+            DepartmentAgeStats::getDepartmentId,
+            DepartmentAgeStats::getEmployees,
+            DepartmentAgeStats::getMinAge,
+            DepartmentAgeStats::getMaxAge)
+        .containsExactly(
+            tuple(null, 20_000L, 0, 90),
+            tuple(0L, 80_000L, 2, 98),
+            tuple(1L, 100_000L, 1, 99));
+    assertThat(stats.get(2).getAverageAge()).isEqualTo(50.0);
+    assertThat(stats.get(2).getPercentiles())
+        .extracting(AgePercentile::getAge)
+        .containsExactly(49, 99);
+  }
+
+  private static EmployeeSnapshot employee(
+      Long id, String firstName, String email, int age, Long departmentId) {
+    return new EmployeeSnapshot(id, firstName, "Doe", email, age, departmentId);
+  }
+}
@@ -0,0 +1,99 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.dto.ImportReport;
+import com.example.employeemanagement.dto.ImportRowError;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.EmployeeImportService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** This class implements tests for the bulk employee import. */
+@DataJpaTest(properties = "app.employees.import.chunk-size=2")
+@AutoConfigureJson
+@Import(EmployeeImportService.class)
+public class EmployeeImportTests {
+
+  /** The import service. */
+  @Autowired private EmployeeImportService employeeImportService;
+
+  /** The employee repository. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The department rows are imported into. */
+  private Department department;
+
+  /** Set up the test environment with one department. */
+  @BeforeEach
+  void setUp() {
+    department = new Department();
+    department.setName("Imports");
+    department = departmentRepository.save(department);
+  }
+
+  /** Test that valid CSV rows are stored across chunks and invalid rows are reported by line. */
+  @Test
+  void shouldImportCsvAndReportRejectedRows() throws IOException {
+    long id = department.getId();
+    String csv =
+        "first_name,last_name,email,age,department_id\r\n"
+            + "Ada,Lovelace,ada@example.com,36," + id + "\r\n"
+            + "\"Grace, Jr.\",\"Hop\"\"per\",grace@example.com,," + id + "\r\n"
+            + ",Nobody,nobody@example.com,30," + id + "\r\n"
+            + "Alan,Turing,alan@example.com,41,999999\r\n"
+            + "Edsger,\"Dijk\nstra\",edsger@example.com,abc," + id + "\r\n"
+            + "Linus,Torvalds,linus@example.com,54," + id + "\r\n";
+
+    ImportReport report = employeeImportService.importEmployees(stream(csv), EmployeeImportService.Format.CSV);
+
+    assertThat(report.getReceived()).isEqualTo(6);
+    assertThat(report.getImported()).isEqualTo(3);
+    assertThat(report.getRejected()).isEqualTo(3);
+    assertThat(report.getErrors()).extracting(ImportRowError::getLine).containsExactly(4L, 5L, 6L);
+    assertThat(report.getErrors().get(1).getMessage()).contains("999999");
+    List<Employee> employees = employeeRepository.findAllWithDepartments();
+    assertThat(employees)
+        .extracting(Employee::getLastName)
+        .containsExactlyInAnyOrder("Lovelace", "Hop\"per", "Torvalds");
+    assertThat(employees).allSatisfy(e -> assertThat(e.getDepartment().getName()).isEqualTo("Imports"));
+  }
+
+  /** Test that NDJSON rows accept both department shapes and malformed lines are reported. */
+  @Test
+  void shouldImportNdjson() throws IOException {
+    long id = department.getId();
+    String ndjson =
+        "{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\",\"email\":\"ada@example.com\",\"age\":36,\"departmentId\":" + id + "}\n"
+            + "\n"
+            + "{\"firstName\":\"Grace\",\"lastName\":\"Hopper\",\"email\":\"grace@example.com\",\"department\":{\"id\":" + id + "}}\n"
+            + "{\"firstName\":\"Broken\"\n"
+            + "{\"firstName\":\"Alan\",\"lastName\":\"Turing\",\"email\":\"not-an-email\",\"departmentId\":" + id + "}\n";
+
+    ImportReport report = employeeImportService.importEmployees(stream(ndjson), EmployeeImportService.Format.NDJSON);
+
+    assertThat(report.getImported()).isEqualTo(2);
+    assertThat(report.getErrors()).extracting(ImportRowError::getLine).containsExactly(4L, 5L);
+    assertThat(employeeRepository.count()).isEqualTo(2);
+  }
+
+  private static InputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
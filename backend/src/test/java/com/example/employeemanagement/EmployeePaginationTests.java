@@ -0,0 +1,139 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.dto.CursorPage;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.EmployeeCursor;
+import com.example.employeemanagement.service.EmployeeService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** This class implements tests for the keyset-paginated and streamed employee listings. */
+@DataJpaTest
+@AutoConfigureJson
+@Transactional
+@Import(EmployeeService.class)
+public class EmployeePaginationTests {
+
+  /** The employee service. */
+  @Autowired private EmployeeService employeeService;
+
+  /** The employee repository. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** Set up the test environment. */
+  @BeforeEach
+  void setUp() {
+    Department department = new Department();
+    department.setName("IT");
+    department = departmentRepository.save(department);
+
+    String[] lastNames = {"Smith", "Doe", null, "Adams", "Doe", "Zhang", null};
+    for (int i = 0; i < lastNames.length; i++) {
+      Employee employee = new Employee();
+      employee.setFirstName("First" + i);
+      employee.setLastName(lastNames[i]);
+      employee.setEmail("employee" + i + "@example.com");
+      employee.setDepartment(department);
+      employeeRepository.save(employee);
+    }
+  }
+
+  /** Test that walking the ID-ordered pages visits every employee exactly once, in order. */
+  @Test
+  void shouldWalkAllPagesById() {
+    List<Employee> visited = walk(EmployeeCursor.Sort.ID, 3);
+
+    List<Long> expected =
+        employeeRepository.findAll().stream()
+            .map(Employee::getId)
+            .sorted()
+            .collect(Collectors.toList());
+    assertThat(visited.stream().map(Employee::getId).collect(Collectors.toList()))
+        .isEqualTo(expected);
+  }
+
+  /** Test that walking the name-ordered pages handles duplicate and null last names. */
+  @Test
+  void shouldWalkAllPagesByLastName() {
+    List<Employee> visited = walk(EmployeeCursor.Sort.LAST_NAME, 2);
+
+    assertThat(visited).hasSize(7);
+    assertThat(visited.stream().map(Employee::getLastName).collect(Collectors.toList()))
+        .containsExactly(null, null, "Adams", "Doe", "Doe", "Smith", "Zhang");
+  }
+
+  /** Test that the page size is capped. */
+  @Test
+  void shouldCapPageSize() {
+    CursorPage<Employee> page = employeeService.getEmployeePage(EmployeeCursor.Sort.ID, null, 10_000);
+
+    assertThat(page.getSize()).isEqualTo(7);
+    assertThat(page.getNextCursor()).isNull();
+  }
+
+  /** Test that a cursor cannot be replayed against another sort. */
+  @Test
+  void shouldRejectCursorForOtherSort() {
+    String cursor =
+        employeeService.getEmployeePage(EmployeeCursor.Sort.ID, null, 2).getNextCursor();
+
+    assertThatThrownBy(
+            () -> employeeService.getEmployeePage(EmployeeCursor.Sort.LAST_NAME, cursor, 2))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> employeeService.getEmployeePage(EmployeeCursor.Sort.ID, "%%", 2))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  /** Test that the NDJSON export writes one line per employee in ID order. */
+  @Test
+  void shouldExportEmployeesAsNdjson() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long count = employeeService.exportEmployees(out, false);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertThat(count).isEqualTo(7);
+    assertThat(lines).hasSize(7);
+    assertThat(lines[0]).startsWith("{\"id\":").contains("\"firstName\":\"First0\"");
+  }
+
+  /**
+   * Follow next cursors until the last page.
+   *
+   * @param sort The sort
+   * @param size The page size
+   * @return Every employee visited, in page order
+   */
+  private List<Employee> walk(EmployeeCursor.Sort sort, int size) {
+    List<Employee> visited = new ArrayList<>();
+    String cursor = null;
+    do {
+      CursorPage<Employee> page = employeeService.getEmployeePage(sort, cursor, size);
+      assertThat(page.getSize()).isLessThanOrEqualTo(size);
+      visited.addAll(page.getContent());
+      cursor = page.getNextCursor();
+    } while (cursor != null);
+    return visited;
+  }
+}
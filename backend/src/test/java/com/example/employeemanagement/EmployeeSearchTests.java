@@ -0,0 +1,154 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.dto.CursorPage;
+import com.example.employeemanagement.dto.EmployeeSearchCriteria;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.EmployeeCursor;
+import com.example.employeemanagement.service.EmployeeService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** This class implements tests for the filtered employee search. */
+@DataJpaTest
+@AutoConfigureJson
+@Import(EmployeeService.class)
+public class EmployeeSearchTests {
+
+  /** The employee service. */
+  @Autowired private EmployeeService employeeService;
+
+  /** The employee repository. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The test entity manager. */
+  @Autowired private TestEntityManager entityManager;
+
+  /** The department most employees belong to. */
+  private Department engineering;
+
+  /** Set up the test environment. */
+  @BeforeEach
+  void setUp() {
+    engineering = departmentRepository.save(department("Engineering"));
+    Department sales = departmentRepository.save(department("Sales"));
+    save("Ada", "Smith", "ada@Corp.com", 30, engineering);
+    save("Alan", "Smithers", "alan@corp.com", 45, engineering);
+    save("Grace", null, "grace@corp.com", 50, engineering);
+    save("Linus", "Smith", "linus@other.org", 35, engineering);
+    save("Ken", "Smith", "ken@corp.com", 40, sales);
+    save("Dennis", "Jones", "dennis@corp.com", 28, engineering);
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  /** Test that all filters are combined. */
+  @Test
+  void shouldCombineFilters() {
+    EmployeeSearchCriteria criteria =
+        new EmployeeSearchCriteria(engineering.getId(), 30, 45, "Smith", null, "CORP.com");
+
+    CursorPage<Employee> page =
+        employeeService.searchEmployees(criteria, EmployeeCursor.Sort.ID, null, null);
+
+    assertThat(page.getContent()).extracting(Employee::getFirstName).containsExactly("Ada", "Alan");
+    assertThat(page.getNextCursor()).isNull();
+  }
+
+  /** Test that a filtered search pages by last name with nulls first and no gaps or repeats. */
+  @Test
+  void shouldWalkFilteredPagesByLastName() {
+    EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+    criteria.setDepartmentId(engineering.getId());
+
+    List<String> visited = new ArrayList<>();
+    String cursor = null;
+    do {
+      CursorPage<Employee> page =
+          employeeService.searchEmployees(criteria, EmployeeCursor.Sort.LAST_NAME, cursor, 2);
+      page.getContent().forEach(e -> visited.add(e.getFirstName()));
+      cursor = page.getNextCursor();
+    } while (cursor != null);
+
+    assertThat(visited).containsExactly("Grace", "Dennis", "Ada", "Linus", "Alan");
+  }
+
+  /** Test that the email domain is derived on write and backfilled for older rows. */
+  @Test
+  void shouldDeriveAndBackfillEmailDomain() {
+    Employee ada = employeeRepository.findAll().get(0);
+    assertThat(ada.getEmailDomain()).isEqualTo("corp.com");
+
+    entityManager.getEntityManager()
+        .createNativeQuery("UPDATE employees SET email_domain = NULL")
+        .executeUpdate();
+    assertThat(employeeRepository.backfillEmailDomains()).isEqualTo(6);
+    entityManager.clear();
+    assertThat(employeeRepository.findAll())
+        .extracting(Employee::getEmailDomain)
+        .containsOnly("corp.com", "other.org");
+  }
+
+  /** Test that the search indexes are created with the schema. */
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldCreateSearchIndexes() {
+    List<Object> indexes =
+        (List<Object>) entityManager.getEntityManager()
+            .createNativeQuery(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'EMPLOYEES'")
+            .getResultList();
+
+    assertThat(indexes)
+        .contains(
+            "idx_employees_department",
+            "idx_employees_name",
+            "idx_employees_email",
+            "idx_employees_email_domain");
+  }
+
+  /** Test that an inverted age range is rejected. */
+  @Test
+  void shouldRejectInvertedAgeRange() {
+    EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+    criteria.setMinAge(50);
+    criteria.setMaxAge(20);
+
+    assertThatThrownBy(
+            () -> employeeService.searchEmployees(criteria, EmployeeCursor.Sort.ID, null, null))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  private void save(String firstName, String lastName, String email, int age, Department department) {
+    Employee employee = new Employee();
+    employee.setFirstName(firstName);
+    employee.setLastName(lastName);
+    employee.setEmail(email);
+    employee.setAge(age);
+    employee.setDepartment(department);
+    employeeRepository.save(employee);
+  }
+
+  private static Department department(String name) {
+    Department department = new Department();
+    department.setName(name);
+    return department;
+  }
+}
@@ -0,0 +1,117 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeeSnapshot;
+import com.example.employeemanagement.index.EmployeeTrigramIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** This class implements tests for the in-memory trigram index behind the typeahead search. */
+public class EmployeeTrigramIndexTests {
+
+  /** The index under test. */
+  private EmployeeTrigramIndex index;
+
+  /** Set up the test environment. */
+  @BeforeEach
+  void setUp() {
+    index = new EmployeeTrigramIndex();
+    upsert(
+        snapshot(1L, "Ada", "Lovelace", "ada.lovelace@corp.com"),
+        snapshot(2L, "Danny", "Glover", "danny@films.org"),
+        snapshot(3L, "Adam", "Smith", "adam.smith@corp.com"),
+        snapshot(4L, "Grace", "Hopper", "grace@navy.mil"));
+  }
+
+  /** Test that word-start matches rank above matches inside a word. */
+  @Test
+  void shouldRankWordStartsFirst() {
+    assertThat(index.search("love", 10)).containsExactly(1L, 2L);
+    assertThat(index.search("LOVE", 10)).containsExactly(1L, 2L);
+  }
+
+  /** Test that short terms match word prefixes only. */
+  @Test
+  void shouldMatchShortTermsAsWordPrefixes() {
+    assertThat(index.search("a", 10)).containsExactly(1L, 3L);
+    assertThat(index.search("gr", 10)).containsExactly(4L);
+    assertThat(index.search("ra", 10)).isEmpty();
+  }
+
+  /** Test that every term must match and that the limit applies. */
+  @Test
+  void shouldRequireAllTerms() {
+    assertThat(index.search("ad corp", 10)).containsExactly(1L, 3L);
+    assertThat(index.search("ad smi", 10)).containsExactly(3L);
+    assertThat(index.search("ad corp", 1)).containsExactly(1L);
+    assertThat(index.search("zzz", 10)).isEmpty();
+    assertThat(index.search("  ", 10)).isEmpty();
+  }
+
+  /** Test that updates and deletes are reflected in searches. */
+  @Test
+  void shouldApplyUpdatesAndDeletes() {
+    upsert(snapshot(1L, "Ada", "Byron", "ada.byron@corp.com"));
+    index.onEmployeesChanged(EmployeeChangedEvent.deleted(Collections.singletonList(2L)));
+
+    assertThat(index.search("love", 10)).isEmpty();
+    assertThat(index.search("byron", 10)).containsExactly(1L);
+    assertThat(index.getStats().getDocuments()).isEqualTo(3);
+  }
+
+  /** Test that dead documents are purged once they are a quarter of the index. */
+  @Test
+  void shouldPurgeDeadDocuments() {
+    List<EmployeeSnapshot> many = new ArrayList<>();
+    List<Long> deleted = new ArrayList<>();
+    for (long id = 100; id < 3100; id++) {
+      many.add(snapshot(id, "Temp" + id, "Worker", "temp" + id + "@corp.com"));
+      deleted.add(id);
+    }
+    index.onEmployeesChanged(EmployeeChangedEvent.upserted(many));
+    index.onEmployeesChanged(EmployeeChangedEvent.deleted(deleted));
+
+    assertThat(index.getStats().getDeadDocuments()).isZero();
+    assertThat(index.getStats().getDocuments()).isEqualTo(4);
+    assertThat(index.search("worker", 10)).isEmpty();
+    assertThat(index.search("corp", 10)).containsExactly(1L, 3L);
+  }
+
+  /** Test that memory stays bounded however often the same employees are updated. */
+  @Test
+  void shouldStayBoundedUnderRepeatedUpdates() {
+    long baseline = index.getStats().getEstimatedBytes();
+    for (int round = 0; round < 500; round++) {
+      List<EmployeeSnapshot> updates = new ArrayList<>();
+      for (long id = 100; id < 200; id++) {
+        updates.add(snapshot(id, "Temp" + round, "Worker" + id, "temp" + id + "@corp.com"));
+      }
+      index.onEmployeesChanged(EmployeeChangedEvent.upserted(updates));
+    }
+
+    // 104 live employees; at most MIN_PURGE dead documents plus one round are kept between purges.
+    assertThat(index.getStats().getDocuments()).isEqualTo(104);
+    assertThat(index.getStats().getDeadDocuments()).isLessThan(1024 + 100);
+    assertThat(index.getStats().getDocumentBytes()).isLessThan(64 * 1024);
+    assertThat(index.getStats().getEstimatedBytes()).isLessThan(baseline + 512 * 1024);
+    assertThat(index.search("temp499 worker150", 10)).containsExactly(150L);
+    assertThat(index.search("temp498", 10)).isEmpty();
+    assertThat(index.search("ad corp", 10)).containsExactly(1L, 3L);
+    assertThat(index.search("corp", 3)).containsExactly(1L, 3L, 100L);
+  }
+
+  private void upsert(EmployeeSnapshot... employees) {
+    index.onEmployeesChanged(EmployeeChangedEvent.upserted(Arrays.asList(employees)));
+  }
+
+  private static EmployeeSnapshot snapshot(Long id, String firstName, String lastName, String email) {
+    return new EmployeeSnapshot(id, firstName, lastName, email, 30, 1L);
+  }
+}
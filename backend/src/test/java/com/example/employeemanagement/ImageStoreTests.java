@@ -0,0 +1,176 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.controller.ImageController;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.storage.ImageStore;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** This class implements tests for the content-addressed image store and the image endpoint. */
+public class ImageStoreTests {
+
+  /** The smallest bytes recognized as a PNG image. */
+  static final byte[] PNG = {
+    (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'
+  };
+
+  /** The smallest bytes recognized as a JPEG image. */
+  static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 16, 'J', 'F'};
+
+  /** The root directory of the store under test. */
+  @TempDir Path root;
+
+  /** The store under test. */
+  private ImageStore imageStore;
+
+  /** The image endpoint, served by the store under test. */
+  private MockMvc mockMvc;
+
+  /** Set up a fresh store and image endpoint. */
+  @BeforeEach
+  void setUp() throws IOException {
+    imageStore = new ImageStore(root.toString(), 1024);
+    ImageController imageController = new ImageController();
+    ReflectionTestUtils.setField(imageController, "imageStore", imageStore);
+    mockMvc = MockMvcBuilders.standaloneSetup(imageController).build();
+  }
+
+  /** Test that images are stored once under the SHA-256 of their bytes. */
+  @Test
+  void shouldAddressImagesByContent() throws Exception {
+    String key = imageStore.store(new ByteArrayInputStream(PNG));
+
+    assertThat(key).isEqualTo(sha256Hex(PNG) + ".png");
+    assertThat(imageStore.store(new ByteArrayInputStream(PNG))).isEqualTo(key);
+    assertThat(imageStore.storeDataUrl("data:image/png;base64," + base64(PNG))).isEqualTo(key);
+    assertThat(imageStore.storeDataUrl(base64(PNG))).isEqualTo(key);
+    assertThat(imageStore.keys()).containsExactly(key);
+    assertThat(Files.readAllBytes(imageStore.resolve(key).orElseThrow())).isEqualTo(PNG);
+  }
+
+  /** Test that the type is taken from the magic bytes and anything else is rejected. */
+  @Test
+  void shouldSniffImageTypes() throws IOException {
+    assertThat(imageStore.store(new ByteArrayInputStream(JPEG))).endsWith(".jpg");
+    assertThat(imageStore.store(new ByteArrayInputStream("GIF89a....".getBytes()))).endsWith(".gif");
+    assertThat(imageStore.store(new ByteArrayInputStream("RIFF\0\0\0\0WEBPVP8 ".getBytes())))
+        .endsWith(".webp");
+
+    assertThatThrownBy(() -> imageStore.store(new ByteArrayInputStream("<svg/>".getBytes())))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> imageStore.store(new ByteArrayInputStream(new byte[0])))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> imageStore.store(new ByteArrayInputStream(Arrays.copyOf(PNG, 2048))))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> imageStore.storeDataUrl("data:text/plain,hello"))
+        .isInstanceOf(BadRequestException.class);
+    assertThat(imageStore.keys()).hasSize(3);
+    try (var files = Files.walk(root)) {
+      assertThat(files.filter(path -> path.toString().endsWith(".tmp"))).isEmpty();
+    }
+  }
+
+  /** Test that only images stored longer ago than the given period are deleted. */
+  @Test
+  void shouldDeleteOnlyIdleImages() throws IOException {
+    String key = imageStore.store(new ByteArrayInputStream(PNG));
+    assertThat(imageStore.deleteIfIdle(key, Duration.ofHours(1))).isFalse();
+
+    Path path = imageStore.resolve(key).orElseThrow();
+    Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+    imageStore.store(new ByteArrayInputStream(PNG));
+    assertThat(imageStore.deleteIfIdle(key, Duration.ofHours(1))).isFalse();
+
+    Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+    assertThat(imageStore.deleteIfIdle(key, Duration.ofHours(1))).isTrue();
+    assertThat(imageStore.resolve(key)).isEmpty();
+  }
+
+  /** Test that images are served with a strong ETag, a one-year lifetime and 304 revalidation. */
+  @Test
+  void shouldServeImmutableImages() throws Exception {
+    String key = imageStore.store(new ByteArrayInputStream(PNG));
+
+    mockMvc
+        .perform(get("/profile-images/" + key))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("image/png"))
+        .andExpect(content().bytes(PNG))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"" + key + "\""))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public"))
+        .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"));
+
+    mockMvc
+        .perform(get("/profile-images/" + key).header(HttpHeaders.IF_NONE_MATCH, "\"" + key + "\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().bytes(new byte[0]));
+
+    mockMvc.perform(get("/profile-images/" + sha256Hex(JPEG) + ".jpg")).andExpect(status().isNotFound());
+    mockMvc.perform(get("/profile-images/..%2Fsecret.png")).andExpect(status().isNotFound());
+  }
+
+  /** Test that range requests are answered with partial content. */
+  @Test
+  void shouldServeRanges() throws Exception {
+    String key = imageStore.store(new ByteArrayInputStream(PNG));
+
+    mockMvc
+        .perform(get("/profile-images/" + key).header(HttpHeaders.RANGE, "bytes=4-7"))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 4-7/" + PNG.length))
+        .andExpect(content().bytes(Arrays.copyOfRange(PNG, 4, 8)));
+  }
+
+  /** Test that full responses are handed to the connector's sendfile when it supports it. */
+  @Test
+  void shouldUseSendfile() throws Exception {
+    String key = imageStore.store(new ByteArrayInputStream(PNG));
+
+    mockMvc
+        .perform(
+            get("/profile-images/" + key).requestAttr("org.apache.tomcat.sendfile.support", true))
+        .andExpect(status().isOk())
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, PNG.length))
+        .andExpect(content().bytes(new byte[0]))
+        .andExpect(
+            result ->
+                assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.filename"))
+                    .isEqualTo(imageStore.resolve(key).orElseThrow().toString()));
+  }
+
+  static String base64(byte[] bytes) {
+    return Base64.getEncoder().encodeToString(bytes);
+  }
+
+  private static String sha256Hex(byte[] bytes) throws Exception {
+    StringBuilder hex = new StringBuilder();
+    for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+}
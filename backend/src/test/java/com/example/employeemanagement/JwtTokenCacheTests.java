@@ -0,0 +1,178 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.security.JwtRequestFilter;
+import com.example.employeemanagement.security.JwtTokenUtil;
+import com.example.employeemanagement.security.VerifiedToken;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** This class implements tests for the verified-token cache and the JWT request filter. */
+public class JwtTokenCacheTests {
+
+  /** The key the utility signs and verifies with. */
+  private static final String SECRET = "secretKey";
+
+  /** The registry the cache metrics are bound to. */
+  private MeterRegistry meterRegistry;
+
+  /** The utility under test. */
+  private JwtTokenUtil jwtTokenUtil;
+
+  /** Set up a fresh utility. */
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    jwtTokenUtil = new JwtTokenUtil(100, meterRegistry);
+  }
+
+  /** Clear the security context the filter tests populate. */
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  /** Test that a cached token is served from the cache and rejected once it expires. */
+  @Test
+  void shouldRejectCachedTokenOnceExpired() throws InterruptedException {
+    // Expiry is stored in whole seconds, so round up to leave at least one second of validity.
+    long expiresAt = (System.currentTimeMillis() / 1000 + 2) * 1000;
+    String token = token("alice", expiresAt, SECRET);
+
+    assertThat(jwtTokenUtil.verifyToken(token)).map(VerifiedToken::getSubject).hasValue("alice");
+    assertThat(jwtTokenUtil.verifyToken(token)).isPresent();
+    assertThat(hits()).isEqualTo(1);
+
+    Thread.sleep(Math.max(0, expiresAt - System.currentTimeMillis()) + 50);
+    assertThat(jwtTokenUtil.verifyToken(token)).isEmpty();
+    assertThat(jwtTokenUtil.validateToken(token, "alice")).isFalse();
+  }
+
+  /** Test that altered and re-signed tokens are verified afresh and rejected. */
+  @Test
+  void shouldNeverServeChangedTokensFromCache() {
+    long expiresAt = System.currentTimeMillis() + 60_000;
+    String token = token("alice", expiresAt, SECRET);
+    assertThat(jwtTokenUtil.verifyToken(token)).isPresent();
+
+    String[] parts = token.split("\\.");
+    String payload =
+        new String(Base64.getUrlDecoder().decode(parts[1])).replace("alice", "mallory");
+    String altered =
+        parts[0]
+            + "."
+            + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes())
+            + "."
+            + parts[2];
+    String resigned = token("alice", expiresAt, "anotherKey");
+    String truncated = token.substring(0, token.length() - 2);
+
+    assertThat(jwtTokenUtil.verifyToken(altered)).isEmpty();
+    assertThat(jwtTokenUtil.verifyToken(resigned)).isEmpty();
+    assertThat(jwtTokenUtil.verifyToken(truncated)).isEmpty();
+    assertThat(jwtTokenUtil.verifyToken(token("bob", expiresAt, SECRET)))
+        .map(VerifiedToken::getSubject)
+        .hasValue("bob");
+    assertThat(hits()).isZero();
+  }
+
+  /** Test that the cache remembers no more tokens than its maximum size. */
+  @Test
+  void shouldStayWithinMaximumSize() {
+    JwtTokenUtil small = new JwtTokenUtil(10, new SimpleMeterRegistry());
+    for (int i = 0; i < 500; i++) {
+      assertThat(small.verifyToken(token("user" + i, System.currentTimeMillis() + 60_000, SECRET)))
+          .isPresent();
+    }
+
+    // Evictions are applied by background maintenance, which may still be running.
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    while (small.getCachedTokenCount() > 10 && System.nanoTime() < deadline) {
+      Thread.yield();
+    }
+    assertThat(small.getCachedTokenCount()).isLessThanOrEqualTo(10);
+  }
+
+  /** Test that the filter replaces the anonymous authentication installed ahead of it. */
+  @Test
+  void shouldReplaceAnonymousAuthentication() throws Exception {
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+    filter(jwtTokenUtil.generateToken("alice"));
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    assertThat(authentication).isInstanceOf(UsernamePasswordAuthenticationToken.class);
+    assertThat(authentication.getName()).isEqualTo("alice");
+  }
+
+  /** Test that the filter keeps existing authentications and ignores invalid tokens. */
+  @Test
+  void shouldKeepOtherAuthentications() throws Exception {
+    AnonymousAuthenticationToken anonymous =
+        new AnonymousAuthenticationToken(
+            "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+    SecurityContextHolder.getContext().setAuthentication(anonymous);
+    filter(token("alice", System.currentTimeMillis() + 60_000, "anotherKey"));
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(anonymous);
+
+    UsernamePasswordAuthenticationToken bob =
+        new UsernamePasswordAuthenticationToken("bob", null, new ArrayList<>());
+    SecurityContextHolder.getContext().setAuthentication(bob);
+    filter(jwtTokenUtil.generateToken("alice"));
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(bob);
+  }
+
+  private void filter(String token) throws Exception {
+    UserDetailsService userDetailsService =
+        username -> new User(username, "secret", new ArrayList<>());
+    JwtRequestFilter filter = new JwtRequestFilter();
+    ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+    ReflectionTestUtils.setField(filter, "jwtTokenUtil", jwtTokenUtil);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+    request.addHeader("Authorization", "Bearer " + token);
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+  }
+
+  private double hits() {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", "verifiedTokens")
+        .tag("result", "hit")
+        .functionCounter()
+        .count();
+  }
+
+  private static String token(String subject, long expiresAt, String secret) {
+    return Jwts.builder()
+        .setSubject(subject)
+        .setIssuedAt(new Date())
+        .setExpiration(new Date(expiresAt))
+        .signWith(SignatureAlgorithm.HS256, secret)
+        .compact();
+  }
+}
@@ -0,0 +1,176 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.controller.DepartmentController;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.service.DepartmentService;
+import com.example.employeemanagement.service.ListVersions;
+import com.example.employeemanagement.service.SharedListings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This class implements tests for the listing ETags. Tests run outside a test transaction so that
+ * writes commit and reach the change counters.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({DepartmentService.class, ListVersions.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ListVersionsTests {
+
+  /** The department service. */
+  @Autowired private DepartmentService departmentService;
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The change counters. */
+  @Autowired private ListVersions listVersions;
+
+  /** The publisher of change events. */
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
+  /** The entity manager factory, for statement statistics. */
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  /** The transaction template. */
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  /** The meter registry, if any. */
+  @Autowired private ObjectProvider<MeterRegistry> meterRegistry;
+
+  /** The mapper reading back the listings. */
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /** The controller under test. */
+  private DepartmentController departmentController;
+
+  /** Set up the controller. */
+  @BeforeEach
+  void setUp() {
+    departmentController = new DepartmentController();
+    ReflectionTestUtils.setField(departmentController, "departmentService", departmentService);
+    ReflectionTestUtils.setField(departmentController, "listVersions", listVersions);
+    SharedListings sharedListings = new SharedListings(0, 1 << 20, -1, meterRegistry);
+    ReflectionTestUtils.setField(sharedListings, "departmentService", departmentService);
+    ReflectionTestUtils.setField(sharedListings, "listVersions", listVersions);
+    ReflectionTestUtils.setField(sharedListings, "objectMapper", objectMapper);
+    ReflectionTestUtils.setField(departmentController, "sharedListings", sharedListings);
+  }
+
+  /** Remove the departments committed by a test. */
+  @AfterEach
+  void tearDown() {
+    departmentRepository.deleteAll();
+  }
+
+  /** Test that a committed department write changes only the department ETag. */
+  @Test
+  void shouldChangeDepartmentsETagOnDepartmentWrite() {
+    String employees = listVersions.employeesETag();
+    String departments = listVersions.departmentsETag();
+
+    departmentService.saveDepartment(department("Research"));
+
+    assertThat(listVersions.employeesETag()).isEqualTo(employees);
+    assertThat(listVersions.departmentsETag()).isNotEqualTo(departments);
+  }
+
+  /** Test that employee writes change both ETags, since departments embed their employees. */
+  @Test
+  void shouldChangeBothETagsOnEmployeeWrite() {
+    String employees = listVersions.employeesETag();
+    String departments = listVersions.departmentsETag();
+
+    eventPublisher.publishEvent(EmployeeChangedEvent.deleted(Collections.emptyList()));
+    assertThat(listVersions.employeesETag()).isEqualTo(employees);
+
+    eventPublisher.publishEvent(EmployeeChangedEvent.deleted(Collections.singletonList(1L)));
+    assertThat(listVersions.employeesETag()).isNotEqualTo(employees);
+    assertThat(listVersions.departmentsETag()).isNotEqualTo(departments);
+  }
+
+  /** Test that a rolled-back write leaves the ETags unchanged. */
+  @Test
+  void shouldKeepETagOnRollback() {
+    String departments = listVersions.departmentsETag();
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          departmentService.saveDepartment(department("Support"));
+          status.setRollbackOnly();
+        });
+
+    assertThat(listVersions.departmentsETag()).isEqualTo(departments);
+  }
+
+  /** Test that a matching If-None-Match is answered with 304 without any query. */
+  @Test
+  void shouldAnswerNotModifiedWithoutQuery() throws IOException {
+    departmentService.saveDepartment(department("Finance"));
+    MockHttpServletResponse first = new MockHttpServletResponse();
+    ResponseEntity<byte[]> full =
+        departmentController.getAllDepartments("full", true, webRequest(null, first));
+    assertThat(full.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(objectMapper.readTree(full.getBody())).hasSize(1);
+    String etag = full.getHeaders().getETag();
+
+    SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    sessionFactory.getStatistics().clear();
+    MockHttpServletResponse second = new MockHttpServletResponse();
+    assertThat(departmentController.getAllDepartments("full", true, webRequest(etag, second)))
+        .isNull();
+    assertThat(second.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+    assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+    assertThat(sessionFactory.getStatistics().getPrepareStatementCount()).isZero();
+
+    departmentService.saveDepartment(department("Legal"));
+    ResponseEntity<byte[]> changed =
+        departmentController.getAllDepartments(
+            "full", true, webRequest(etag, new MockHttpServletResponse()));
+    assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(objectMapper.readTree(changed.getBody())).hasSize(2);
+    assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+  }
+
+  private static ServletWebRequest webRequest(String ifNoneMatch, MockHttpServletResponse response) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/departments");
+    if (ifNoneMatch != null) {
+      request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    }
+    return new ServletWebRequest(request, response);
+  }
+
+  private static Department department(String name) {
+    Department department = new Department();
+    department.setName(name);
+    return department;
+  }
+}
@@ -0,0 +1,129 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.logging.LogStreamService;
+import com.example.employeemanagement.logging.LogTailReader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** This class implements tests for streaming appended log lines to viewers. */
+public class LogStreamServiceTests {
+
+  /** The directory holding the log file. */
+  @TempDir Path directory;
+
+  /** The active log file. */
+  private Path log;
+
+  /** The service under test, polling every 20 ms. */
+  private LogStreamService logStreamService;
+
+  /** Set up a fresh service following an empty log. */
+  @BeforeEach
+  void setUp() throws IOException {
+    log = Files.createFile(directory.resolve("application.log"));
+    logStreamService = new LogStreamService();
+    ReflectionTestUtils.setField(
+        logStreamService, "logTailReader", new LogTailReader(log.toString(), 5000, 10));
+    ReflectionTestUtils.setField(logStreamService, "pollMillis", 20L);
+    ReflectionTestUtils.setField(logStreamService, "bufferSize", 16);
+    ReflectionTestUtils.setField(logStreamService, "timeoutMillis", 0L);
+    ReflectionTestUtils.invokeMethod(logStreamService, "init");
+  }
+
+  /** Stop the poller. */
+  @AfterEach
+  void tearDown() {
+    ReflectionTestUtils.invokeMethod(logStreamService, "shutdown");
+  }
+
+  /** Test that the backlog comes first and live lines follow it without repeats. */
+  @Test
+  void shouldSendBacklogBeforeLiveLines() throws Exception {
+    append("1\n2\n3\npart");
+
+    SseRecorder viewer = SseRecorder.attach(logStreamService.subscribe(2));
+    append("ial\n4\n");
+
+    assertThat(viewer.awaitEvents(2)).containsExactly("lines:2\n3", "lines:partial\n4");
+  }
+
+  /** Test that a viewer joining a running stream gets a backlog that meets the live lines. */
+  @Test
+  void shouldJoinRunningStreamWithoutGapsOrRepeats() throws Exception {
+    SseRecorder first = SseRecorder.attach(logStreamService.subscribe(0));
+    append("1\n2\n");
+    assertThat(first.awaitEvents(1)).containsExactly("lines:1\n2");
+
+    // Lines appended just before the second viewer joins are not yet polled.
+    append("3\n");
+    SseRecorder second = SseRecorder.attach(logStreamService.subscribe(10));
+    append("4\n");
+
+    assertThat(awaitLines(first, "4")).isEqualTo("1\n2\n3\n4");
+    assertThat(awaitLines(second, "4")).isEqualTo("1\n2\n3\n4");
+  }
+
+  /** Test that the stream follows the log through truncation and rollover. */
+  @Test
+  void shouldFollowTruncationAndRollover() throws Exception {
+    append("first line of a long file\n");
+    SseRecorder viewer = SseRecorder.attach(logStreamService.subscribe(0));
+    append("second line of a long file\n");
+    assertThat(viewer.awaitEvents(1)).containsExactly("lines:second line of a long file");
+
+    Files.write(log, "truncated\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
+    assertThat(viewer.awaitEvents(2)).endsWith("lines:truncated");
+
+    Files.move(log, directory.resolve("application.log.2024-01-01.0"));
+    Files.write(log, "b\n".getBytes(StandardCharsets.UTF_8));
+    assertThat(viewer.awaitEvents(3)).endsWith("lines:b");
+  }
+
+  /** Test that the poller stops once the last viewer has gone and restarts at the end of the log. */
+  @Test
+  void shouldRestartAtEndOfLog() throws Exception {
+    SseRecorder viewer = SseRecorder.attach(logStreamService.subscribe(0));
+    viewer.error(new IOException("Connection reset"));
+    assertThat(logStreamService.getSubscriberCount()).isZero();
+    append("old\n");
+    Thread.sleep(100);
+
+    SseRecorder next = SseRecorder.attach(logStreamService.subscribe(0));
+    append("new\n");
+
+    assertThat(next.awaitEvents(1)).containsExactly("lines:new");
+  }
+
+  private void append(String text) throws IOException {
+    Files.write(log, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+  }
+
+  /** Wait until a viewer has received a line, and return all lines it received. */
+  private static String awaitLines(SseRecorder viewer, String lastLine) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    String lines = "";
+    for (int events = 1; System.currentTimeMillis() < deadline; events++) {
+      lines =
+          viewer.awaitEvents(events).stream()
+              .map(event -> event.substring(LogStreamService.LINES_EVENT.length() + 1))
+              .collect(Collectors.joining("\n"));
+      if (lines.endsWith(lastLine)) {
+        break;
+      }
+    }
+    return lines;
+  }
+}
@@ -0,0 +1,76 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.logging.LogTailReader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** This class implements tests for reading the tail of the application log. */
+public class LogTailReaderTests {
+
+  /** The directory holding the log files. */
+  @TempDir Path directory;
+
+  /** Test that the last lines are returned in order, across chunk boundaries. */
+  @Test
+  void shouldReadLastLinesOfLargeFile() throws IOException {
+    Path log = directory.resolve("application.log");
+    writeLines(log, 0, 20_000);
+
+    List<String> lines = new LogTailReader(log.toString(), 5000, 10).tail(3);
+
+    assertThat(lines).containsExactly(line(19_997), line(19_998), line(19_999));
+  }
+
+  /** Test that requests are capped and short files return everything they hold. */
+  @Test
+  void shouldCapLinesAndHandleShortFiles() throws IOException {
+    Path log = directory.resolve("application.log");
+    writeLines(log, 0, 10);
+
+    assertThat(new LogTailReader(log.toString(), 4, 10).tail(100)).hasSize(4);
+    assertThat(new LogTailReader(log.toString(), 5000, 10).tail(100)).hasSize(10);
+  }
+
+  /** Test that rolled-over files, plain and compressed, fill in older lines newest first. */
+  @Test
+  void shouldSpanIntoRolledFiles() throws IOException {
+    Path log = directory.resolve("application.log");
+    writeCompressedLines(directory.resolve("application.log.2024-01-01.0.gz"), 0, 10);
+    writeLines(directory.resolve("application.log.2024-01-02.0"), 10, 20);
+    writeCompressedLines(directory.resolve("application.log.2024-01-02.1.gz"), 20, 30);
+    writeLines(log, 30, 35);
+
+    List<String> lines = new LogTailReader(log.toString(), 5000, 10).tail(22);
+
+    assertThat(lines)
+        .isEqualTo(IntStream.range(13, 35).mapToObj(LogTailReaderTests::line).collect(Collectors.toList()));
+  }
+
+  private static String line(int i) {
+    return "2024-01-01 00:00:00.000  INFO line " + i;
+  }
+
+  private static void writeLines(Path file, int from, int to) throws IOException {
+    Files.write(file, IntStream.range(from, to).mapToObj(LogTailReaderTests::line).collect(Collectors.toList()));
+  }
+
+  private static void writeCompressedLines(Path file, int from, int to) throws IOException {
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+      for (int i = from; i < to; i++) {
+        out.write((line(i) + "\n").getBytes(StandardCharsets.UTF_8));
+      }
+    }
+  }
+}
@@ -0,0 +1,216 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.controller.AuthController;
+import com.example.employeemanagement.migration.ProfileImageMigration;
+import com.example.employeemanagement.model.User;
+import com.example.employeemanagement.repository.UserRepository;
+import com.example.employeemanagement.security.UserDetailsCache;
+import com.example.employeemanagement.storage.ImageCleanup;
+import com.example.employeemanagement.storage.ImageStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This class implements tests for moving legacy profile images into the image store and for
+ * deleting images no user points to any more. Users are committed so the reference checks see them.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProfileImageCleanupTests {
+
+  /** The user repository. */
+  @Autowired private UserRepository userRepository;
+
+  /** The JDBC template. */
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  /** The root directory of the store under test. */
+  @TempDir Path root;
+
+  /** The store under test. */
+  private ImageStore imageStore;
+
+  /** The cleanup under test, with no grace period. */
+  private ImageCleanup imageCleanup;
+
+  /** The controller replacing profile images. */
+  private AuthController authController;
+
+  /** Set up a fresh store, cleanup and controller. */
+  @BeforeEach
+  void setUp() throws IOException {
+    imageStore = new ImageStore(root.toString(), 1024);
+    imageCleanup = newCleanup(0);
+    authController = new AuthController();
+    ReflectionTestUtils.setField(authController, "userRepository", userRepository);
+    ReflectionTestUtils.setField(authController, "imageStore", imageStore);
+    ReflectionTestUtils.setField(authController, "imageCleanup", imageCleanup);
+    ReflectionTestUtils.setField(
+        authController,
+        "userDetailsCache",
+        new UserDetailsCache(10, 60, new SimpleMeterRegistry()));
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+  }
+
+  /** Remove the committed users and the legacy column. */
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+    jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'image-%'");
+    jdbcTemplate.execute("ALTER TABLE users DROP COLUMN IF EXISTS profile_image");
+  }
+
+  /** Test that replacing a profile image deletes the old one unless another user shares it. */
+  @Test
+  void shouldDeleteReplacedImages() throws IOException {
+    User alice = saveUser("image-alice");
+    User bob = saveUser("image-bob");
+    String png = ImageStoreTests.base64(ImageStoreTests.PNG);
+    String jpeg = ImageStoreTests.base64(ImageStoreTests.JPEG);
+
+    authController.updateProfileImage(Map.of("username", "image-alice", "profileImage", png));
+    authController.updateProfileImage(Map.of("username", "image-bob", "profileImage", png));
+    String shared = userRepository.findById(alice.getId()).orElseThrow().getProfileImageKey();
+    assertThat(userRepository.findById(bob.getId()).orElseThrow().getProfileImageKey())
+        .isEqualTo(shared);
+
+    authController.updateProfileImage(Map.of("username", "image-alice", "profileImage", jpeg));
+    assertThat(imageStore.resolve(shared)).isPresent();
+
+    authController.updateProfileImage(Map.of("username", "image-bob", "profileImage", jpeg));
+    assertThat(imageStore.resolve(shared)).isEmpty();
+    assertThat(imageStore.keys())
+        .containsExactly(userRepository.findById(bob.getId()).orElseThrow().getProfileImageKey());
+  }
+
+  /** Test that recently stored images are kept until a later sweep. */
+  @Test
+  void shouldKeepRecentImagesUntilSwept() throws IOException {
+    ImageCleanup withGrace = newCleanup(3600);
+    String referenced = imageStore.store(new ByteArrayInputStream(ImageStoreTests.PNG));
+    String orphan = imageStore.store(new ByteArrayInputStream(ImageStoreTests.JPEG));
+    User user = saveUser("image-carol");
+    user.setProfileImageKey(referenced);
+    userRepository.save(user);
+
+    assertThat(withGrace.release(orphan)).isFalse();
+    assertThat(withGrace.sweep()).isZero();
+
+    age(referenced);
+    age(orphan);
+    assertThat(withGrace.release(referenced)).isFalse();
+    assertThat(withGrace.sweep()).isEqualTo(1);
+    assertThat(imageStore.keys()).containsExactly(referenced);
+  }
+
+  /** Test that a released image still in its grace period is deleted once the grace has passed. */
+  @Test
+  void shouldDeleteReleasedImagesAfterGrace() throws Exception {
+    ImageCleanup withGrace = newCleanup(1);
+    withGrace.run(null);
+    try {
+      String referenced = imageStore.store(new ByteArrayInputStream(ImageStoreTests.PNG));
+      String released = imageStore.store(new ByteArrayInputStream(ImageStoreTests.JPEG));
+      User user = saveUser("image-grace");
+      user.setProfileImageKey(referenced);
+      userRepository.save(user);
+      assertThat(withGrace.release(released)).isFalse();
+
+      long deadline = System.currentTimeMillis() + 5000;
+      while (imageStore.resolve(released).isPresent() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(50);
+      }
+      assertThat(imageStore.resolve(released)).isEmpty();
+      assertThat(imageStore.keys()).containsExactly(referenced);
+    } finally {
+      ReflectionTestUtils.invokeMethod(withGrace, "shutdown");
+    }
+  }
+
+  /** Test that inline images in the legacy TEXT column are moved into the store as keys. */
+  @Test
+  void shouldMigrateLegacyImages() throws IOException {
+    jdbcTemplate.execute("ALTER TABLE users ADD COLUMN profile_image CLOB");
+    User withImage = saveUser("image-dave");
+    User withInvalidImage = saveUser("image-erin");
+    User withoutImage = saveUser("image-frank");
+    jdbcTemplate.update(
+        "UPDATE users SET profile_image = ? WHERE id = ?",
+        "data:image/png;base64," + ImageStoreTests.base64(ImageStoreTests.PNG),
+        withImage.getId());
+    jdbcTemplate.update(
+        "UPDATE users SET profile_image = ? WHERE id = ?",
+        ImageStoreTests.base64("not an image".getBytes()),
+        withInvalidImage.getId());
+
+    ProfileImageMigration migration = new ProfileImageMigration();
+    ReflectionTestUtils.setField(migration, "jdbcTemplate", jdbcTemplate);
+    ReflectionTestUtils.setField(migration, "imageStore", imageStore);
+    migration.run(null);
+
+    String key = userRepository.findById(withImage.getId()).orElseThrow().getProfileImageKey();
+    assertThat(key).endsWith(".png");
+    assertThat(Files.readAllBytes(imageStore.resolve(key).orElseThrow()))
+        .isEqualTo(ImageStoreTests.PNG);
+    assertThat(legacyImage(withImage)).isNull();
+    assertThat(legacyImage(withInvalidImage)).isNotNull();
+    assertThat(userRepository.findById(withoutImage.getId()).orElseThrow().getProfileImageKey())
+        .isNull();
+
+    migration.run(null);
+    assertThat(imageStore.keys()).containsExactly(key);
+  }
+
+  private ImageCleanup newCleanup(long graceSeconds) {
+    ImageCleanup cleanup = new ImageCleanup(graceSeconds);
+    ReflectionTestUtils.setField(cleanup, "userRepository", userRepository);
+    ReflectionTestUtils.setField(cleanup, "imageStore", imageStore);
+    return cleanup;
+  }
+
+  private User saveUser(String username) {
+    User user = new User();
+    user.setUsername(username);
+    user.setPassword("secret");
+    return userRepository.save(user);
+  }
+
+  private String legacyImage(User user) {
+    List<String> images =
+        jdbcTemplate.queryForList(
+            "SELECT profile_image FROM users WHERE id = ?", String.class, user.getId());
+    return images.get(0);
+  }
+
+  private void age(String key) throws IOException {
+    Files.setLastModifiedTime(
+        imageStore.resolve(key).orElseThrow(),
+        FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+  }
+}
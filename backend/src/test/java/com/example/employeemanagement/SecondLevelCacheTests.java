@@ -0,0 +1,182 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.config.DepartmentEmployeesCacheEviction;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This class implements tests for the second-level and query cache of the {@code l2cache} profile.
+ * Every step runs in its own committed transaction, so reads can only avoid SQL through the
+ * second-level cache.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("l2cache")
+@Import(DepartmentEmployeesCacheEviction.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTests {
+
+  /** The employee repository. */
+  @Autowired private EmployeeRepository employeeRepository;
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The entity manager factory, for statistics. */
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  /** The transaction template each step runs in. */
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  /** The department the employee starts in. */
+  private Department source;
+
+  /** The department the employee may move to. */
+  private Department target;
+
+  /** The cached employee. */
+  private Employee employee;
+
+  /** Set up two departments and one employee. */
+  @BeforeEach
+  void setUp() {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          source = departmentRepository.save(department("Source"));
+          target = departmentRepository.save(department("Target"));
+          employee = employeeRepository.save(employee("Ada", source));
+        });
+    statistics().clear();
+  }
+
+  /** Remove the committed rows and cached state. */
+  @AfterEach
+  void tearDown() {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          employeeRepository.deleteAllInBatch();
+          departmentRepository.deleteAllInBatch();
+        });
+    entityManagerFactory.getCache().evictAll();
+  }
+
+  /** Test that an employee and its department are read from the cache without SQL. */
+  @Test
+  void shouldServeEntitiesFromCache() {
+    Employee found = inTransaction(() -> employeeRepository.findById(employee.getId()).get());
+
+    assertThat(found.getFirstName()).isEqualTo("Ada");
+    assertThat(found.getDepartment().getName()).isEqualTo("Source");
+    assertThat(statistics().getPrepareStatementCount()).isZero();
+    assertThat(statistics().getSecondLevelCacheHitCount()).isEqualTo(2);
+  }
+
+  /** Test that a versioned update replaces the cached employee with its new version. */
+  @Test
+  void shouldCacheNewVersionOnUpdate() {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          Employee loaded = employeeRepository.findById(employee.getId()).get();
+          loaded.setFirstName("Augusta");
+        });
+    statistics().clear();
+
+    Employee found = inTransaction(() -> employeeRepository.findById(employee.getId()).get());
+
+    assertThat(found.getFirstName()).isEqualTo("Augusta");
+    assertThat(found.getVersion()).isEqualTo(employee.getVersion() + 1);
+    assertThat(statistics().getPrepareStatementCount()).isZero();
+  }
+
+  /** Test that department employee collections are cached and evicted when an employee moves. */
+  @Test
+  void shouldEvictDepartmentEmployeesOnMove() {
+    assertThat(employeeNames(source)).containsExactly("Ada");
+    statistics().clear();
+    assertThat(employeeNames(source)).containsExactly("Ada");
+    assertThat(statistics().getPrepareStatementCount()).isZero();
+    assertThat(employeeNames(target)).isEmpty();
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          Employee loaded = employeeRepository.findById(employee.getId()).get();
+          loaded.setDepartment(departmentRepository.getReferenceById(target.getId()));
+        });
+
+    assertThat(employeeNames(source)).isEmpty();
+    assertThat(employeeNames(target)).containsExactly("Ada");
+  }
+
+  /** Test that the employee list query is cached and invalidated by writes. */
+  @Test
+  void shouldCacheFindAllWithDepartments() {
+    assertThat(inTransaction(() -> employeeRepository.findAllWithDepartments())).hasSize(1);
+    statistics().clear();
+
+    assertThat(inTransaction(() -> employeeRepository.findAllWithDepartments())).hasSize(1);
+    assertThat(statistics().getQueryCacheHitCount()).isEqualTo(1);
+    assertThat(statistics().getPrepareStatementCount()).isZero();
+
+    transactionTemplate.executeWithoutResult(
+        status ->
+            employeeRepository.save(
+                employee("Grace", departmentRepository.getReferenceById(target.getId()))));
+    statistics().clear();
+
+    assertThat(inTransaction(() -> employeeRepository.findAllWithDepartments())).hasSize(2);
+    assertThat(statistics().getQueryCacheMissCount()).isEqualTo(1);
+  }
+
+  private List<String> employeeNames(Department department) {
+    return inTransaction(
+        () ->
+            departmentRepository.findById(department.getId()).get().getEmployees().stream()
+                .map(Employee::getFirstName)
+                .collect(Collectors.toList()));
+  }
+
+  private <T> T inTransaction(Supplier<T> work) {
+    return transactionTemplate.execute(status -> work.get());
+  }
+
+  private Statistics statistics() {
+    return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  private static Department department(String name) {
+    Department department = new Department();
+    department.setName(name);
+    return department;
+  }
+
+  private static Employee employee(String firstName, Department department) {
+    Employee employee = new Employee();
+    employee.setFirstName(firstName);
+    employee.setLastName("Lovelace");
+    employee.setEmail(firstName.toLowerCase() + "@example.com");
+    employee.setAge(36);
+    employee.setDepartment(department);
+    return employee;
+  }
+}
@@ -0,0 +1,203 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.cache.CachedJson;
+import com.example.employeemanagement.event.DepartmentChangedEvent;
+import com.example.employeemanagement.model.Department;
+import com.example.employeemanagement.repository.DepartmentRepository;
+import com.example.employeemanagement.service.DepartmentService;
+import com.example.employeemanagement.service.ListVersions;
+import com.example.employeemanagement.service.SharedListings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * This class implements tests for the pre-serialized response cache. Tests run outside a test
+ * transaction so that writes commit and change the listing versions.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({DepartmentService.class, ListVersions.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SharedListingsTests {
+
+  /** The department service. */
+  @Autowired private DepartmentService departmentService;
+
+  /** The department repository. */
+  @Autowired private DepartmentRepository departmentRepository;
+
+  /** The change counters. */
+  @Autowired private ListVersions listVersions;
+
+  /** The entity manager factory, for statement statistics. */
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  /** The meter registry, if any. */
+  @Autowired private ObjectProvider<MeterRegistry> meterRegistry;
+
+  /** The mapper reading back the bodies. */
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /** The cache under test, compressing no body. */
+  private SharedListings sharedListings;
+
+  /** Set up the cache. */
+  @BeforeEach
+  void setUp() {
+    sharedListings = new SharedListings(0, 1 << 20, -1, meterRegistry);
+    ReflectionTestUtils.setField(sharedListings, "departmentService", departmentService);
+    ReflectionTestUtils.setField(sharedListings, "listVersions", listVersions);
+    ReflectionTestUtils.setField(sharedListings, "objectMapper", objectMapper);
+  }
+
+  /** Remove the departments committed by a test. */
+  @AfterEach
+  void tearDown() {
+    departmentRepository.deleteAll();
+  }
+
+  /** Test that repeated reads of an unchanged listing run no query and no serialization. */
+  @Test
+  void shouldServeRepeatedReadsFromCache() throws IOException {
+    departmentService.saveDepartment(department("Research"));
+    String etag = listVersions.departmentsETag();
+    CachedJson first = sharedListings.getAllDepartments(etag);
+    assertThat(objectMapper.readTree(first.getJson())).hasSize(1);
+
+    SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    sessionFactory.getStatistics().clear();
+    assertThat(sharedListings.getAllDepartments(etag)).isSameAs(first);
+    assertThat(sessionFactory.getStatistics().getPrepareStatementCount()).isZero();
+    assertThat(sharedListings.getLoads()).isEqualTo(1);
+  }
+
+  /** Test that a listing too old to be cached is still shared within the reuse window. */
+  @Test
+  void shouldReuseUncachedLoadWithinWindow() {
+    SharedListings reusing = new SharedListings(60_000, 1 << 20, -1, meterRegistry);
+    ReflectionTestUtils.setField(reusing, "departmentService", departmentService);
+    ReflectionTestUtils.setField(reusing, "listVersions", listVersions);
+    ReflectionTestUtils.setField(reusing, "objectMapper", objectMapper);
+    String etag = listVersions.departmentsETag();
+    departmentService.saveDepartment(department("Research"));
+
+    CachedJson first = reusing.getAllDepartments(etag);
+    sharedListings.getAllDepartments(etag);
+
+    assertThat(reusing.getAllDepartments(etag)).isSameAs(first);
+    assertThat(reusing.getLoads()).isEqualTo(1);
+    sharedListings.getAllDepartments(etag);
+    assertThat(sharedListings.getLoads()).isEqualTo(2);
+  }
+
+  /** Test that committed writes make the next read load the new data. */
+  @Test
+  void shouldReloadAfterWrite() throws IOException {
+    Department research = departmentService.saveDepartment(department("Research"));
+    String etag = listVersions.departmentsETag();
+    sharedListings.getAllDepartments(etag);
+    assertThat(json(sharedListings.getDepartmentById(research.getId()))).contains("Research");
+
+    departmentService.saveDepartment(department("Sales"));
+    research.setName("Labs");
+    departmentService.saveDepartment(research);
+    sharedListings.onDepartmentChanged(DepartmentChangedEvent.upserted(research.getId(), "Labs"));
+
+    String changed = listVersions.departmentsETag();
+    assertThat(changed).isNotEqualTo(etag);
+    assertThat(objectMapper.readTree(sharedListings.getAllDepartments(changed).getJson()))
+        .hasSize(2);
+    assertThat(json(sharedListings.getDepartmentById(research.getId()))).contains("Labs");
+  }
+
+  /** Test that a compressed copy is sent only to clients accepting gzip. */
+  @Test
+  void shouldSendGzipWhenAccepted() throws IOException {
+    byte[] json = "[{\"id\":1,\"name\":\"Research\"}]".getBytes(StandardCharsets.UTF_8);
+    CachedJson body = CachedJson.of("\"departments-1\"", json, 0);
+
+    ResponseEntity<byte[]> compressed = body.respond(ResponseEntity.ok(), "deflate, gzip;q=0.8");
+    assertThat(compressed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    assertThat(compressed.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.getBody()))) {
+      assertThat(in.readAllBytes()).isEqualTo(json);
+    }
+
+    ResponseEntity<byte[]> refused = body.respond(ResponseEntity.ok(), "gzip;q=0");
+    assertThat(refused.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+    assertThat(refused.getBody()).isEqualTo(json);
+    assertThat(CachedJson.of("\"departments-1\"", json, 1024).getGzip()).isNull();
+  }
+
+  /** Test that the compressed copy has its own ETag and either form is answered with 304. */
+  @Test
+  void shouldTagGzipVariantSeparately() {
+    byte[] json = "[{\"id\":1,\"name\":\"Research\"}]".getBytes(StandardCharsets.UTF_8);
+    String etag = "\"departments-1-2\"";
+    CachedJson body = CachedJson.of(etag, json, 0);
+
+    assertThat(body.respond(ResponseEntity.ok(), etag, "gzip").getHeaders().getETag())
+        .isEqualTo("\"departments-1-2-gzip\"");
+    assertThat(body.respond(ResponseEntity.ok(), etag, null).getHeaders().getETag())
+        .isEqualTo(etag);
+    CachedJson uncompressed = CachedJson.of(etag, json, -1);
+    assertThat(uncompressed.respond(ResponseEntity.ok(), etag, "gzip").getHeaders().getETag())
+        .isEqualTo(etag);
+
+    MockHttpServletResponse gzipped = new MockHttpServletResponse();
+    assertThat(CachedJson.checkNotModified(webRequest("\"departments-1-2-gzip\"", gzipped), etag))
+        .isTrue();
+    assertThat(gzipped.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+    assertThat(gzipped.getHeader(HttpHeaders.ETAG)).isEqualTo("\"departments-1-2-gzip\"");
+
+    MockHttpServletResponse plain = new MockHttpServletResponse();
+    assertThat(CachedJson.checkNotModified(webRequest("\"other\", " + etag, plain), etag)).isTrue();
+    assertThat(plain.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+
+    MockHttpServletResponse stale = new MockHttpServletResponse();
+    assertThat(CachedJson.checkNotModified(webRequest("\"departments-1-1-gzip\"", stale), etag))
+        .isFalse();
+    assertThat(stale.getStatus()).isEqualTo(HttpStatus.OK.value());
+  }
+
+  private static ServletWebRequest webRequest(String ifNoneMatch, MockHttpServletResponse response) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/departments");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    return new ServletWebRequest(request, response);
+  }
+
+  private static String json(CachedJson body) {
+    return new String(body.getJson(), StandardCharsets.UTF_8);
+  }
+
+  private static Department department(String name) {
+    Department department = new Department();
+    department.setName(name);
+    return department;
+  }
+}
@@ -0,0 +1,111 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.cache.SingleFlight;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** This class implements tests for the collapsing of concurrent identical loads. */
+public class SingleFlightTests {
+
+  /** Test that callers arriving during a load share its result instead of loading again. */
+  @Test
+  void shouldShareLoadInFlight() throws Exception {
+    SingleFlight<String, String> flights = new SingleFlight<>(0);
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      Future<String> first =
+          executor.submit(
+              () ->
+                  flights.get(
+                      "employees",
+                      () -> {
+                        loads.incrementAndGet();
+                        loading.countDown();
+                        await(release);
+                        return "[]";
+                      }));
+      assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+      List<Future<String>> joined = new ArrayList<>();
+      for (int i = 0; i < 7; i++) {
+        joined.add(
+            executor.submit(
+                () -> flights.get("employees", () -> "loaded " + loads.incrementAndGet())));
+      }
+      while (flights.getShared() < 7) {
+        Thread.sleep(1);
+      }
+      release.countDown();
+
+      assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("[]");
+      for (Future<String> result : joined) {
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("[]");
+      }
+      assertThat(loads.get()).isEqualTo(1);
+      assertThat(flights.getLoads()).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(flights.get("employees", () -> "reloaded")).isEqualTo("reloaded");
+  }
+
+  /** Test that a completed result is reused within the window, and a failure never is. */
+  @Test
+  void shouldReuseOnlySuccessfulResults() {
+    SingleFlight<String, String> flights = new SingleFlight<>(60_000);
+    assertThatThrownBy(
+            () ->
+                flights.get(
+                    "departments",
+                    () -> {
+                      throw new IllegalStateException("database down");
+                    }))
+        .hasMessage("database down");
+
+    assertThat(flights.get("departments", () -> "[1]")).isEqualTo("[1]");
+    assertThat(flights.get("departments", () -> "[1, 2]")).isEqualTo("[1]");
+    assertThat(flights.get("employees", () -> "[]")).isEqualTo("[]");
+    assertThat(flights.getLoads()).isEqualTo(3);
+
+    flights.clear();
+    assertThat(flights.get("departments", () -> "[1, 2]")).isEqualTo("[1, 2]");
+  }
+
+  /** Test that expired results are dropped even for keys that are never asked for again. */
+  @Test
+  void shouldDropExpiredResultsOfOtherKeys() throws InterruptedException {
+    SingleFlight<String, String> flights = new SingleFlight<>(50);
+    for (int i = 0; i < 100; i++) {
+      flights.get("employees;" + i, () -> "[]");
+    }
+    assertThat(flights.size()).isEqualTo(100);
+
+    Thread.sleep(120);
+    assertThat(flights.get("departments", () -> "[1]")).isEqualTo("[1]");
+
+    assertThat(flights.size()).isEqualTo(1);
+    assertThat(flights.get("departments", () -> "[1, 2]")).isEqualTo("[1]");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.sse.SseBroadcaster;
+import com.example.employeemanagement.sse.SseMessage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** This class implements tests for fanning server-sent events out to subscribers. */
+public class SseBroadcasterTests {
+
+  /** The broadcaster under test, with queues of four messages. */
+  private SseBroadcaster broadcaster;
+
+  /** Set up a fresh broadcaster. */
+  @BeforeEach
+  void setUp() {
+    broadcaster = new SseBroadcaster("test", 2, 4, 0);
+  }
+
+  /** Stop the sender threads. */
+  @AfterEach
+  void tearDown() {
+    broadcaster.shutdown();
+  }
+
+  /** Test that every subscriber receives every message in order. */
+  @Test
+  void shouldDeliverToEverySubscriber() throws Exception {
+    SseRecorder first = SseRecorder.attach(broadcaster.subscribe().getEmitter());
+    SseRecorder second = SseRecorder.attach(broadcaster.subscribe().getEmitter());
+
+    for (int i = 0; i < 3; i++) {
+      broadcaster.broadcast(new SseMessage(null, "lines", "line " + i));
+    }
+
+    List<String> expected = List.of("lines:line 0", "lines:line 1", "lines:line 2");
+    assertThat(first.awaitEvents(3)).isEqualTo(expected);
+    assertThat(second.awaitEvents(3)).isEqualTo(expected);
+    assertThat(broadcaster.getDroppedTotal()).isZero();
+  }
+
+  /**
+   * Test that a slow subscriber's queue stays bounded, that it is told how many messages it missed,
+   * and that other subscribers are not held up.
+   */
+  @Test
+  void shouldDropForSlowSubscriberOnly() throws Exception {
+    SseRecorder slow = SseRecorder.attach(broadcaster.subscribe().getEmitter());
+    SseRecorder fast = SseRecorder.attach(broadcaster.subscribe().getEmitter());
+    slow.hold();
+
+    broadcaster.broadcast(new SseMessage(null, "lines", "line 0"));
+    // Wait until the slow subscriber's sender holds the first message, so the queue is empty.
+    assertThat(fast.awaitEvents(1)).hasSize(1);
+    Thread.sleep(100);
+    for (int i = 1; i < 10; i++) {
+      broadcaster.broadcast(new SseMessage(null, "lines", "line " + i));
+      assertThat(fast.awaitEvents(i + 1)).hasSize(i + 1);
+    }
+    slow.release();
+
+    List<String> expected = new ArrayList<>(List.of("lines:line 0", "dropped:5"));
+    for (int i = 1; i <= 4; i++) {
+      expected.add("lines:line " + i);
+    }
+    assertThat(slow.awaitEvents(6)).isEqualTo(expected);
+    assertThat(broadcaster.getDroppedTotal()).isEqualTo(5);
+  }
+
+  /** Test that subscribers whose connection failed or ended are removed. */
+  @Test
+  void shouldRemoveDeadSubscribers() throws Exception {
+    SseRecorder broken = SseRecorder.attach(broadcaster.subscribe().getEmitter());
+    SseRecorder errored = SseRecorder.attach(broadcaster.subscribe().getEmitter());
+    SseRecorder live = SseRecorder.attach(broadcaster.subscribe().getEmitter());
+    assertThat(broadcaster.getSubscriberCount()).isEqualTo(3);
+
+    broken.fail();
+    errored.error(new IOException("Connection reset"));
+    broadcaster.broadcast(new SseMessage(null, "lines", "line 0"));
+
+    assertThat(live.awaitEvents(1)).containsExactly("lines:line 0");
+    long deadline = System.currentTimeMillis() + 5000;
+    while (broadcaster.getSubscriberCount() > 1 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,143 @@
+package com.example.employeemanagement;
+
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * This class stands in for the servlet response behind an {@link SseEmitter} and records the
+ * events written to it. Writes can be held back to simulate a slow client, or made to fail to
+ * simulate a disconnected one.
+ */
+final class SseRecorder implements InvocationHandler {
+
+  /** The text written so far. */
+  private final StringBuilder written = new StringBuilder();
+
+  /** Released to let held-back writes through. */
+  private volatile CountDownLatch gate = new CountDownLatch(0);
+
+  /** Whether writes fail as they would once the client has gone. */
+  private volatile boolean failing;
+
+  /** The emitter's error callback. */
+  private volatile Consumer<Throwable> errorCallback;
+
+  private SseRecorder() {}
+
+  /**
+   * Attach a recorder to an emitter, as the return value handler would once the request starts.
+   *
+   * @param emitter The emitter
+   * @return The recorder
+   */
+  static SseRecorder attach(SseEmitter emitter) throws ClassNotFoundException {
+    SseRecorder recorder = new SseRecorder();
+    Class<?> handlerType =
+        Class.forName(
+            "org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter$Handler");
+    Object handler =
+        Proxy.newProxyInstance(
+            handlerType.getClassLoader(), new Class<?>[] {handlerType}, recorder);
+    ReflectionTestUtils.invokeMethod(emitter, "initialize", handler);
+    return recorder;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    switch (method.getName()) {
+      case "send":
+        if (!gate.await(10, TimeUnit.SECONDS)) {
+          throw new IllegalStateException("Held-back write was never released");
+        }
+        if (failing) {
+          throw new IOException("Broken pipe");
+        }
+        synchronized (written) {
+          written.append(args[0]);
+          written.notifyAll();
+        }
+        return null;
+      case "onError":
+        errorCallback = (Consumer<Throwable>) args[0];
+        return null;
+      default:
+        return null;
+    }
+  }
+
+  /** Hold back writes until {@link #release()} is called. */
+  void hold() {
+    gate = new CountDownLatch(1);
+  }
+
+  /** Let held-back writes through. */
+  void release() {
+    gate.countDown();
+  }
+
+  /** Make every later write fail. */
+  void fail() {
+    failing = true;
+  }
+
+  /**
+   * Report an error on the connection, as the container would.
+   *
+   * @param error The error
+   */
+  void error(Throwable error) {
+    errorCallback.accept(error);
+  }
+
+  /**
+   * Wait until a number of events have been written.
+   *
+   * @param count The number of events
+   * @return The events written, each as {@code <name>:<data>}
+   */
+  List<String> awaitEvents(int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    synchronized (written) {
+      List<String> events = events();
+      while (events.size() < count && System.currentTimeMillis() < deadline) {
+        written.wait(50);
+        events = events();
+      }
+      return events;
+    }
+  }
+
+  /** Parse the complete events written so far. */
+  private List<String> events() {
+    List<String> events = new ArrayList<>();
+    String text = written.toString();
+    int end = text.lastIndexOf("\n\n");
+    if (end < 0) {
+      return events;
+    }
+    for (String block : text.substring(0, end).split("\n\n")) {
+      String name = "message";
+      List<String> data = new ArrayList<>();
+      for (String line : block.split("\n")) {
+        if (line.startsWith("event:")) {
+          name = line.substring("event:".length());
+        } else if (line.startsWith("data:")) {
+          data.add(line.substring("data:".length()));
+        }
+      }
+      events.add(name + ":" + String.join("\n", data));
+    }
+    return events;
+  }
+}
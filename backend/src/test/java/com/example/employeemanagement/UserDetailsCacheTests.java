@@ -0,0 +1,199 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.controller.AuthController;
+import com.example.employeemanagement.model.User;
+import com.example.employeemanagement.repository.UserRepository;
+import com.example.employeemanagement.security.CustomUserDetailsService;
+import com.example.employeemanagement.security.UserDetailsCache;
+import com.warrenstrange.googleauth.GoogleAuthenticator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** This class implements tests for the cache of resolved user details. */
+@DataJpaTest
+public class UserDetailsCacheTests {
+
+  /** The user repository. */
+  @Autowired private UserRepository userRepository;
+
+  /** The registry the cache metrics are bound to. */
+  private MeterRegistry meterRegistry;
+
+  /** The cache under test. */
+  private UserDetailsCache userDetailsCache;
+
+  /** The authentication provider reading users through the cache. */
+  private DaoAuthenticationProvider authenticationProvider;
+
+  /** The controller whose writes must evict cached users. */
+  private AuthController authController;
+
+  /** The password encoder. */
+  private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+  /** Set up a fresh cache, user details service and controller. */
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    userDetailsCache = new UserDetailsCache(100, 300, meterRegistry);
+    CustomUserDetailsService userDetailsService = new CustomUserDetailsService();
+    ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+    ReflectionTestUtils.setField(userDetailsService, "userDetailsCache", userDetailsCache);
+    authenticationProvider = new DaoAuthenticationProvider();
+    authenticationProvider.setUserDetailsService(userDetailsService);
+    authenticationProvider.setPasswordEncoder(passwordEncoder);
+    authController = new AuthController();
+    ReflectionTestUtils.setField(authController, "userRepository", userRepository);
+    ReflectionTestUtils.setField(authController, "passwordEncoder", passwordEncoder);
+    ReflectionTestUtils.setField(authController, "userDetailsCache", userDetailsCache);
+  }
+
+  /** Test that the old password is rejected as soon as the password is reset. */
+  @Test
+  void shouldRejectOldPasswordAfterReset() {
+    saveUser("alice", "old-password");
+    authenticate("alice", "old-password");
+
+    assertThat(
+            authController
+                .resetPassword(Map.of("username", "alice", "newPassword", "new-password"))
+                .getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+
+    assertThatThrownBy(() -> authenticate("alice", "old-password"))
+        .isInstanceOf(BadCredentialsException.class);
+    authenticate("alice", "new-password");
+  }
+
+  /** Test that enabling MFA, and disabling it both ways, evict the cached user. */
+  @Test
+  void shouldEvictOnMfaChanges() {
+    saveUser("bob", "password");
+    AtomicInteger loads = new AtomicInteger();
+
+    cacheUser("bob", loads);
+    authController.setupMfa(Map.of("username", "bob"));
+    cacheUser("bob", loads);
+    assertThat(loads).hasValue(2);
+
+    String secret = userRepository.findByUsername("bob").orElseThrow().getMfaSecret();
+    String code = String.format("%06d", new GoogleAuthenticator().getTotpPassword(secret));
+    assertThat(authController.enableMfa(Map.of("username", "bob", "code", code)).getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+    assertThat(userRepository.findByUsername("bob").orElseThrow().isMfaEnabled()).isTrue();
+    cacheUser("bob", loads);
+    assertThat(loads).hasValue(3);
+
+    authController.enableMfa(Map.of("username", "bob", "code", "000000"));
+    cacheUser("bob", loads);
+    assertThat(loads).hasValue(4);
+
+    authController.disableMfa(Map.of("username", "bob"));
+    cacheUser("bob", loads);
+    assertThat(loads).hasValue(5);
+    assertThat(userRepository.findByUsername("bob").orElseThrow().isMfaEnabled()).isFalse();
+  }
+
+  /** Test that entries expire once their time to live has passed. */
+  @Test
+  void shouldExpireEntries() throws InterruptedException {
+    UserDetailsCache shortLived = new UserDetailsCache(100, 1, meterRegistry);
+    AtomicInteger loads = new AtomicInteger();
+
+    shortLived.get("carol", username -> details(username, loads));
+    shortLived.get("carol", username -> details(username, loads));
+    assertThat(loads).hasValue(1);
+
+    Thread.sleep(1100);
+    assertThat(shortLived.size()).isZero();
+    shortLived.get("carol", username -> details(username, loads));
+    assertThat(loads).hasValue(2);
+  }
+
+  /** Test that the cache holds no more users than its maximum size. */
+  @Test
+  void shouldStayWithinMaximumSize() {
+    UserDetailsCache small = new UserDetailsCache(10, 300, new SimpleMeterRegistry());
+    AtomicInteger loads = new AtomicInteger();
+    for (int i = 0; i < 1000; i++) {
+      small.get("user" + i, username -> details(username, loads));
+    }
+
+    // Evictions are applied by background maintenance, which may still be running.
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    while (small.size() > 10 && System.nanoTime() < deadline) {
+      Thread.yield();
+    }
+    assertThat(small.size()).isLessThanOrEqualTo(10);
+  }
+
+  /** Test that hits, misses and evictions are published with the cache tag. */
+  @Test
+  void shouldRegisterMetrics() {
+    AtomicInteger loads = new AtomicInteger();
+    userDetailsCache.get("dave", username -> details(username, loads));
+    userDetailsCache.get("dave", username -> details(username, loads));
+
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tag("cache", "userDetails")
+                .tag("result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(1);
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tag("cache", "userDetails")
+                .tag("result", "miss")
+                .functionCounter()
+                .count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("cache.evictions").tag("cache", "userDetails").meters())
+        .isNotEmpty();
+    assertThat(meterRegistry.get("cache.size").tag("cache", "userDetails").gauge().value())
+        .isEqualTo(1);
+  }
+
+  private void saveUser(String username, String password) {
+    User user = new User();
+    user.setUsername(username);
+    user.setPassword(passwordEncoder.encode(password));
+    userRepository.save(user);
+  }
+
+  private void authenticate(String username, String password) {
+    authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+  }
+
+  private void cacheUser(String username, AtomicInteger loads) {
+    userDetailsCache.get(username, name -> details(name, loads));
+  }
+
+  private static UserDetails details(String username, AtomicInteger loads) {
+    loads.incrementAndGet();
+    return new org.springframework.security.core.userdetails.User(
+        username, "{noop}secret", new ArrayList<>());
+  }
+}
@@ -0,0 +1,97 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.event.UserRegisteredEvent;
+import com.example.employeemanagement.model.User;
+import com.example.employeemanagement.repository.UserRepository;
+import com.example.employeemanagement.security.UsernameFilter;
+import com.example.employeemanagement.service.SnapshotScanner;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** This class implements tests for the Bloom filter of existing usernames. */
+@DataJpaTest
+@Import(SnapshotScanner.class)
+public class UsernameFilterTests {
+
+  /** The user repository. */
+  @Autowired private UserRepository userRepository;
+
+  /** The scanner the startup scan reads through. */
+  @Autowired private SnapshotScanner snapshotScanner;
+
+  /** The registry the filter metrics are bound to. */
+  private MeterRegistry meterRegistry;
+
+  /** The filter under test, sized for 1000 users at a 1% false-positive rate. */
+  private UsernameFilter usernameFilter;
+
+  /** Set up a fresh filter. */
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    usernameFilter = new UsernameFilter(1000, 0.01, meterRegistry);
+    ReflectionTestUtils.setField(usernameFilter, "snapshotScanner", snapshotScanner);
+  }
+
+  /** Test that the filter admits every name until the startup scan has run. */
+  @Test
+  void shouldAdmitEverythingBeforeLoading() {
+    assertThat(usernameFilter.mightContain("nobody")).isTrue();
+  }
+
+  /** Test that stored and newly registered users pass and unknown names are rejected. */
+  @Test
+  void shouldRejectUnknownUsernames() {
+    saveUser("alice");
+    saveUser("bob");
+    usernameFilter.run(null);
+    usernameFilter.onUserRegistered(new UserRegisteredEvent(99L, "carol"));
+
+    assertThat(usernameFilter.mightContain("alice")).isTrue();
+    assertThat(usernameFilter.mightContain("bob")).isTrue();
+    assertThat(usernameFilter.mightContain("carol")).isTrue();
+    assertThat(usernameFilter.mightContain("mallory")).isFalse();
+    assertThat(meterRegistry.get("usernames.filter.rejected").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("usernames.filter.fill.ratio").gauge().value()).isPositive();
+  }
+
+  /** Test that the filter grows past its expected size without exceeding its false-positive rate. */
+  @Test
+  void shouldGrowWithinFalsePositiveRate() {
+    usernameFilter.run(null);
+    int users = 20_000;
+    for (int i = 0; i < users; i++) {
+      usernameFilter.onUserRegistered(new UserRegisteredEvent((long) i, "user" + i));
+    }
+    int falsePositives = 0;
+    int probes = 100_000;
+    for (int i = 0; i < probes; i++) {
+      if (usernameFilter.mightContain("stranger" + i)) {
+        falsePositives++;
+      }
+    }
+
+    assertThat(usernameFilter.getStageCount()).isGreaterThan(1);
+    for (int i = 0; i < users; i++) {
+      assertThat(usernameFilter.mightContain("user" + i)).isTrue();
+    }
+    assertThat((double) falsePositives / probes).isLessThan(0.01);
+    assertThat(usernameFilter.estimatedFalsePositiveRate()).isLessThan(0.01);
+  }
+
+  private void saveUser(String username) {
+    User user = new User();
+    user.setUsername(username);
+    user.setPassword("secret");
+    userRepository.save(user);
+  }
+}
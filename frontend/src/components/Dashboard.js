@@ -1,7 +1,7 @@
 import React, { useEffect, useState } from 'react';
 import { Bar, Pie } from 'react-chartjs-2';
-import { getAllEmployees } from '../services/employeeService';
-import { getAllDepartments } from '../services/departmentService';
+import { getEmployeeChanges, subscribeEmployeeChanges } from '../services/employeeService';
+import { getAnalytics } from '../services/analyticsService';
 import { Chart, CategoryScale, LinearScale, BarElement, Title, Tooltip, Legend, ArcElement } from 'chart.js';
 import { Card, CardContent, Grid, Typography, Box, CircularProgress } from '@mui/material';
 
@@ -14,38 +14,46 @@ const Dashboard = () => {
   const [ageRangeData, setAgeRangeData] = useState([]);
   const [loading, setLoading] = useState(true);
 
+  // The aggregates come from the server, so loading them does not grow with the employee count.
+  // They are fetched again whenever the change feed reports a write.
   useEffect(() => {
+    let cancelled = false;
+    let close = () => {};
     const fetchData = async () => {
-      setLoading(true);
-      const employees = await getAllEmployees();
-      const departments = await getAllDepartments();
-      setEmployeeCount(employees.length);
-      setDepartmentCount(departments.length);
-
-      const totalAge = employees.reduce((sum, emp) => sum + emp.age, 0);
-      const avgAge = employees.length ? totalAge / employees.length : 0;
-      setAverageAge(avgAge.toFixed(1));
-
-      const ageRanges = {
-        '20-29': 0,
-        '30-39': 0,
-        '40-49': 0,
-        '50-59': 0,
-        '60+': 0,
-      };
-
-      employees.forEach(emp => {
-        if (emp.age >= 20 && emp.age <= 29) ageRanges['20-29'] += 1;
-        else if (emp.age >= 30 && emp.age <= 39) ageRanges['30-39'] += 1;
-        else if (emp.age >= 40 && emp.age <= 49) ageRanges['40-49'] += 1;
-        else if (emp.age >= 50 && emp.age <= 59) ageRanges['50-59'] += 1;
-        else if (emp.age >= 60) ageRanges['60+'] += 1;
+      const analytics = await getAnalytics();
+      if (cancelled) return;
+      setEmployeeCount(analytics.employees);
+      setDepartmentCount(analytics.departments);
+      setAverageAge(analytics.averageAge.toFixed(1));
+      const ageRanges = {};
+      analytics.ageHistogram.forEach(bucket => {
+        ageRanges[bucket.label] = bucket.count;
       });
-
       setAgeRangeData(ageRanges);
+    };
+    const refresh = () => fetchData().catch(error => console.error('Error fetching dashboard data:', error));
+    const start = async () => {
+      setLoading(true);
+      try {
+        const { sequence } = await getEmployeeChanges();
+        await fetchData();
+        if (!cancelled) {
+          close = subscribeEmployeeChanges(sequence, {
+            onEmployees: refresh,
+            onDepartments: refresh,
+            onReset: refresh,
+          });
+        }
+      } catch (error) {
+        console.error('Error fetching dashboard data:', error);
+      }
       setLoading(false);
     };
-    fetchData();
+    start();
+    return () => {
+      cancelled = true;
+      close();
+    };
   }, []);
 
   const animationStyle = {
@@ -76,7 +84,7 @@ const Dashboard = () => {
       {
         label: 'Employees per Age Range',
         data: Object.values(ageRangeData),
-        backgroundColor: ['#FF6384', '#36A2EB', '#FFCE56', '#4BC0C0', '#9966FF'],
+        backgroundColor: ['#C9CBCF', '#FF6384', '#36A2EB', '#FFCE56', '#4BC0C0', '#9966FF'],
       },
     ],
   };
@@ -100,7 +108,7 @@ const Dashboard = () => {
       {
         label: 'Age Range Distribution',
         data: Object.values(ageRangeData),
-        backgroundColor: ['#FF6384', '#36A2EB', '#FFCE56', '#4BC0C0', '#9966FF'],
+        backgroundColor: ['#C9CBCF', '#FF6384', '#36A2EB', '#FFCE56', '#4BC0C0', '#9966FF'],
         borderColor: ['#ffffff'],
         borderWidth: 1,
       },
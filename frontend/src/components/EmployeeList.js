@@ -1,6 +1,13 @@
 import React, { useEffect, useState } from 'react';
 import { Link, useNavigate } from 'react-router-dom';
-import { getAllEmployees, deleteEmployee, addEmployee } from '../services/employeeService';
+import {
+  getAllEmployees,
+  deleteEmployee,
+  addEmployee,
+  getEmployeeChanges,
+  applyEmployeeChanges,
+  subscribeEmployeeChanges,
+} from '../services/employeeService';
 import { getAllDepartments } from '../services/departmentService';
 import {
   Table,
@@ -50,20 +57,36 @@ const EmployeeList = () => {
     }
   }, [navigate]);
 
+  // Load the list once, then keep it current from the change feed instead of reloading it
   useEffect(() => {
-    if (isLoggedIn) {
-      const fetchData = async () => {
-        setLoading(true);
-        try {
-          const data = await getAllEmployees();
-          setEmployees(data);
-        } catch (error) {
-          console.error('Error fetching employees:', error);
+    if (!isLoggedIn) return undefined;
+    let cancelled = false;
+    let close = () => {};
+    const fetchData = async () => {
+      const data = await getAllEmployees();
+      if (!cancelled) setEmployees(data);
+    };
+    const start = async () => {
+      setLoading(true);
+      try {
+        const { sequence } = await getEmployeeChanges();
+        await fetchData();
+        if (!cancelled) {
+          close = subscribeEmployeeChanges(sequence, {
+            onEmployees: changes => setEmployees(prev => applyEmployeeChanges(prev, changes)),
+            onReset: () => fetchData().catch(error => console.error('Error fetching employees:', error)),
+          });
         }
-        setLoading(false);
-      };
-      fetchData();
-    }
+      } catch (error) {
+        console.error('Error fetching employees:', error);
+      }
+      setLoading(false);
+    };
+    start();
+    return () => {
+      cancelled = true;
+      close();
+    };
   }, [isLoggedIn]);
 
   const handleDelete = async id => {
@@ -160,8 +183,6 @@ const EmployeeList = () => {
           setImporting(false);
           setImportProgress(100);
           setImportWarnings(warnings);
-          const data = await getAllEmployees();
-          setEmployees(data);
         },
         error: (err) => {
           setImportError('Failed to parse CSV.');
@@ -211,9 +232,6 @@ const EmployeeList = () => {
     }
     setDeletingSelected(false);
     setSelected([]);
-    // Refresh employees list
-    const data = await getAllEmployees();
-    setEmployees(data);
   };
 
   if (loading) {
@@ -1,6 +1,6 @@
 import React, { useEffect, useState } from 'react';
 import { Box, Typography, Paper, CircularProgress, Select, MenuItem, FormControl, InputLabel, Button, Table, TableBody, TableCell, TableContainer, TableHead, TableRow, TextField } from '@mui/material';
-import { fetchLogs as fetchLogsService } from '../services/logService';
+import { fetchLogs as fetchLogsService, subscribeLogs } from '../services/logService';
 
 const LOG_ENDPOINT = '/api/employees/logs';
 
@@ -12,6 +12,8 @@ const LogViewer = () => {
   const [parsedLogs, setParsedLogs] = useState([]);
   const [userFilter, setUserFilter] = useState('');
   const [actionFilter, setActionFilter] = useState('');
+  const [live, setLive] = useState(true);
+  const [dropped, setDropped] = useState(0);
 
   const fetchLogs = async (linesCount = lines) => {
     setLoading(true);
@@ -62,10 +64,36 @@ const LogViewer = () => {
     (!actionFilter || log.action?.toLowerCase().includes(actionFilter.toLowerCase()))
   );
 
+  // Append streamed lines, keeping only the most recent `lines` of them
+  const appendLines = text => {
+    setLogs(prev => {
+      const all = (prev ? prev + '\n' + text : text).split('\n');
+      return all.slice(Math.max(0, all.length - lines)).join('\n');
+    });
+  };
+
   useEffect(() => {
-    fetchLogs(lines);
+    if (!live) {
+      fetchLogs(lines);
+      return undefined;
+    }
+    setLoading(true);
+    setError('');
+    setDropped(0);
+    const close = subscribeLogs(lines, {
+      onOpen: () => {
+        // The backlog is replayed on every (re)connect
+        setLogs('');
+        setError('');
+        setLoading(false);
+      },
+      onLines: appendLines,
+      onDropped: count => setDropped(prev => prev + count),
+      onError: () => setError('Live log stream interrupted, reconnecting...'),
+    });
+    return close;
     // eslint-disable-next-line
-  }, [lines]);
+  }, [lines, live]);
 
   return (
     <Box sx={{ maxWidth: 900, mx: 'auto', mt: 4, p: 2 }}>
@@ -86,8 +114,14 @@ const LogViewer = () => {
         </FormControl>
         <TextField label="User" size="small" value={userFilter} onChange={e => setUserFilter(e.target.value)} placeholder="Filter by user" />
         <TextField label="Action" size="small" value={actionFilter} onChange={e => setActionFilter(e.target.value)} placeholder="Filter by action" />
-        <Button variant="outlined" onClick={() => fetchLogs(lines)} disabled={loading}>Refresh</Button>
+        <Button variant={live ? 'contained' : 'outlined'} onClick={() => setLive(!live)}>{live ? 'Live' : 'Paused'}</Button>
+        {!live && <Button variant="outlined" onClick={() => fetchLogs(lines)} disabled={loading}>Refresh</Button>}
       </Box>
+      {dropped > 0 && (
+        <Typography variant="body2" color="warning.main" sx={{ mb: 1 }}>
+          {dropped} update(s) skipped because the viewer fell behind.
+        </Typography>
+      )}
       {parsedLogs.length > 0 ? (
         <TableContainer component={Paper} sx={{ background: '#222', color: '#fff', mb: 2 }}>
           <Table size="small">
@@ -119,7 +153,7 @@ const LogViewer = () => {
         </TableContainer>
       ) : (
         <Paper sx={{ p: 2, minHeight: 400, background: '#222', color: '#fff', fontFamily: 'monospace', whiteSpace: 'pre-wrap', overflowX: 'auto' }}>
-          {loading ? <CircularProgress color="inherit" /> : error ? error : (logs?.trim() ? logs : 'No logs found or log file is empty.')}
+          {loading ? <CircularProgress color="inherit" /> : error && !logs ? error : (logs?.trim() ? logs : 'No logs found or log file is empty.')}
         </Paper>
       )}
     </Box>
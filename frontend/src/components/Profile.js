@@ -181,21 +181,16 @@ const Profile = ({ theme }) => {
     setUploadSuccess('');
     const file = e.target.files[0];
     if (!file) return;
-    const reader = new FileReader();
-    reader.onloadend = async () => {
-      const base64String = reader.result;
-      setUploading(true);
-      try {
-        const username = localStorage.getItem('EMSusername');
-        await uploadProfileImage(username, base64String);
-        setProfileImage(base64String);
-        setUploadSuccess('Profile image updated!');
-      } catch (err) {
-        setUploadError('Failed to upload image.');
-      }
-      setUploading(false);
-    };
-    reader.readAsDataURL(file);
+    setUploading(true);
+    try {
+      const username = localStorage.getItem('EMSusername');
+      const imageUrl = await uploadProfileImage(username, file);
+      setProfileImage(imageUrl);
+      setUploadSuccess('Profile image updated!');
+    } catch (err) {
+      setUploadError('Failed to upload image.');
+    }
+    setUploading(false);
   };
 
   if (!isLoggedIn) {
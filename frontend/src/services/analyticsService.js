@@ -0,0 +1,9 @@
+import axios from 'axios';
+
+const API_URL = 'http://localhost:8080/api/analytics';
+
+// Get headcount per department, the age histogram, the average age and the top email domains
+export const getAnalytics = async (domains = 10) => {
+  const response = await axios.get(API_URL, { params: { domains } });
+  return response.data;
+};
@@ -30,3 +30,57 @@ export const updateEmployee = async (id, employee) => {
 export const deleteEmployee = async id => {
   await axios.delete(`${API_URL}/${id}`);
 };
+
+// Search employees on the server. Filters: departmentId, minAge, maxAge, lastName and firstName
+// prefixes, emailDomain; pass the returned nextCursor as cursor to get the following page.
+export const searchEmployees = async (filters = {}) => {
+  const response = await axios.get(`${API_URL}/search`, { params: filters });
+  return response.data;
+};
+
+// Get the employee changes after a sequence number; without one, only the current sequence number
+// is returned. Take it before loading the full list so that nothing committed meanwhile is missed.
+export const getEmployeeChanges = async since => {
+  const response = await axios.get(`${API_URL}/changes`, {
+    params: since === undefined ? {} : { since },
+  });
+  return response.data;
+};
+
+// Apply a set of employee changes to a list of employees, returning the new list.
+export const applyEmployeeChanges = (employees, changes) => {
+  const deleted = new Set(changes.deleted);
+  const upserted = new Map(changes.upserted.map(employee => [employee.id, employee]));
+  const result = employees
+    .filter(employee => !deleted.has(employee.id))
+    .map(employee => (upserted.has(employee.id) ? { ...employee, ...upserted.get(employee.id) } : employee));
+  const known = new Set(employees.map(employee => employee.id));
+  changes.upserted.forEach(employee => {
+    if (!known.has(employee.id)) result.push(employee);
+  });
+  return result;
+};
+
+// Follows employee and department changes over server-sent events, starting after the sequence
+// number `since`. The browser reconnects by itself and the server replays what was missed. onReset
+// means changes could not be delivered and the data must be reloaded. Returns a function closing
+// the stream.
+export const subscribeEmployeeChanges = (since, { onEmployees, onDepartments, onReset, onError }) => {
+  const source = new EventSource(`${API_URL}/changes/stream?since=${since}`);
+  let sequence = since;
+  source.addEventListener('employees', event => {
+    const changes = JSON.parse(event.data);
+    // Skip a message already covered by the replay sent on connect
+    if (changes.sequence <= sequence) return;
+    sequence = changes.sequence;
+    onEmployees && onEmployees(changes);
+  });
+  source.addEventListener('departments', event => onDepartments && onDepartments(JSON.parse(event.data)));
+  source.addEventListener('reset', event => {
+    sequence = Number(event.data);
+    onReset && onReset();
+  });
+  source.addEventListener('dropped', () => onReset && onReset());
+  source.onerror = () => onError && onError();
+  return () => source.close();
+};
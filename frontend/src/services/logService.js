@@ -5,4 +5,15 @@ const LOGS_URL = 'http://localhost:8080/api/employees/logs';
 export const fetchLogs = async (lines = 200) => {
   const response = await axios.get(LOGS_URL + `?lines=${lines}`);
   return response.data;
-}; 
\ No newline at end of file
+}; 
+
+// Follows the log over server-sent events. onOpen fires on every (re)connect, before the backlog
+// is replayed; onLines receives each batch of new lines. Returns a function closing the stream.
+export const subscribeLogs = (backlog, { onOpen, onLines, onDropped, onError }) => {
+  const source = new EventSource(LOGS_URL + `/stream?backlog=${backlog}`);
+  source.onopen = () => onOpen && onOpen();
+  source.addEventListener('lines', event => onLines(event.data));
+  source.addEventListener('dropped', event => onDropped && onDropped(Number(event.data)));
+  source.onerror = () => onError && onError();
+  return () => source.close();
+};
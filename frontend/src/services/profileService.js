@@ -2,9 +2,12 @@ import axios from 'axios';
 
 const API_URL = 'http://localhost:8080';
 
-export const uploadProfileImage = async (username, profileImage) => {
-  const response = await axios.post(`${API_URL}/profile-image`, { username, profileImage });
-  return response.data;
+// Upload the image file as multipart; resolves to the URL the stored image is served from
+export const uploadProfileImage = async (username, file) => {
+  const formData = new FormData();
+  formData.append('file', file);
+  const response = await axios.post(`${API_URL}/profile-image/${username}`, formData);
+  return response.data.profileImage;
 };
 
 export const getProfileImage = async (username) => {